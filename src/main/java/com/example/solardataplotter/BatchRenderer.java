@@ -0,0 +1,238 @@
+package com.example.solardataplotter;
+
+import com.example.solardataplotter.controller.MainController;
+import com.example.solardataplotter.model.SolarDataset;
+import com.example.solardataplotter.util.ExcelImporter;
+import com.example.solardataplotter.util.GraphExporter;
+import com.example.solardataplotter.util.VectorExporter;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless batch mode: renders one chart per XLSX/XLS/CSV file in a directory.
+ *
+ * <pre>
+ * --batch &lt;dir&gt; --x Time --y P_mono,P_poly --out &lt;dir&gt; [--threads N] [--format png|svg|pdf]
+ * </pre>
+ *
+ * SVG and PDF are drawn from the data by {@link VectorExporter} and need no
+ * JavaFX at all. For PNG, the rest of this comment applies.
+ *
+ * Charts come from the regular MainView/MainController, loaded once and
+ * driven through {@link MainController#renderGraph}, so they match what
+ * Generate Graph shows. Import and PNG encoding run on a bounded worker pool;
+ * only building the chart and taking the snapshot happen on the FX thread.
+ *
+ * The window is never shown, but JavaFX still needs a graphics platform. On
+ * servers without a display run with the Monocle headless platform on the
+ * class path and {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless
+ * -Dprism.order=sw}.
+ */
+public class BatchRenderer {
+    private static final int SCENE_WIDTH = 1400;
+    private static final int SCENE_HEIGHT = 900;
+
+    private final File inputDir;
+    private final File outputDir;
+    private final String xAxisGroup;
+    private final List<String> yColumns;
+    private final int threads;
+    private final String format;
+    private MainController controller;
+
+    private BatchRenderer(File inputDir, File outputDir, String xAxisGroup, List<String> yColumns, int threads,
+                          String format) {
+        this.inputDir = inputDir;
+        this.outputDir = outputDir;
+        this.xAxisGroup = xAxisGroup;
+        this.yColumns = yColumns;
+        this.threads = threads;
+        this.format = format;
+    }
+
+    /** Parse the --batch command line and run it. Returns the number of failed files. */
+    public static int run(String[] args) {
+        File inputDir = null;
+        File outputDir = null;
+        String xAxisGroup = "Time";
+        List<String> yColumns = new ArrayList<>();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        String format = "png";
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--batch": inputDir = new File(value); break;
+                case "--out": outputDir = new File(value); break;
+                case "--x": xAxisGroup = value; break;
+                case "--y": yColumns.addAll(Arrays.asList(value.split(","))); break;
+                case "--threads": threads = Math.max(1, Integer.parseInt(value)); break;
+                case "--format": format = value.toLowerCase(); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return 1;
+            }
+        }
+
+        if (inputDir == null || !inputDir.isDirectory() || yColumns.isEmpty()
+                || !Arrays.asList("png", "svg", "pdf").contains(format)) {
+            System.err.println("Usage: --batch <dir> --x <column> --y <column,column,...> [--out <dir>] [--threads N]"
+                    + " [--format png|svg|pdf]");
+            return 1;
+        }
+        if (outputDir == null) {
+            outputDir = inputDir;
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create output directory " + outputDir);
+            return 1;
+        }
+
+        try {
+            return new BatchRenderer(inputDir, outputDir, xAxisGroup, yColumns, threads, format).render();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    private int render() throws Exception {
+        File[] files = inputDir.listFiles((dir, name) -> {
+            String lower = name.toLowerCase();
+            return lower.endsWith(".xlsx") || lower.endsWith(".xls") || lower.endsWith(".csv");
+        });
+        if (files == null || files.length == 0) {
+            System.err.println("No XLSX/XLS/CSV files in " + inputDir);
+            return 0;
+        }
+        Arrays.sort(files);
+
+        boolean raster = format.equals("png");
+        if (raster) {
+            Platform.startup(() -> { });
+        }
+        try {
+            if (raster) {
+                onFxThread(this::loadView);
+            }
+
+            // Bounded queue plus caller-runs: at most threads + queue datasets are in memory at once
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads), new ThreadPoolExecutor.CallerRunsPolicy());
+            AtomicInteger failed = new AtomicInteger();
+            long start = System.nanoTime();
+
+            System.out.printf("Rendering %d files from %s with %d workers%n", files.length, inputDir, threads);
+            for (File file : files) {
+                pool.execute(() -> {
+                    if (!renderFile(file)) failed.incrementAndGet();
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Rendered %d of %d files in %.1f s (%.1f files/min)%n",
+                    files.length - failed.get(), files.length, seconds, files.length / seconds * 60);
+            return failed.get();
+        } finally {
+            if (raster) {
+                Platform.exit();
+            }
+        }
+    }
+
+    private Void loadView() throws Exception {
+        URL fxmlUrl = getClass().getResource("/com/example/solardataplotter/MainView.fxml");
+        if (fxmlUrl == null) {
+            throw new RuntimeException("FXML file not found!");
+        }
+        FXMLLoader loader = new FXMLLoader(fxmlUrl);
+        Parent root = loader.load();
+        controller = loader.getController();
+
+        // An unshown scene still gives the chart the same CSS and size as the window does
+        Scene scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT);
+        URL cssUrl = getClass().getResource("/com/example/solardataplotter/styles.css");
+        if (cssUrl != null) {
+            scene.getStylesheets().add(cssUrl.toExternalForm());
+        }
+        root.applyCss();
+        root.layout();
+        return null;
+    }
+
+    private boolean renderFile(File file) {
+        String baseName = file.getName().replaceFirst("\\.[^.]+$", "");
+        File output = new File(outputDir, baseName + "." + format);
+
+        try {
+            long start = System.nanoTime();
+            SolarDataset dataset = ExcelImporter.importData(file);
+            if (dataset == null || dataset.isEmpty()) {
+                System.err.println(file.getName() + ": no data imported");
+                return false;
+            }
+            dataset.buildStatistics();
+            long imported = System.nanoTime();
+
+            long rendered;
+            if (format.equals("png")) {
+                // The view is shared, so rendering and snapshot are one FX-thread step per file
+                WritableImage image = onFxThread(() -> {
+                    Node chart = controller.renderGraph(dataset, xAxisGroup, yColumns);
+                    return GraphExporter.snapshot(chart);
+                });
+                rendered = System.nanoTime();
+                GraphExporter.writePng(image, output);
+            } else {
+                VectorExporter.Chart chart = VectorExporter.fromDataset(dataset, xAxisGroup, yColumns, "Solar Data Analysis");
+                rendered = System.nanoTime();
+                VectorExporter.export(chart, output, VectorExporter.DEFAULT_WIDTH, VectorExporter.DEFAULT_HEIGHT);
+            }
+            long written = System.nanoTime();
+
+            System.out.printf("%s: %d rows, import %.0f ms, render %.0f ms, encode %.0f ms -> %s%n",
+                    file.getName(), dataset.size(), (imported - start) / 1e6, (rendered - imported) / 1e6,
+                    (written - rendered) / 1e6, output.getName());
+            return true;
+        } catch (Exception e) {
+            System.err.println(file.getName() + ": " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static <T> T onFxThread(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+}
@@ -12,6 +12,12 @@ public class Launcher {
             return;
         }
 
+        // Headless: render a PNG for every data file in a directory
+        if (args.length > 0 && args[0].equals("--batch")) {
+            int failed = BatchRenderer.run(args);
+            System.exit(failed == 0 ? 0 : 1);
+        }
+
         // Normal launch
         Application.launch(SolarDataPlotter.class, args);
     }
@@ -24,4 +30,4 @@ public class Launcher {
             return false;
         }
     }
-}
\ No newline at end of file
+}
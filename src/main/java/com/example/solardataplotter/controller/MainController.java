@@ -1,10 +1,16 @@
 package com.example.solardataplotter.controller;
 
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -14,17 +20,40 @@ import javafx.scene.chart.XYChart;
 import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
 import javafx.scene.control.cell.TextFieldTableCell;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
+import com.example.solardataplotter.model.Channel;
+import com.example.solardataplotter.model.ChannelStatistics;
+import com.example.solardataplotter.model.ColumnAccessor;
+import com.example.solardataplotter.model.DatasetRowList;
 import com.example.solardataplotter.model.SolarDataPoint;
+import com.example.solardataplotter.model.SolarDataset;
 import com.example.solardataplotter.model.GraphConfig;
-import com.example.solardataplotter.util.DataValidator;
+import com.example.solardataplotter.util.AxisScale;
+import com.example.solardataplotter.util.CancellationToken;
+import com.example.solardataplotter.util.CanvasPlotRenderer;
+import com.example.solardataplotter.util.CsvFollower;
+import com.example.solardataplotter.util.Downsampler;
 import com.example.solardataplotter.util.GraphExporter;
 import com.example.solardataplotter.util.ExcelImporter;
+import com.example.solardataplotter.util.ImportListener;
+import com.example.solardataplotter.util.LodPyramid;
+import com.example.solardataplotter.util.MinMaxTree;
+import com.example.solardataplotter.util.SessionFile;
+import com.example.solardataplotter.util.VectorExporter;
 
 
 public class MainController implements Initializable {
@@ -34,11 +63,18 @@ public class MainController implements Initializable {
     @FXML private TableView<SolarDataPoint> dataTable;
     @FXML private ComboBox<String> xAxisCombo;
     @FXML private ListView<String> yAxisList;
+    @FXML private ComboBox<Downsampler.Mode> downsampleCombo;
+    @FXML private ComboBox<CanvasPlotRenderer.Mode> rendererCombo;
+    @FXML private StackPane chartStack;
+    @FXML private Pane chartOverlay;
     @FXML private LineChart<Number, Number> lineChart; // Changed to Number,Number
     @FXML private NumberAxis xAxis; // Changed to NumberAxis
     @FXML private NumberAxis yAxis; // Changed to NumberAxis
     @FXML private VBox graphContainer;
     @FXML private Label statusLabel;
+    @FXML private HBox importProgressBox;
+    @FXML private ProgressBar importProgressBar;
+    @FXML private Button followButton;
 
     // Table columns
     @FXML private TableColumn<SolarDataPoint, String> timeColumn;
@@ -47,10 +83,34 @@ public class MainController implements Initializable {
     @FXML private TableColumn<SolarDataPoint, Number> effMonoColumn, effPolyColumn, rhColumn;
     @FXML private TableColumn<SolarDataPoint, Number> tempMonoColumn, tempPolyColumn, ambientTempColumn, windColumn;
 
-    private ObservableList<SolarDataPoint> dataPoints;
+    private SolarDataset dataset;
+    private DatasetRowList dataPoints;
     private GraphConfig graphConfig;
     private Set<String> selectedYColumns;
     private Map<String, String> columnUnits;
+    private List<TableColumn<SolarDataPoint, Number>> channelColumns; // Built-in channels in channel order
+    private final List<TableColumn<SolarDataPoint, Number>> genericColumns = new ArrayList<>();
+    private ImportTask importTask;
+    private CsvFollower follower;
+
+    private static final int MIN_SAMPLED_POINTS = 200;
+    // Set -Dsolar.graph.timing=true to log the FX-thread time and allocation of every Generate Graph
+    private static final boolean LOG_GRAPH_TIMING = Boolean.getBoolean("solar.graph.timing");
+    private static final int POSTER_SCALE = 8;
+    private static final double TABLE_ROW_HEIGHT = 32; // Text plus the 8px cell padding in styles.css
+    private final Map<String, PlottedSeries> plottedSeries = new LinkedHashMap<>();
+    private int sampledTarget;
+    private double[] fittedBounds;
+    private CanvasPlotRenderer canvasRenderer;
+
+    // Mouse navigation on the plot area, see setupChartNavigation()
+    private static final double WHEEL_ZOOM_STEP = 1.25; // Range factor per wheel notch
+    private static final double MIN_ZOOM_BAND = 5; // Pixels; smaller drags are treated as clicks
+    private final Rectangle zoomBand = new Rectangle();
+    private double dragStartSceneX, dragStartSceneY;
+    private double dragLower, dragUpper, dragValuesPerPixel;
+    private boolean dragging;
+    private boolean resamplePending, fitYPending;
 
     @FXML private TextField yAxisStartField;
 
@@ -59,6 +119,163 @@ public class MainController implements Initializable {
         lineChart.prefHeightProperty().bind(graphContainer.heightProperty());
         lineChart.setMinWidth(800);
         lineChart.setMinHeight(500);
+
+        canvasRenderer = new CanvasPlotRenderer(lineChart, chartOverlay);
+
+        // Re-run downsampling when the chart width changes by more than ~10%
+        lineChart.widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            if (!plottedSeries.isEmpty() && canvasRenderer.isEmpty() && Math.abs(targetPointCount() - sampledTarget) > sampledTarget / 10) {
+                resampleSeries();
+            }
+        });
+    }
+
+    /**
+     * Mouse and keyboard navigation on the chart: Ctrl + scroll zooms X
+     * around the cursor (plain scrolling still scrolls the page), dragging
+     * pans X, Shift + drag zooms to the rectangle drawn and Shift + +/- zooms
+     * around the centre. Every change only moves the axis bounds and asks for
+     * one resample per pulse, see requestResample().
+     */
+    private void setupChartNavigation() {
+        zoomBand.setManaged(false);
+        zoomBand.setVisible(false);
+        zoomBand.setFill(Color.rgb(52, 152, 219, 0.15));
+        zoomBand.setStroke(Color.web("#3498db"));
+        chartOverlay.getChildren().add(zoomBand);
+
+        lineChart.addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (!event.isControlDown() || event.getDeltaY() == 0 || plottedSeries.isEmpty()) return;
+            double anchor = xAxis.getValueForDisplay(xAxis.sceneToLocal(event.getSceneX(), event.getSceneY()).getX()).doubleValue();
+            // One step per wheel notch; trackpads scroll in fractions of a notch
+            double notches = event.getMultiplierY() > 0 ? event.getDeltaY() / event.getMultiplierY() : Math.signum(event.getDeltaY());
+            double factor = Math.pow(WHEEL_ZOOM_STEP, -notches);
+            setXWindow(anchor - (anchor - xAxis.getLowerBound()) * factor,
+                    anchor + (xAxis.getUpperBound() - anchor) * factor, true);
+            event.consume();
+        });
+
+        lineChart.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            if (event.getButton() != MouseButton.PRIMARY || plottedSeries.isEmpty()) return;
+            Bounds plot = plotAreaInScene();
+            if (plot == null || !plot.contains(event.getSceneX(), event.getSceneY())) return;
+
+            lineChart.requestFocus();
+            dragging = true;
+            dragStartSceneX = event.getSceneX();
+            dragStartSceneY = event.getSceneY();
+            dragLower = xAxis.getLowerBound();
+            dragUpper = xAxis.getUpperBound();
+            dragValuesPerPixel = (dragUpper - dragLower) / Math.max(xAxis.getWidth(), 1);
+            event.consume();
+        });
+
+        lineChart.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            if (!dragging) return;
+            if (event.isShiftDown()) {
+                // Rubber band, kept inside the plot area
+                Bounds plot = plotAreaInScene();
+                double x = Math.max(plot.getMinX(), Math.min(plot.getMaxX(), event.getSceneX()));
+                double y = Math.max(plot.getMinY(), Math.min(plot.getMaxY(), event.getSceneY()));
+                Bounds band = chartOverlay.sceneToLocal(new BoundingBox(
+                        Math.min(x, dragStartSceneX), Math.min(y, dragStartSceneY),
+                        Math.abs(x - dragStartSceneX), Math.abs(y - dragStartSceneY)));
+                zoomBand.setX(band.getMinX());
+                zoomBand.setY(band.getMinY());
+                zoomBand.setWidth(band.getWidth());
+                zoomBand.setHeight(band.getHeight());
+                zoomBand.setVisible(true);
+            } else {
+                zoomBand.setVisible(false);
+                double shift = (dragStartSceneX - event.getSceneX()) * dragValuesPerPixel;
+                setXWindow(dragLower + shift, dragUpper + shift, false);
+            }
+            event.consume();
+        });
+
+        lineChart.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
+            if (!dragging) return;
+            dragging = false;
+            if (zoomBand.isVisible()) {
+                zoomBand.setVisible(false);
+                if (zoomBand.getWidth() >= MIN_ZOOM_BAND && zoomBand.getHeight() >= MIN_ZOOM_BAND) {
+                    zoomToBand();
+                }
+            } else if (xAxis.getLowerBound() != dragLower) {
+                requestResample(true); // Pan finished: fit Y to what is now in view
+                updateStatus("Panned");
+            }
+            event.consume();
+        });
+
+        lineChart.setOnKeyPressed(event -> {
+            if (!event.isShiftDown()) return;
+            if (event.getCode() == KeyCode.PLUS || event.getCode() == KeyCode.ADD || event.getCode() == KeyCode.EQUALS) {
+                handleZoomIn();
+                event.consume();
+            } else if (event.getCode() == KeyCode.MINUS || event.getCode() == KeyCode.SUBTRACT) {
+                handleZoomOut();
+                event.consume();
+            }
+        });
+    }
+
+    /** The chart's plot area in scene coordinates, or null before the chart is laid out. */
+    private Bounds plotAreaInScene() {
+        Node plotBackground = lineChart.lookup(".chart-plot-background");
+        return plotBackground != null ? plotBackground.localToScene(plotBackground.getLayoutBounds()) : null;
+    }
+
+    /** Zoom both axes to the values under the rubber band. */
+    private void zoomToBand() {
+        Bounds band = chartOverlay.localToScene(zoomBand.getBoundsInLocal());
+        double xLower = xAxis.getValueForDisplay(xAxis.sceneToLocal(band.getMinX(), band.getMinY()).getX()).doubleValue();
+        double xUpper = xAxis.getValueForDisplay(xAxis.sceneToLocal(band.getMaxX(), band.getMinY()).getX()).doubleValue();
+        double yUpper = yAxis.getValueForDisplay(yAxis.sceneToLocal(band.getMinX(), band.getMinY()).getY()).doubleValue();
+        double yLower = yAxis.getValueForDisplay(yAxis.sceneToLocal(band.getMinX(), band.getMaxY()).getY()).doubleValue();
+
+        setXWindow(xLower, xUpper, false);
+        yAxis.setAutoRanging(false);
+        yAxis.setLowerBound(yLower);
+        yAxis.setUpperBound(yUpper);
+        yAxis.setTickUnit(AxisScale.niceTickUnit(Math.max((yUpper - yLower) / 10, 0.1)));
+        updateStatus("Zoomed to selection");
+    }
+
+    /**
+     * Show [lower, upper] on the X axis. The series are resampled on the next
+     * pulse, so a burst of wheel or drag events costs a single resample.
+     */
+    private void setXWindow(double lower, double upper, boolean fitY) {
+        if (!(upper > lower)) return;
+        // Tick unit and labels follow the window: a zoomed day of epoch-minute data needs HH:mm ticks
+        applyXScale("Time".equals(xAxisCombo.getSelectionModel().getSelectedItem()) ?
+                AxisScale.forTimeWindow(lower, upper) :
+                new AxisScale(lower, upper, AxisScale.niceTickUnit(Math.max((upper - lower) / 10, 0.1)), false));
+        requestResample(fitY);
+    }
+
+    private void requestResample(boolean fitY) {
+        fitYPending |= fitY;
+        if (resamplePending) return;
+        resamplePending = true;
+        Platform.runLater(() -> {
+            resamplePending = false;
+            if (plottedSeries.isEmpty()) return;
+            resampleSeries();
+            if (fitYPending) {
+                fitYPending = false;
+                fitYAxisToVisibleRange();
+            }
+        });
+    }
+
+    /** Chart and axis styling does not depend on the data, so it is applied once. */
+    private void setupChartStyling() {
+        applyEnhancedChartStyling();
+        applyYAxisLabelMargins();
+        styleYAxisLabel();
+        adjustChartPadding();
     }
 
     @Override
@@ -71,6 +288,8 @@ public class MainController implements Initializable {
             setupEventHandlers();
             setupKeyboardNavigation();
             setupResponsiveChart();
+            setupChartNavigation();
+            setupChartStyling();
             updateStatus("Application ready");
         } catch (Exception e) {
             e.printStackTrace();
@@ -80,7 +299,8 @@ public class MainController implements Initializable {
 
 
     private void initializeData() {
-        dataPoints = FXCollections.observableArrayList();
+        dataset = new SolarDataset();
+        dataPoints = new DatasetRowList(dataset);
         graphConfig = new GraphConfig();
         selectedYColumns = new HashSet<>();
 
@@ -142,6 +362,31 @@ public class MainController implements Initializable {
         tempPolyColumn.setCellValueFactory(cellData -> cellData.getValue().panelTempPolyProperty());
         ambientTempColumn.setCellValueFactory(cellData -> cellData.getValue().ambientTempProperty());
         windColumn.setCellValueFactory(cellData -> cellData.getValue().windSpeedProperty());
+        channelColumns = List.of(solarRadColumn, vMonoColumn, vPolyColumn, iMonoColumn, iPolyColumn,
+                pMonoColumn, pPolyColumn, effMonoColumn, effPolyColumn, rhColumn,
+                tempMonoColumn, tempPolyColumn, ambientTempColumn, windColumn);
+
+        // Rows are views over the dataset, so sorting argsorts the clicked column into a row
+        // permutation of the row list instead of moving items. A fixed row height lets the
+        // table position its scroll bar without measuring rows.
+        for (int channel = 0; channel < channelColumns.size(); channel++) {
+            channelColumns.get(channel).setUserData(channel);
+        }
+        dataTable.setSortPolicy(table -> {
+            if (table.getSortOrder().isEmpty()) {
+                dataPoints.unsort();
+                return true;
+            }
+            TableColumn<SolarDataPoint, ?> column = table.getSortOrder().get(0); // Primary sort column only
+            boolean descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+            if (column.getUserData() instanceof Integer) {
+                dataPoints.sortByChannel((Integer) column.getUserData(), descending);
+            } else {
+                dataPoints.sortByTime(descending);
+            }
+            return true;
+        });
+        dataTable.setFixedCellSize(TABLE_ROW_HEIGHT);
 
         // Make table editable
         dataTable.setEditable(true);
@@ -225,21 +470,10 @@ public class MainController implements Initializable {
         // Enable editing for all columns
         setCellFactory(timeColumn);
 
-        // Numeric columns with proper property mapping
-        setNumericCellFactory(solarRadColumn, "solarRadiation");
-        setNumericCellFactory(vMonoColumn, "vMono");
-        setNumericCellFactory(vPolyColumn, "vPoly");
-        setNumericCellFactory(iMonoColumn, "iMono");
-        setNumericCellFactory(iPolyColumn, "iPoly");
-        setNumericCellFactory(pMonoColumn, "pMono");
-        setNumericCellFactory(pPolyColumn, "pPoly");
-        setNumericCellFactory(effMonoColumn, "effMono");
-        setNumericCellFactory(effPolyColumn, "effPoly");
-        setNumericCellFactory(rhColumn, "rh");
-        setNumericCellFactory(tempMonoColumn, "panelTempMono");
-        setNumericCellFactory(tempPolyColumn, "panelTempPoly");
-        setNumericCellFactory(ambientTempColumn, "ambientTemp");
-        setNumericCellFactory(windColumn, "windSpeed");
+        // Numeric columns, each editing its dataset channel
+        for (int channel = 0; channel < channelColumns.size(); channel++) {
+            setNumericCellFactory(channelColumns.get(channel), channel);
+        }
     }
 
     private void setCellFactory(TableColumn<SolarDataPoint, String> column) {
@@ -247,18 +481,19 @@ public class MainController implements Initializable {
         column.setOnEditCommit(event -> {
             SolarDataPoint point = event.getRowValue();
             point.setTime(event.getNewValue());
+            updateChartRow(point.getRow());
         });
     }
 
-    private void setNumericCellFactory(TableColumn<SolarDataPoint, Number> column, String propertyName) {
+    private void setNumericCellFactory(TableColumn<SolarDataPoint, Number> column, int channel) {
+        boolean percentage = channel < SolarDataset.CHANNEL_COUNT && Channel.of(channel).isPercentage();
         column.setCellFactory(TextFieldTableCell.forTableColumn(new StringConverter<Number>() {
             @Override
             public String toString(Number object) {
-                if (object == null) return "";
+                if (object == null || Double.isNaN(object.doubleValue())) return ""; // Missing value
 
                 // Special formatting for percentage columns
-                if (propertyName.equals("effMono") || propertyName.equals("effPoly") ||
-                        propertyName.equals("rh")) {
+                if (percentage) {
                     return String.format("%.1f%%", object.doubleValue());
                 }
                 return String.format("%.2f", object.doubleValue());
@@ -274,8 +509,7 @@ public class MainController implements Initializable {
                     double value = Double.parseDouble(cleaned);
 
                     // For efficiency and RH, ensure 0-100 range
-                    if ((propertyName.equals("effMono") || propertyName.equals("effPoly") ||
-                            propertyName.equals("rh")) && value >= 0 && value <= 1) {
+                    if (percentage && value >= 0 && value <= 1) {
                         // Convert decimal to percentage
                         value = value * 100.0;
                     }
@@ -287,40 +521,20 @@ public class MainController implements Initializable {
             }
         }));
 
-        // Add specific edit commit handler for each column
         column.setOnEditCommit(event -> {
             SolarDataPoint point = event.getRowValue();
             double newValue = event.getNewValue().doubleValue();
 
             // Additional validation for percentage columns
-            if ((propertyName.equals("effMono") || propertyName.equals("effPoly") ||
-                    propertyName.equals("rh")) && newValue >= 0 && newValue <= 1) {
-                newValue = newValue * 100.0;
-            }
-
-            switch (propertyName) {
-                case "solarRadiation": point.setSolarRadiation(newValue); break;
-                case "vMono": point.setVMono(newValue); break;
-                case "vPoly": point.setVPoly(newValue); break;
-                case "iMono": point.setIMono(newValue); break;
-                case "iPoly": point.setIPoly(newValue); break;
-                case "pMono": point.setPMono(newValue); break;
-                case "pPoly": point.setPPoly(newValue); break;
-                case "effMono":
-                    // Ensure 0-100 range
-                    point.setEffMono(Math.max(0, Math.min(100, newValue)));
-                    break;
-                case "effPoly":
-                    point.setEffPoly(Math.max(0, Math.min(100, newValue)));
-                    break;
-                case "rh":
-                    point.setRh(Math.max(0, Math.min(100, newValue)));
-                    break;
-                case "panelTempMono": point.setPanelTempMono(newValue); break;
-                case "panelTempPoly": point.setPanelTempPoly(newValue); break;
-                case "ambientTemp": point.setAmbientTemp(newValue); break;
-                case "windSpeed": point.setWindSpeed(newValue); break;
+            if (percentage) {
+                if (newValue >= 0 && newValue <= 1) {
+                    newValue = newValue * 100.0;
+                }
+                newValue = Math.max(0, Math.min(100, newValue)); // Ensure 0-100 range
             }
+
+            point.setValue(channel, newValue);
+            updateChartRow(point.getRow());
         });
     }
 
@@ -336,31 +550,393 @@ public class MainController implements Initializable {
                     new FileChooser.ExtensionFilter("All Files", "*.*")
             );
 
-            File file = fileChooser.showOpenDialog(null);
-            if (file != null) {
-                List<SolarDataPoint> importedData = ExcelImporter.importData(file);
+            // Several files (or a workbook with several sheets) are merged into one timeline
+            List<File> files = fileChooser.showOpenMultipleDialog(null);
+            if (files != null && !files.isEmpty()) {
+                startImport(files);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            showAlert("Import Error", "Failed to import data: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void handleCancelImport() {
+        if (importTask != null) {
+            importTask.cancel();
+        }
+    }
 
-                if (importedData != null && !importedData.isEmpty()) {
-                    dataPoints.setAll(importedData);
+    /**
+     * Run the import on a background thread. Rows show up in the table in
+     * batches while the file is read; the finished dataset replaces them.
+     */
+    private void startImport(List<File> files) {
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
+        }
+        stopFollowing();
+
+        SolarDataset previous = dataset;
+        ImportTask task = new ImportTask(files);
+        String source = files.size() == 1 ? files.get(0).getName() : files.size() + " files";
+        importTask = task;
+        setDataset(new SolarDataset(16, new boolean[SolarDataset.CHANNEL_COUNT])); // Channels come with the rows
+
+        dataTable.setEditable(false); // The rows shown share their arrays with the dataset being built
+        importProgressBar.progressProperty().bind(task.progressProperty());
+        importProgressBox.setVisible(true);
+        importProgressBox.setManaged(true);
+        task.messageProperty().addListener((obs, oldVal, newVal) -> {
+            if (importTask == task) updateStatus(newVal);
+        });
 
-                    // FIX: Validate and fix efficiency values after import
-                    validateAndFixEfficiencyValues();
+        task.setOnSucceeded(event -> {
+            finishImport();
+            SolarDataset importedData = task.getValue();
 
-                    updateStatus("Successfully imported " + importedData.size() + " data points from " + file.getName());
+            if (importedData != null && !importedData.isEmpty()) {
+                setDataset(importedData);
 
-                    if (!selectedYColumns.isEmpty() && xAxisCombo.getSelectionModel().getSelectedItem() != null) {
-                        generateGraph();
-                    }
-                } else {
-                    showAlert("Import Error", "No data was imported. Please check the file format.");
+                // FIX: Validate and fix efficiency values after import
+                validateAndFixEfficiencyValues();
+
+                updateStatus("Successfully imported " + importedData.size() + " data points from " + source);
+
+                if (!selectedYColumns.isEmpty() && xAxisCombo.getSelectionModel().getSelectedItem() != null) {
+                    generateGraph();
                 }
+            } else {
+                setDataset(previous);
+                showAlert("Import Error", "No data was imported. Please check the file format.");
             }
-        } catch (Exception e) {
+        });
+
+        task.setOnCancelled(event -> {
+            finishImport();
+            // Detach the rows shown so far: the cancelled importer may still be appending to their arrays
+            setDataset(dataset.slice(0, dataset.size()));
+            updateStatus("Import cancelled, kept the first " + dataset.size() + " rows of " + source);
+        });
+
+        task.setOnFailed(event -> {
+            finishImport();
+            setDataset(previous);
+            Throwable e = task.getException();
             e.printStackTrace();
             showAlert("Import Error", "Failed to import data: " + e.getMessage());
+        });
+
+        updateStatus("Importing " + source + "...");
+        Thread thread = new Thread(task, "data-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void finishImport() {
+        importTask = null;
+        dataTable.setEditable(true);
+        importProgressBar.progressProperty().unbind();
+        importProgressBox.setVisible(false);
+        importProgressBox.setManaged(false);
+    }
+
+    /**
+     * Show the rows an import has finished so far (FX thread). {@code rows}
+     * is a prefix of the dataset being built, so nothing is copied.
+     */
+    private void showImportedRows(SolarDataset rows) {
+        int channels = dataset.getChannelCount();
+        boolean firstBatch = dataset.isEmpty();
+        dataset = rows;
+        if (firstBatch || dataset.getChannelCount() != channels) {
+            updateChannelColumns();
+        }
+        dataPoints.extendTo(rows);
+    }
+
+    /** Append a batch of rows read from a followed file to the table (FX thread). */
+    private void appendRows(SolarDataset batch) {
+        int first = dataset.size();
+        int channels = dataset.getChannelCount();
+        boolean firstBatch = dataset.isEmpty();
+        dataset.addAll(batch);
+        if (firstBatch || dataset.getChannelCount() != channels) {
+            updateChannelColumns();
+        }
+        dataPoints.rowsAdded(first, batch.size());
+    }
+
+    /**
+     * Follow a CSV file a logger is still writing: its rows are loaded and
+     * then every appended line shows up in the table and chart. Pressing the
+     * button again stops following and keeps the rows.
+     */
+    @FXML
+    private void handleFollowCsv() {
+        if (follower != null) {
+            stopFollowing();
+            return;
+        }
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Follow CSV Log");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+                new FileChooser.ExtensionFilter("All Files", "*.*")
+        );
+        File file = fileChooser.showOpenDialog(null);
+        if (file == null) return;
+
+        clearFollowedRows();
+        follower = new FollowListener(file).follower;
+        followButton.setText("Stop Following");
+        updateStatus("Following " + file.getName() + "...");
+        follower.start();
+    }
+
+    /** Start over with no rows and no chart, before following a file or when it was truncated. */
+    private void clearFollowedRows() {
+        setDataset(new SolarDataset(16, new boolean[SolarDataset.CHANNEL_COUNT])); // Channels come with the rows
+        lineChart.getData().clear();
+        canvasRenderer.clear();
+    }
+
+    private void stopFollowing() {
+        if (follower == null) return;
+        follower.stop();
+        updateStatus("Stopped following " + follower.getFile().getName() + ", kept " + dataset.size() + " rows");
+        follower = null;
+        followButton.setText("Follow CSV");
+    }
+
+    /**
+     * Rows appended to the followed file (FX thread). The follower sends at
+     * most a few batches per second, so this also bounds the chart refresh
+     * rate. Only the new rows are added to the plotted series, their
+     * pyramids and the chart or canvas, unless the X window moved.
+     */
+    private void appendFollowedRows(SolarDataset batch) {
+        int first = dataset.size();
+        appendRows(batch);
+        updateStatus("Following " + follower.getFile().getName() + ": " + dataset.size() + " rows, last at "
+                + SolarDataset.formatTime(dataset.getTime(dataset.size() - 1)));
+
+        if (plottedSeries.isEmpty()) {
+            if (!selectedYColumns.isEmpty() && xAxisCombo.getSelectionModel().getSelectedItem() != null) {
+                generateGraph();
+            }
+            return;
+        }
+
+        double lower = xAxis.getLowerBound();
+        double upper = xAxis.getUpperBound();
+        int[] before = new int[plottedSeries.size()];
+        long totalPoints = 0;
+        int index = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            before[index++] = plotted.count;
+            if (plotted.yAccessor != null) {
+                for (int row = first; row < dataset.size(); row++) {
+                    plotted.add(row, plotted.xAccessor.get(dataset, row), plotted.yAccessor.get(dataset, row));
+                }
+            }
+            totalPoints += plotted.count;
+        }
+        // Keep the axes following the newest rows unless the user zoomed or panned away from them
+        if (fittedBounds == null || xAxis.isAutoRanging() || xAxis.getUpperBound() >= fittedBounds[1]) {
+            fitAxesToSeries(false);
+        }
+
+        // Resample only if the window moved or the renderer changes; otherwise just add the new points
+        boolean canvas = !canvasRenderer.isEmpty();
+        if (xAxis.isAutoRanging() || xAxis.getLowerBound() != lower || xAxis.getUpperBound() != upper
+                || canvas != CanvasPlotRenderer.useCanvas(rendererCombo.getValue(), totalPoints)) {
+            requestResample(false);
+            return;
+        }
+        index = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            if (canvas) {
+                canvasRenderer.appendPoints(index, plotted.x, plotted.y, plotted.count, plotted.ascending);
+            } else {
+                appendSampledPoints(plotted, before[index], lower, upper);
+            }
+            index++;
         }
     }
 
+    /**
+     * Add the points of a series from {@code from} on that fall inside the
+     * X window to its chart points, downsampled to the share of the sampling
+     * target their part of the window is worth. They belong to the newest
+     * rows, so they go at the end.
+     */
+    private void appendSampledPoints(PlottedSeries plotted, int from, double lower, double upper) {
+        int[] window = new int[plotted.count - from];
+        int visible = 0;
+        double xMin = Double.POSITIVE_INFINITY;
+        for (int i = from; i < plotted.count; i++) {
+            if (plotted.x[i] >= lower && plotted.x[i] <= upper) {
+                window[visible++] = i;
+                xMin = Math.min(xMin, plotted.x[i]);
+            }
+        }
+        if (visible == 0) return;
+
+        Downsampler.Mode mode = downsampleCombo.getValue() != null ?
+                downsampleCombo.getValue() : Downsampler.Mode.LTTB;
+        int target = sampledTarget > 0 ? sampledTarget : targetPointCount();
+        target = Math.max(2, (int) Math.ceil(target * (upper - xMin) / (upper - lower)));
+        double[] windowX = new double[visible];
+        double[] windowY = new double[visible];
+        for (int i = 0; i < visible; i++) {
+            windowX[i] = plotted.x[window[i]];
+            windowY[i] = plotted.y[window[i]];
+        }
+        int[] selected = Downsampler.downsample(mode, windowX, windowY, visible, target);
+
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(selected.length);
+        for (int i : selected) {
+            int index = window[i];
+            points.add(createDataPoint(plotted.x[index], plotted.y[index], plotted.rows[index]));
+        }
+        plotted.series.getData().addAll(points);
+    }
+
+    /** Hands the rows of a {@link CsvFollower} over to the FX thread. */
+    private class FollowListener implements ImportListener {
+        private final CsvFollower follower;
+
+        FollowListener(File file) {
+            this.follower = new CsvFollower(file, this);
+        }
+
+        @Override
+        public void rowsImported(SolarDataset batch, int from, int to) {
+            Platform.runLater(() -> {
+                // Batches still queued when following stopped are dropped
+                if (MainController.this.follower == follower) appendFollowedRows(batch);
+            });
+        }
+
+        @Override
+        public void reset() {
+            Platform.runLater(() -> {
+                if (MainController.this.follower != follower) return;
+                // The file is read again from its header; runLater keeps this ahead of those rows
+                clearFollowedRows();
+                updateStatus(follower.getFile().getName() + " was truncated or replaced, reloading it");
+            });
+        }
+    }
+
+    /**
+     * Background import. It is its own ImportListener: progress goes to the
+     * Task's progress property and the finished rows are handed to the FX
+     * thread as prefixes of the dataset being built.
+     */
+    private class ImportTask extends Task<SolarDataset> implements ImportListener {
+        private final List<File> files;
+        private final String name;
+        private final CancellationToken token = new CancellationToken();
+
+        ImportTask(List<File> files) {
+            this.files = files;
+            this.name = files.size() == 1 ? files.get(0).getName() : files.size() + " files";
+        }
+
+        @Override
+        protected SolarDataset call() {
+            SolarDataset imported = ExcelImporter.importData(files, this, token);
+            if (imported != null) {
+                imported.buildStatistics(); // One O(n) pass here instead of on the FX thread later
+            }
+            return imported;
+        }
+
+        @Override
+        public void progress(long processed, long total) {
+            updateProgress(processed, total);
+        }
+
+        @Override
+        public void rowsImported(SolarDataset dataset, int from, int to) {
+            updateMessage("Importing " + name + ": " + to + " rows");
+            SolarDataset rows = dataset.prefix(to); // Taken here, on the thread that writes the dataset
+            Platform.runLater(() -> {
+                // Late batches from a cancelled import are dropped
+                if (importTask == this) showImportedRows(rows);
+            });
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            token.cancel();
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    /**
+     * Make the given dataset current. The table reads it through a virtual
+     * list, so no per-row objects are made here.
+     */
+    private void setDataset(SolarDataset newDataset) {
+        dataTable.getSortOrder().clear(); // A new dataset is shown in its own order
+        dataset = newDataset;
+        dataPoints.setDataset(dataset);
+        plottedSeries.clear(); // Plotted rows belonged to the previous dataset
+        updateChannelColumns();
+    }
+
+    /**
+     * Match the table columns and Y-axis choices to the channels of the
+     * current dataset: built-in channels the file did not have are hidden,
+     * generic channels get a column and a Y choice of their own.
+     */
+    private void updateChannelColumns() {
+        for (int channel = 0; channel < channelColumns.size(); channel++) {
+            channelColumns.get(channel).setVisible(dataset.hasChannel(channel));
+        }
+
+        dataTable.getColumns().removeAll(genericColumns);
+        genericColumns.clear();
+        for (int channel = SolarDataset.CHANNEL_COUNT; channel < dataset.getChannelCount(); channel++) {
+            String name = dataset.getChannelName(channel);
+            String unit = dataset.getChannelUnit(channel);
+            if (!unit.isEmpty()) columnUnits.put(name, unit);
+
+            int index = channel;
+            TableColumn<SolarDataPoint, Number> column = new TableColumn<>(name);
+            column.setPrefWidth(90);
+            column.setMinWidth(60);
+            column.setUserData(channel); // Sort key, see initializeTable()
+            column.setCellValueFactory(cellData -> cellData.getValue().valueProperty(index));
+            setNumericCellFactory(column, channel);
+            genericColumns.add(column);
+        }
+        dataTable.getColumns().addAll(genericColumns);
+
+        List<String> yColumns = new ArrayList<>();
+        yColumns.add("Time");
+        for (int channel = 0; channel < dataset.getChannelCount(); channel++) {
+            if (dataset.hasChannel(channel)) yColumns.add(dataset.getChannelName(channel));
+        }
+        if (!yAxisList.getItems().equals(yColumns)) {
+            yAxisList.getItems().setAll(yColumns);
+        }
+        if (!dataset.isEmpty()) {
+            selectedYColumns.retainAll(yColumns); // Drop choices the new file does not have
+        }
+        yAxisList.refresh();
+    }
+
     private void initializeComboBoxes() {
         // Grouped columns for X-axis
         ObservableList<String> xAxisColumns = FXCollections.observableArrayList(
@@ -385,6 +961,12 @@ public class MainController implements Initializable {
 
         xAxisCombo.setItems(xAxisColumns);
 
+        downsampleCombo.setItems(FXCollections.observableArrayList(Downsampler.Mode.values()));
+        downsampleCombo.getSelectionModel().select(Downsampler.Mode.LTTB);
+
+        rendererCombo.setItems(FXCollections.observableArrayList(CanvasPlotRenderer.Mode.values()));
+        rendererCombo.getSelectionModel().select(CanvasPlotRenderer.Mode.AUTO);
+
         // Improved CheckBoxListView for Y-axis
         yAxisList.setCellFactory(param -> new ListCell<String>() {
             private final CheckBox checkBox = new CheckBox();
@@ -400,9 +982,9 @@ public class MainController implements Initializable {
                             selectedYColumns.remove(currentItem);
                         }
 
-                        // Auto-regenerate graph when Y-axis selection changes
+                        // Add or remove just this series when Y-axis selection changes
                         if (!dataPoints.isEmpty() && xAxisCombo.getSelectionModel().getSelectedItem() != null) {
-                            generateGraph();
+                            toggleSeries(currentItem, isSelected);
                             updateStatus("Y-axis selection updated");
                         }
                     }
@@ -473,23 +1055,73 @@ public class MainController implements Initializable {
                 }
             }
         });
+
+        // Re-sample the plotted series when the downsampling mode changes
+        downsampleCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null && !plottedSeries.isEmpty()) {
+                resampleSeries();
+                updateStatus("Downsampling: " + newVal + " (" + sampledPointCount() + " points plotted)");
+            }
+        });
+
+        rendererCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null && !plottedSeries.isEmpty()) {
+                resampleSeries();
+                updateStatus("Renderer: " + newVal + (canvasRenderer.isEmpty() ? " (chart symbols)" : " (canvas)"));
+            }
+        });
     }
 
     @FXML
     private void handleAddData() {
-        SolarDataPoint newPoint = new SolarDataPoint();
-        newPoint.setTime("00:00");
-        dataPoints.add(newPoint);
-        dataTable.getSelectionModel().select(newPoint);
-        dataTable.scrollTo(newPoint);
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
+        }
+        int row = dataset.addRow(); // New rows start at 00:00
+        dataPoints.rowsAdded(row, 1);
+        dataTable.getSelectionModel().select(dataPoints.indexOfRow(row));
+        dataTable.scrollTo(dataPoints.indexOfRow(row));
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            if (plotted.yAccessor == null) continue;
+            int index = plotted.count;
+            plotted.add(row, plotted.xAccessor.get(dataset, row), plotted.yAccessor.get(dataset, row));
+            if (plotted.count > index && canvasRenderer.isEmpty()) {
+                // The new row is the last one, so its point goes at the end of the chart points
+                plotted.series.getData().add(createDataPoint(plotted.x[index], plotted.y[index], row));
+            }
+        }
+        plottedPointsChanged();
         updateStatus("New data point added");
     }
 
     @FXML
     private void handleRemoveData() {
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
+        }
         SolarDataPoint selected = dataTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            dataPoints.remove(selected);
+            int row = selected.getRow();
+            dataset.removeRow(row);
+            dataPoints.rowRemoved(row);
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                plotted.removeRow(row);
+                if (!canvasRenderer.isEmpty()) continue;
+                // Drop the row's chart point, if it was sampled, and renumber the points after it
+                ObservableList<XYChart.Data<Number, Number>> points = plotted.series.getData();
+                int position = indexOfRow(points, row);
+                if (position >= 0) {
+                    points.remove(position);
+                } else {
+                    position = -position - 1;
+                }
+                for (int i = position; i < points.size(); i++) {
+                    points.get(i).setExtraValue((Integer) points.get(i).getExtraValue() - 1);
+                }
+            }
+            plottedPointsChanged();
             updateStatus("Data point removed");
         } else {
             showAlert("No Selection", "Please select a data point to remove.");
@@ -520,15 +1152,40 @@ public class MainController implements Initializable {
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Save Graph as Image");
-            fileChooser.getExtensionFilters().add(
-                    new FileChooser.ExtensionFilter("PNG Image", "*.png")
+            FileChooser.ExtensionFilter posterFilter = new FileChooser.ExtensionFilter(
+                    "Poster PNG (" + POSTER_SCALE + "x resolution)", "*.png");
+            fileChooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("PNG Image", "*.png"),
+                    posterFilter,
+                    new FileChooser.ExtensionFilter("SVG Vector Image", "*.svg"),
+                    new FileChooser.ExtensionFilter("PDF Document", "*.pdf")
             );
             fileChooser.setInitialFileName("solar_data_graph.png");
 
             File file = fileChooser.showSaveDialog(null);
-            if (file != null) {
-                GraphExporter.exportChart(lineChart, file);
-                updateStatus("Graph exported to: " + file.getAbsolutePath());
+            String fileName = file != null ? file.getName().toLowerCase() : "";
+            if (fileName.endsWith(".svg") || fileName.endsWith(".pdf")) {
+                exportVector(file);
+            } else if (file != null) {
+                updateStatus("Exporting graph to " + file.getName() + "...");
+                CompletableFuture<Void> export;
+                if (fileChooser.getSelectedExtensionFilter() == posterFilter) {
+                    // Rendered in tiles, so the size is not limited by one snapshot buffer
+                    export = GraphExporter.exportChartTiled(chartStack, file,
+                            (int) chartStack.getWidth() * POSTER_SCALE, (int) chartStack.getHeight() * POSTER_SCALE);
+                } else {
+                    // Snapshot of the chart plus the canvas overlay now; PNG encoding runs in the background
+                    export = GraphExporter.exportChartAsync(chartStack, file);
+                }
+                export.whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    if (error == null) {
+                        updateStatus("Graph exported to: " + file.getAbsolutePath());
+                    } else {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        cause.printStackTrace();
+                        showAlert("Export Error", "Failed to export graph: " + cause.getMessage());
+                    }
+                }));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -536,47 +1193,207 @@ public class MainController implements Initializable {
         }
     }
 
+    /**
+     * Write the plotted series as SVG/PDF from their full data and the current
+     * axis bounds (so a zoomed view exports as shown), on a background thread.
+     */
+    private void exportVector(File file) {
+        String xAxisGroup = xAxisCombo.getSelectionModel().getSelectedItem();
+        AxisScale xScale = new AxisScale(xAxis.getLowerBound(), xAxis.getUpperBound(), xAxis.getTickUnit(),
+                "Time".equals(xAxisGroup));
+        AxisScale yScale = new AxisScale(yAxis.getLowerBound(), yAxis.getUpperBound(), yAxis.getTickUnit(), false);
+        VectorExporter.Chart chart = new VectorExporter.Chart(lineChart.getTitle(), xAxis.getLabel(), yAxis.getLabel(),
+                xScale, yScale);
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            // Copies, so edits made while the export runs cannot tear the data
+            chart.addSeries(new VectorExporter.Series(plotted.series.getName(), seriesColorHex(plotted.series),
+                    Arrays.copyOf(plotted.x, plotted.count), Arrays.copyOf(plotted.y, plotted.count), plotted.count));
+        }
 
-    @FXML
-    private void handleClearAll() {
-        dataPoints.clear();
-        lineChart.getData().clear();
-        selectedYColumns.clear();
-        yAxisList.refresh();
-        updateStatus("All data cleared");
+        updateStatus("Exporting graph to " + file.getName() + "...");
+        CompletableFuture.runAsync(() -> {
+            try {
+                VectorExporter.export(chart, file, VectorExporter.DEFAULT_WIDTH, VectorExporter.DEFAULT_HEIGHT);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }).whenComplete((ignored, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                updateStatus("Graph exported to: " + file.getAbsolutePath());
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                cause.printStackTrace();
+                showAlert("Export Error", "Failed to export graph: " + cause.getMessage());
+            }
+        }));
     }
 
-    private boolean validateInputs() {
-        if (dataPoints.isEmpty()) {
-            showAlert("No Data", "Please add some data points before generating the graph.");
-            return false;
+    @FXML
+    private void handleSaveSession() {
+        if (dataset.isEmpty()) {
+            showAlert("No Data", "Please add or import data before saving a session.");
+            return;
         }
 
-        for (SolarDataPoint point : dataPoints) {
-            if (!DataValidator.isValidTime(point.getTime())) {
-                showAlert("Invalid Time", "Please enter valid time format (HH:mm) for all data points.");
-                return false;
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Save Session");
+            FileChooser.ExtensionFilter compressedFilter =
+                    new FileChooser.ExtensionFilter("Compressed Solar Session (smaller file)", "*." + SessionFile.EXTENSION);
+            fileChooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("Solar Session (fastest to open)", "*." + SessionFile.EXTENSION),
+                    compressedFilter
+            );
+            fileChooser.setInitialFileName("solar_session." + SessionFile.EXTENSION);
+
+            File file = fileChooser.showSaveDialog(null);
+            if (file != null) {
+                // Remember the current axis selection alongside the labels
+                String xColumn = xAxisCombo.getSelectionModel().getSelectedItem();
+                graphConfig.setXAxisColumns(xColumn != null ? List.of(xColumn) : new ArrayList<>());
+                graphConfig.setYAxisColumns(new ArrayList<>(selectedYColumns));
+
+                SessionFile.save(file, dataset, graphConfig, fileChooser.getSelectedExtensionFilter() == compressedFilter);
+                updateStatus("Session saved to: " + file.getAbsolutePath());
             }
+        } catch (Exception e) {
+            e.printStackTrace();
+            showAlert("Save Error", "Failed to save session: " + e.getMessage());
         }
-        return true;
     }
 
-    private boolean validateGraphConfig() {
-        if (xAxisCombo.getSelectionModel().getSelectedItem() == null) {
-            showAlert("X-Axis Required", "Please select an X-axis column.");
-            return false;
-        }
-
-        if (selectedYColumns.isEmpty()) {
-            showAlert("Y-Axis Required", "Please select at least one Y-axis column.");
-            return false;
+    @FXML
+    private void handleOpenSession() {
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
         }
 
-        return true;
-    }
+        try {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Open Session");
+            fileChooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("Solar Session", "*." + SessionFile.EXTENSION),
+                    new FileChooser.ExtensionFilter("All Files", "*.*")
+            );
+
+            File file = fileChooser.showOpenDialog(null);
+            if (file == null) return;
+            stopFollowing();
+
+            SessionFile.Session session = SessionFile.load(file);
+            GraphConfig config = session.getConfig();
+            graphConfig.setExperimentLocation(config.getExperimentLocation());
+            graphConfig.setLatitude(config.getLatitude());
+            graphConfig.setLongitude(config.getLongitude());
+            graphConfig.setXAxisLabel(config.getXAxisLabel());
+            graphConfig.setYAxisLabel(config.getYAxisLabel());
+            graphConfig.setGraphTitle(config.getGraphTitle());
+
+            session.getDataset().buildStatistics();
+            setDataset(session.getDataset());
+
+            selectedYColumns.clear();
+            selectedYColumns.addAll(config.getYAxisColumns());
+            yAxisList.refresh();
+            if (!config.getXAxisColumns().isEmpty()) {
+                xAxisCombo.getSelectionModel().select(config.getXAxisColumns().get(0));
+            }
+
+            lineChart.getData().clear();
+            canvasRenderer.clear();
+            if (!selectedYColumns.isEmpty() && xAxisCombo.getSelectionModel().getSelectedItem() != null) {
+                generateGraph();
+            }
+            updateStatus("Opened session " + file.getName() + " with " + dataset.size() + " data points");
+        } catch (Exception e) {
+            e.printStackTrace();
+            showAlert("Open Error", "Failed to open session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Plot {@code data} exactly as Generate Graph would, without any dialogs,
+     * and return the node to snapshot (chart plus canvas overlay). Used by the
+     * headless batch renderer; must run on the FX thread.
+     */
+    public Node renderGraph(SolarDataset data, String xAxisGroup, Collection<String> yColumns) {
+        if (!xAxisCombo.getItems().contains(xAxisGroup)) {
+            throw new IllegalArgumentException("Unknown X-axis column: " + xAxisGroup);
+        }
+
+        // Select X before Y so the X listener does not plot the previous dataset
+        selectedYColumns.clear();
+        xAxisCombo.getSelectionModel().select(xAxisGroup);
+        setDataset(data);
+        for (String yColumn : yColumns) {
+            if (!yAxisList.getItems().contains(yColumn)) {
+                throw new IllegalArgumentException("Unknown Y-axis column: " + yColumn);
+            }
+        }
+        selectedYColumns.addAll(yColumns);
+        validateAndFixEfficiencyValues(); // Same clean-up as after an interactive import
+        generateGraph();
+
+        // The canvas normally redraws on the next pulse, which a snapshot does not wait for
+        if (!canvasRenderer.isEmpty()) {
+            canvasRenderer.redraw();
+        }
+        return chartStack;
+    }
+
+
+    @FXML
+    private void handleClearAll() {
+        if (importTask != null && importTask.isRunning()) {
+            showAlert("Import Running", "Please wait for the current import to finish or cancel it.");
+            return;
+        }
+        stopFollowing();
+        int rows = dataset.size();
+        dataset.clear();
+        dataPoints.cleared(rows);
+        lineChart.getData().clear();
+        plottedSeries.clear();
+        canvasRenderer.clear();
+        selectedYColumns.clear();
+        yAxisList.refresh();
+        updateStatus("All data cleared");
+    }
+
+    private boolean validateInputs() {
+        if (dataPoints.isEmpty()) {
+            showAlert("No Data", "Please add some data points before generating the graph.");
+            return false;
+        }
+
+        for (int i = 0; i < dataset.size(); i++) {
+            if (dataset.getTime(i) == SolarDataset.INVALID_TIME) {
+                showAlert("Invalid Time", "Please enter a valid time (HH:mm or yyyy-MM-dd HH:mm) for all data points.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validateGraphConfig() {
+        if (xAxisCombo.getSelectionModel().getSelectedItem() == null) {
+            showAlert("X-Axis Required", "Please select an X-axis column.");
+            return false;
+        }
+
+        if (selectedYColumns.isEmpty()) {
+            showAlert("Y-Axis Required", "Please select at least one Y-axis column.");
+            return false;
+        }
+
+        return true;
+    }
 
 
     private void generateGraph() {
+        long startNanos = LOG_GRAPH_TIMING ? System.nanoTime() : 0;
+        long startBytes = LOG_GRAPH_TIMING ? allocatedBytes() : 0;
         lineChart.getData().clear();
 
         // Set chart title
@@ -584,9 +1401,46 @@ public class MainController implements Initializable {
         lineChart.setTitle(title);
         String xAxisGroup = xAxisCombo.getSelectionModel().getSelectedItem();
 
-        // Setup time axis formatting if Time is selected
-        setupTimeAxisFormatting(xAxisGroup);
+        updateAxisLabels(xAxisGroup);
+
+        // Create series for each selected Y column
+        plottedSeries.clear();
+        List<XYChart.Series<Number, Number>> allSeries = new ArrayList<>();
+        for (String yColumn : selectedYColumns) {
+            PlottedSeries plotted = buildPlottedSeries(yColumn, xAxisGroup);
+            plottedSeries.put(yColumn, plotted);
+            allSeries.add(plotted.series);
+        }
+
+        // Set proper axis scaling (starting from 0,0)
+        fitAxesToSeries(true);
+
+        // Add all series to chart (this assigns their default-colorN style classes), then fill
+        // them for the current chart width and X range. Line and symbol appearance comes from
+        // those per-series classes in styles.css, so nothing is styled per point here.
+        lineChart.getData().addAll(allSeries);
+        resampleSeries();
+        if (!LOG_GRAPH_TIMING) return;
+
+        // Lay out now rather than on the next pulse so the measurement covers symbol creation
+        lineChart.applyCss();
+        lineChart.layout();
+        System.out.printf("Graph: %d rows x %d series (%s) in %.1f ms on the FX thread, %.1f MB allocated%n",
+                dataset.size(), plottedSeries.size(),
+                canvasRenderer.isEmpty() ? sampledPointCount() + " chart points" : "canvas",
+                (System.nanoTime() - startNanos) / 1e6, (allocatedBytes() - startBytes) / (1024.0 * 1024.0));
+    }
 
+    /** Bytes allocated so far by the calling thread, or 0 if the JVM does not track it. */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private void updateAxisLabels(String xAxisGroup) {
         // Update X-axis label with proper unit
         String xUnit = columnUnits.get(xAxisGroup);
         if (xUnit == null) {
@@ -620,335 +1474,497 @@ public class MainController implements Initializable {
         } else {
             yAxis.setLabel(currentYLabel);
         }
+    }
 
-        // Create series for each selected Y column
-        String[] colors = {"#FF0000", "#0000FF", "#008000", "#FFA500", "#800080",
-                "#00FFFF", "#FF00FF", "#A52A2A", "#808080", "#000000"};
-        int colorIndex = 0;
+    /**
+     * Full-resolution x/y data of one Y column against the selected X group.
+     * The returned series has no chart points yet, see resampleSeries().
+     */
+    private PlottedSeries buildPlottedSeries(String yColumn, String xAxisGroup) {
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        String yUnit = columnUnits.get(yColumn);
+        String seriesName = yColumn + (yUnit != null ? " (" + yUnit + ")" : "");
+        series.setName(seriesName);
+
+        // Resolve the columns once; X follows the mono/poly side of the Y column for grouped choices
+        ColumnAccessor xAccessor = ColumnAccessor.forXAxis(dataset, xAxisGroup, yColumn);
+        ColumnAccessor yAccessor = ColumnAccessor.forColumn(dataset, yColumn);
+        PlottedSeries plotted = new PlottedSeries(series, dataset.size(),
+                xAccessor != null ? xAccessor : ColumnAccessor.ROW_NUMBER, yAccessor);
+        if (yAccessor == null) return plotted; // Not a channel of this dataset: nothing to plot
+
+        // Collect the full series; only a downsampled subset becomes chart nodes
+        for (int i = 0; i < dataset.size(); i++) {
+            plotted.add(i, plotted.xAccessor.get(dataset, i), yAccessor.get(dataset, i));
+        }
+        return plotted;
+    }
 
+    /**
+     * Scale the axes to the union of all plotted series. Unless forced, the
+     * axes are only touched when that union actually changed, so edits that
+     * stay within the current range leave user zoom and Y start alone.
+     */
+    private void fitAxesToSeries(boolean force) {
         // Store min/max values for proper scaling
         double xMin = Double.MAX_VALUE;
         double xMax = Double.MIN_VALUE;
         double yMin = Double.MAX_VALUE;
         double yMax = Double.MIN_VALUE;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            if (plotted.count == 0) continue;
+            xMin = Math.min(xMin, plotted.xMin());
+            xMax = Math.max(xMax, plotted.xMax());
+            yMin = Math.min(yMin, plotted.yMin());
+            yMax = Math.max(yMax, plotted.yMax());
+        }
 
-        List<XYChart.Series<Number, Number>> allSeries = new ArrayList<>();
+        double[] bounds = {xMin, xMax, yMin, yMax};
+        if (force || !Arrays.equals(bounds, fittedBounds)) {
+            fittedBounds = bounds;
+            setAxisScaling(xMin, xMax, yMin, yMax);
+        }
+    }
 
-        for (String yColumn : selectedYColumns) {
-            XYChart.Series<Number, Number> series = new XYChart.Series<>();
-            String yUnit = columnUnits.get(yColumn);
-            String seriesName = yColumn + (yUnit != null ? " (" + yUnit + ")" : "");
-            series.setName(seriesName);
-
-            // Inside generateGraph() method, when creating points:
-            for (int i = 0; i < dataPoints.size(); i++) {
-                SolarDataPoint point = dataPoints.get(i);
-                // Use grouped X-value based on Y-column type
-                Number xValue = getGroupedXValue(point, xAxisGroup, yColumn, i);
-                Number yValue = getNumericColumnValue(point, yColumn);
-
-                if (xValue != null && yValue != null) {
-                    double xDouble = xValue.doubleValue();
-                    double yDouble = yValue.doubleValue();
-
-                    // Update min/max values
-                    xMin = Math.min(xMin, xDouble);
-                    xMax = Math.max(xMax, xDouble);
-                    yMin = Math.min(yMin, yDouble);
-                    yMax = Math.max(yMax, yDouble);
-
-                    XYChart.Data<Number, Number> dataPoint = new XYChart.Data<>(xValue, yValue);
-                    series.getData().add(dataPoint);
-
-                    // CRITICAL: Add point index to track position
-                    dataPoint.setExtraValue(i);
-
-                    // Style the point when node is created
-                    int finalColorIndex = colorIndex;
-                    dataPoint.nodeProperty().addListener((obs, oldNode, newNode) -> {
-                        if (newNode != null) {
-                            // Force immediate positioning
-                            Platform.runLater(() -> {
-                                // Calculate exact position
-                                double xPos = xAxis.getDisplayPosition(xValue);
-                                double yPos = yAxis.getDisplayPosition(yValue);
-
-                                // Set exact position
-                                newNode.setTranslateX(0);
-                                newNode.setTranslateY(0);
-
-                                // Style without affecting position
-                                newNode.setStyle(
-                                        "-fx-background-color: " + colors[finalColorIndex] + ", white; " +
-                                                "-fx-background-radius: 4; " +
-                                                "-fx-background-insets: 0, 2; " +
-                                                "-fx-padding: 4px;"
-                                );
-                            });
-                        }
-                    });
-                }
+    /**
+     * Push an edit of one table row into the chart: only the affected points
+     * move, and the axes are refitted only if a series' range changed.
+     */
+    private void updateChartRow(int row) {
+        if (plottedSeries.isEmpty()) return;
+
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            int index = plotted.indexOfRow(row);
+            if (index < 0) continue; // Row not plotted for this column
+
+            double xValue = plotted.xAccessor.get(dataset, row);
+            double yValue = plotted.yAccessor.get(dataset, row);
+            boolean wasAscending = plotted.ascending;
+            plotted.set(index, xValue, yValue);
+            if (wasAscending && !plotted.ascending && !canvasRenderer.isEmpty()) {
+                requestResample(false); // Canvas layers were added as ascending
             }
 
-            allSeries.add(series);
+            if (canvasRenderer.isEmpty()) {
+                // Points hidden by downsampling are inserted so the edit is visible
+                ObservableList<XYChart.Data<Number, Number>> points = plotted.series.getData();
+                int position = indexOfRow(points, row);
+                if (position >= 0) {
+                    points.get(position).setXValue(xValue);
+                    points.get(position).setYValue(yValue);
+                } else {
+                    points.add(-position - 1, createDataPoint(xValue, yValue, row));
+                }
+            }
+        }
 
-            // Apply color to the series (transparent line, colored points)
-            if (colorIndex < colors.length) {
-                final String color = colors[colorIndex];
+        fitAxesToSeries(false);
+        canvasRenderer.requestRedraw();
+    }
 
-                // MODIFICATION 3: Make line transparent, only show points
-                series.nodeProperty().addListener((obs, oldNode, newNode) -> {
-                    if (newNode != null) {
-                        // Set line to be completely transparent
-                        newNode.setStyle("-fx-stroke: transparent; -fx-stroke-width: 0;");
-                    }
-                });
-
-                // Style the symbols (points)
-                Platform.runLater(() -> {
-                    for (XYChart.Data<Number, Number> data : series.getData()) {
-                        Node node = data.getNode();
-                        if (node != null) {
-                            node.setStyle("-fx-background-color: " + color + ", white; " +
-                                    "-fx-background-radius: 4; " +
-                                    "-fx-background-insets: 0, 2; " +
-                                    "-fx-padding: 4px;");
-                            node.setScaleX(1.5);
-                            node.setScaleY(1.5);
-                        }
-                    }
-                });
+    /**
+     * After points were added to or removed from the plotted series in place:
+     * point the canvas layers at the series' arrays, refit the axes if the
+     * data range changed, and resample only if the point count crossed the
+     * canvas threshold.
+     */
+    private void plottedPointsChanged() {
+        if (plottedSeries.isEmpty()) return;
+        long totalPoints = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            totalPoints += plotted.count;
+        }
+        boolean canvas = !canvasRenderer.isEmpty();
+        if (canvas != CanvasPlotRenderer.useCanvas(rendererCombo.getValue(), totalPoints)) {
+            requestResample(false);
+        } else if (canvas) {
+            int layer = 0;
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                canvasRenderer.updateSeries(layer++, plotted.x, plotted.y, plotted.count, plotted.ascending);
             }
-            colorIndex = (colorIndex + 1) % colors.length;
         }
+        fitAxesToSeries(false);
+        canvasRenderer.requestRedraw();
+    }
 
-        // Add all series to chart
-        lineChart.getData().addAll(allSeries);
+    /** Binary search of chart points by their row (extra value); points are kept in row order. */
+    private static int indexOfRow(List<XYChart.Data<Number, Number>> points, int row) {
+        int low = 0;
+        int high = points.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midRow = (Integer) points.get(mid).getExtraValue();
+            if (midRow < row) low = mid + 1;
+            else if (midRow > row) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
 
-        // Set proper axis scaling (starting from 0,0)
-        setAxisScaling(xMin, xMax, yMin, yMax);
+    /** Add or remove the series of one Y column without rebuilding the others. */
+    private void toggleSeries(String yColumn, boolean selected) {
+        if (plottedSeries.isEmpty()) {
+            generateGraph(); // Nothing plotted yet
+            return;
+        }
 
-        // Setup layout listener for precise positioning
-        setupChartLayoutListener();
+        String xAxisGroup = xAxisCombo.getSelectionModel().getSelectedItem();
+        boolean wasCanvas = !canvasRenderer.isEmpty();
+        if (selected) {
+            if (plottedSeries.containsKey(yColumn)) return;
+            PlottedSeries plotted = buildPlottedSeries(yColumn, xAxisGroup);
+            plottedSeries.put(yColumn, plotted);
+            lineChart.getData().add(plotted.series);
+        } else {
+            PlottedSeries plotted = plottedSeries.remove(yColumn);
+            if (plotted == null) return;
+            lineChart.getData().remove(plotted.series);
+        }
 
-        // Apply enhanced styling
-        applyEnhancedChartStyling();
-        applyYAxisLabelMargins();
-        styleYAxisLabel();
-        adjustChartPadding();
+        updateAxisLabels(xAxisGroup);
+        fitAxesToSeries(false);
 
-        // Force initial layout
-        Platform.runLater(() -> {
-            lineChart.requestLayout();
-        });
+        long totalPoints = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            totalPoints += plotted.count;
+        }
+        if (wasCanvas || CanvasPlotRenderer.useCanvas(rendererCombo.getValue(), totalPoints)) {
+            resampleSeries(); // Canvas layers are cheap to rebuild, and the renderer choice may flip
+        } else if (selected) {
+            fillSeries(plottedSeries.get(yColumn));
+        }
     }
 
+    /** Points per series to aim for: about two per horizontal pixel of the chart. */
+    private int targetPointCount() {
+        double width = lineChart.getWidth() > 0 ? lineChart.getWidth() : lineChart.getMinWidth();
+        return Math.max(MIN_SAMPLED_POINTS, 2 * (int) width);
+    }
 
     /**
-     * Get numeric value for X-axis - convert time to minutes for proper plotting
+     * Rebuild the chart nodes of every plotted series from its full data,
+     * downsampled to the chart width and limited to the visible X range.
+     * Runs after generateGraph(), on resize and when the X range changes.
      */
-    private Number getNumericXValue(SolarDataPoint point, String columnName, int index) {
-        if ("Time".equals(columnName)) {
-            // Convert time string "HH:mm" to total minutes
-            String time = point.getTime();
-            if (time != null && time.matches("^([0-1]?[0-9]|2[0-3]):[0-5][0-9]$")) {
-                String[] parts = time.split(":");
-                int hours = Integer.parseInt(parts[0]);
-                int minutes = Integer.parseInt(parts[1]);
-                return (double) (hours * 60 + minutes);
-            }
-        }
-
-        // For other columns, use the actual numeric value
-        switch (columnName) {
-            case "Solar Radiation": return point.getSolarRadiation();
-            case "V_mono": return point.getVMono();
-            case "V_poly": return point.getVPoly();
-            case "I_mono": return point.getIMono();
-            case "I_poly": return point.getIPoly();
-            case "P_mono": return point.getPMono();
-            case "P_poly": return point.getPPoly();
-            case "Eff_mono": return point.getEffMono();
-            case "Eff_poly": return point.getEffPoly();
-            case "RH": return point.getRh();
-            case "Panel Temp Mono": return point.getPanelTempMono();
-            case "Panel Temp Poly": return point.getPanelTempPoly();
-            case "Ambient Temp": return point.getAmbientTemp();
-            case "Wind Speed": return point.getWindSpeed();
-            default: return (double) index; // Fallback to index
+    private void resampleSeries() {
+        canvasRenderer.clear();
+        if (plottedSeries.isEmpty()) return;
+
+        long totalPoints = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            totalPoints += plotted.count;
+        }
+        CanvasPlotRenderer.Mode renderMode = rendererCombo.getValue() != null ?
+                rendererCombo.getValue() : CanvasPlotRenderer.Mode.AUTO;
+        if (CanvasPlotRenderer.useCanvas(renderMode, totalPoints)) {
+            // Canvas draws every point; the chart series stay empty but keep axes and legend
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                plotted.series.getData().clear();
+                canvasRenderer.addSeries(plotted.x, plotted.y, plotted.count, seriesColor(plotted.series), plotted.ascending);
+            }
+            canvasRenderer.requestRedraw();
+            return;
+        }
+
+        sampledTarget = targetPointCount();
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            fillSeries(plotted);
         }
     }
 
-    /**
-     * Set proper axis scaling from min to max values
-     */
-    private void setAxisScaling(double xMin, double xMax, double yMin, double yMax) {
-        if (xMin == Double.MAX_VALUE || xMax == Double.MIN_VALUE ||
-                yMin == Double.MAX_VALUE || yMax == Double.MIN_VALUE) {
-            xAxis.setAutoRanging(true);
-            yAxis.setAutoRanging(true);
-            return;
+    /** Replace the chart points of one series with a fresh sample of its full data. */
+    private void fillSeries(PlottedSeries plotted) {
+        Downsampler.Mode mode = downsampleCombo.getValue() != null ?
+                downsampleCombo.getValue() : Downsampler.Mode.LTTB;
+        int target = sampledTarget > 0 ? sampledTarget : targetPointCount();
+        boolean windowed = !xAxis.isAutoRanging();
+        int[] rows = windowed ? plotted.sample(mode, target, xAxis.getLowerBound(), xAxis.getUpperBound())
+                : plotted.sample(mode, target, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(rows.length);
+        for (int index : rows) {
+            points.add(createDataPoint(plotted.x[index], plotted.y[index], plotted.rows[index]));
         }
+        plotted.series.getData().setAll(points);
+    }
 
-        // Get current X-axis selection
-        String currentXGroup = xAxisCombo.getSelectionModel().getSelectedItem();
+    private int sampledPointCount() {
+        int count = 0;
+        for (PlottedSeries plotted : plottedSeries.values()) {
+            count += plotted.series.getData().size();
+        }
+        return count;
+    }
 
-        // CRITICAL FIX: Always start Time from 00:00 (0 minutes)
-        if ("Time".equals(currentXGroup)) {
-            xAxis.setAutoRanging(false);
+    private XYChart.Data<Number, Number> createDataPoint(double x, double y, int row) {
+        XYChart.Data<Number, Number> dataPoint = new XYChart.Data<>(x, y);
 
-            // Time always starts from 00:00 (0 minutes)
-            double xLowerBound = 0; // ALWAYS 0 for Time
+        // CRITICAL: Add point index to track position
+        dataPoint.setExtraValue(row);
+        return dataPoint;
+    }
 
-            // Calculate appropriate upper bound
-            double xUpperBound = xMax;
+    /** Color of the default-colorN class the chart gave this series, for the canvas renderer. */
+    private static Color seriesColor(XYChart.Series<Number, Number> series) {
+        return Color.web(seriesColorHex(series));
+    }
 
-            // Add padding based on time range
-            double timeRange = xMax - xLowerBound;
-            double timePadding;
+    private static String seriesColorHex(XYChart.Series<Number, Number> series) {
+        String[] colors = VectorExporter.SERIES_COLORS;
+        Node node = series.getNode();
+        if (node != null) {
+            for (String styleClass : node.getStyleClass()) {
+                if (styleClass.startsWith("default-color")) {
+                    int index = Integer.parseInt(styleClass.substring("default-color".length()));
+                    return colors[index % colors.length];
+                }
+            }
+        }
+        return colors[0];
+    }
 
-            if (timeRange <= 60) { // Less than 1 hour
-                timePadding = 15; // 15 minutes padding
-            } else if (timeRange <= 240) { // Up to 4 hours
-                timePadding = 30; // 30 minutes padding
-            } else {
-                timePadding = 60; // 1 hour padding
+    /**
+     * Full-resolution data behind one chart series. The chart itself only
+     * ever holds the downsampled points produced by {@link #sample}. While x
+     * ascends (Time over time-ordered rows) a {@link LodPyramid} is built on
+     * the first zoomed sample and serves every later window.
+     */
+    private static class PlottedSeries {
+        final XYChart.Series<Number, Number> series;
+        final ColumnAccessor xAccessor;
+        final ColumnAccessor yAccessor;
+        double[] x;
+        double[] y;
+        int[] rows;
+        int count;
+        boolean ascending = true;
+        private LodPyramid pyramid;
+        private MinMaxTree xRange; // Extents, built on first use and then kept up to date
+        private MinMaxTree yRange;
+
+        PlottedSeries(XYChart.Series<Number, Number> series, int capacity, ColumnAccessor xAccessor, ColumnAccessor yAccessor) {
+            this.series = series;
+            this.xAccessor = xAccessor;
+            this.yAccessor = yAccessor;
+            this.x = new double[Math.max(capacity, 1)];
+            this.y = new double[x.length];
+            this.rows = new int[x.length];
+        }
+
+        /** Add the point of a table row; rows missing a value (NaN, see MergedImporter) are left out. */
+        void add(int row, double xValue, double yValue) {
+            if (Double.isNaN(xValue) || Double.isNaN(yValue)) return;
+            if (count == x.length) {
+                int capacity = count + (count >> 1) + 1;
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                rows = Arrays.copyOf(rows, capacity);
             }
+            if (count > 0 && !(xValue >= x[count - 1])) ascending = false;
+            x[count] = xValue;
+            y[count] = yValue;
+            rows[count] = row;
+            count++;
+            if (!ascending) {
+                pyramid = null;
+            } else if (pyramid != null) {
+                pyramid.extend(x, y, count);
+            }
+            if (xRange != null) {
+                xRange.append(xValue);
+                yRange.append(yValue);
+            }
+        }
 
-            xUpperBound = xMax + timePadding;
+        /** Position of a table row in x/y/rows (rows are added in ascending order), or negative. */
+        int indexOfRow(int row) {
+            return Arrays.binarySearch(rows, 0, count, row);
+        }
 
-            // Set bounds
-            xAxis.setLowerBound(xLowerBound);
-            xAxis.setUpperBound(xUpperBound);
+        void set(int index, double xValue, double yValue) {
+            x[index] = xValue;
+            y[index] = yValue;
+            if ((index > 0 && !(xValue >= x[index - 1])) || (index + 1 < count && !(x[index + 1] >= xValue))) {
+                ascending = false;
+            }
+            if (!ascending) {
+                pyramid = null;
+            } else if (pyramid != null) {
+                pyramid.update(index);
+            }
+            if (xRange != null) {
+                xRange.set(index, xValue);
+                yRange.set(index, yValue);
+            }
+        }
 
-            // Set appropriate tick unit for Time
-            double tickUnit;
-            if (timeRange <= 60) {
-                tickUnit = 15; // 15-minute intervals
-            } else if (timeRange <= 240) {
-                tickUnit = 30; // 30-minute intervals
-            } else {
-                tickUnit = 60; // 1-hour intervals
-            }
-            xAxis.setTickUnit(tickUnit);
-
-            // Set Time formatter
-            xAxis.setTickLabelFormatter(new StringConverter<Number>() {
-                @Override
-                public String toString(Number object) {
-                    int totalMinutes = object.intValue();
-                    int hours = totalMinutes / 60;
-                    int minutes = totalMinutes % 60;
-                    return String.format("%02d:%02d", hours, minutes);
+        /**
+         * Table row {@code row} was removed: drop its point, if it has one, and
+         * renumber the rows after it. The pyramid and extents are updated in
+         * place; the point arrays shift as the dataset's columns do.
+         */
+        void removeRow(int row) {
+            int index = indexOfRow(row);
+            int next = index >= 0 ? index : -index - 1;
+            if (index >= 0) {
+                int tail = count - index - 1;
+                System.arraycopy(x, index + 1, x, index, tail);
+                System.arraycopy(y, index + 1, y, index, tail);
+                System.arraycopy(rows, index + 1, rows, index, tail);
+                count--;
+                if (pyramid != null) pyramid.remove(index);
+                if (xRange != null) {
+                    xRange.remove(index);
+                    yRange.remove(index);
                 }
+            }
+            for (int i = next; i < count; i++) {
+                rows[i]--;
+            }
+        }
 
-                @Override
-                public Number fromString(String string) {
-                    try {
-                        String[] parts = string.split(":");
-                        int hours = Integer.parseInt(parts[0]);
-                        int minutes = Integer.parseInt(parts[1]);
-                        return hours * 60 + minutes;
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            });
+        double xMin() { return xRange().getMin(); }
 
-        } else {
-            // For numerical (non-Time) axes
-            xAxis.setAutoRanging(false);
+        double xMax() { return xRange().getMax(); }
 
-            // Add small padding (5% of range)
-            double xRange = xMax - xMin;
-            double xPadding = Math.max(xRange * 0.05, 0.1);
+        double yMin() { return yRange().getMin(); }
 
-            double xLowerBound;
-            // For positive values, start from 0
-            if (xMin >= 0) {
-                xLowerBound = 0; // Start from 0 for positive values
-            } else {
-                xLowerBound = xMin - xPadding; // Negative values get padding
-            }
+        double yMax() { return yRange().getMax(); }
 
-            double xUpperBound = xMax + xPadding;
+        private MinMaxTree xRange() {
+            if (xRange == null) {
+                xRange = new MinMaxTree(x, count);
+                yRange = new MinMaxTree(y, count);
+            }
+            return xRange;
+        }
 
-            xAxis.setLowerBound(xLowerBound);
-            xAxis.setUpperBound(xUpperBound);
+        private MinMaxTree yRange() {
+            xRange();
+            return yRange;
+        }
 
-            // Set appropriate tick unit
-            double tickUnit = Math.max(xRange / 10, 0.1);
-            tickUnit = getNiceTickUnit(tickUnit);
-            xAxis.setTickUnit(tickUnit);
+        /** Indices into x/y/rows of the points to draw within [lower, upper]. */
+        int[] sample(Downsampler.Mode mode, int target, double lower, double upper) {
+            if (ascending && (lower > xMin() || upper < xMax())) {
+                return sampleWindow(mode, target, lower, upper);
+            }
 
-            // Reset formatter for numerical axes
-            xAxis.setTickLabelFormatter(new StringConverter<Number>() {
-                @Override
-                public String toString(Number object) {
-                    return String.format("%.1f", object.doubleValue());
-                }
+            int[] window = new int[count];
+            int visible = 0;
+            for (int i = 0; i < count; i++) {
+                if (x[i] >= lower && x[i] <= upper) window[visible++] = i;
+            }
+            if (visible == count) {
+                return Downsampler.downsample(mode, x, y, count, target);
+            }
 
-                @Override
-                public Number fromString(String string) {
-                    try {
-                        return Double.parseDouble(string);
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                }
-            });
+            double[] windowX = new double[visible];
+            double[] windowY = new double[visible];
+            for (int i = 0; i < visible; i++) {
+                windowX[i] = x[window[i]];
+                windowY[i] = y[window[i]];
+            }
+            int[] selected = Downsampler.downsample(mode, windowX, windowY, visible, target);
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = window[selected[i]];
+            }
+            return selected;
         }
 
-        // Y-axis scaling - ALWAYS start from 0 for positive values
-        yAxis.setAutoRanging(false);
-        double yRange = yMax - yMin;
-        double yPadding = Math.max(yRange * 0.05, 0.1);
-
-        double yLowerBound;
+        /**
+         * Zoomed sample of an ascending series: the pyramid hands back a few
+         * min/max candidates per pixel whatever the window size, and LTTB (if
+         * selected) picks among those, so the cost follows the chart width.
+         */
+        private int[] sampleWindow(Downsampler.Mode mode, int target, double lower, double upper) {
+            if (pyramid == null) {
+                pyramid = new LodPyramid(x, y, count);
+            }
+            if (mode == Downsampler.Mode.NONE) {
+                return pyramid.query(lower, upper, Integer.MAX_VALUE);
+            }
+            int[] candidates = pyramid.query(lower, upper, mode == Downsampler.Mode.LTTB ? 4 * target : target);
+            if (mode != Downsampler.Mode.LTTB || candidates.length <= target) {
+                return candidates;
+            }
 
-        // First check if user specified a Y-start value
-        try {
-            double yStart = Double.parseDouble(yAxisStartField.getText());
-            yLowerBound = yStart;
-        } catch (NumberFormatException e) {
-            // For positive values, ALWAYS start from 0
-            if (yMin >= 0) {
-                yLowerBound = 0; // ALWAYS start from 0 for positive values
-            } else {
-                yLowerBound = yMin - yPadding; // Negative values get padding
+            double[] candidateX = new double[candidates.length];
+            double[] candidateY = new double[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                candidateX[i] = x[candidates[i]];
+                candidateY[i] = y[candidates[i]];
             }
+            int[] selected = Downsampler.lttb(candidateX, candidateY, candidates.length, target);
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = candidates[selected[i]];
+            }
+            return selected;
         }
+    }
 
-        yAxis.setLowerBound(yLowerBound);
-        yAxis.setUpperBound(yMax + yPadding);
+    /**
+     * Set proper axis scaling from min to max values
+     */
+    private void setAxisScaling(double xMin, double xMax, double yMin, double yMax) {
+        if (xMin == Double.MAX_VALUE || xMax == Double.MIN_VALUE ||
+                yMin == Double.MAX_VALUE || yMax == Double.MIN_VALUE) {
+            xAxis.setAutoRanging(true);
+            yAxis.setAutoRanging(true);
+            return;
+        }
 
-        // Set appropriate Y tick unit
-        double yTickUnit = Math.max(yRange / 10, 0.1);
-        yTickUnit = getNiceTickUnit(yTickUnit);
-        yAxis.setTickUnit(yTickUnit);
-    }
+        // Get current X-axis selection
+        String currentXGroup = xAxisCombo.getSelectionModel().getSelectedItem();
 
-    // Helper method to get nice tick units (1, 2, 5, 10, 20, 50, etc.)
-    private double getNiceTickUnit(double roughTick) {
-        double exponent = Math.floor(Math.log10(roughTick));
-        double fraction = roughTick / Math.pow(10, exponent);
+        // CRITICAL FIX: Always start Time from 00:00 (0 minutes)
+        AxisScale xScale = "Time".equals(currentXGroup) ?
+                AxisScale.forTime(xMin, xMax) : AxisScale.forValues(xMin, xMax);
+        applyXScale(xScale);
 
-        double niceFraction;
-        if (fraction <= 1.5) {
-            niceFraction = 1;
-        } else if (fraction <= 3) {
-            niceFraction = 2;
-        } else if (fraction <= 7) {
-            niceFraction = 5;
-        } else {
-            niceFraction = 10;
+        // Y-axis scaling - ALWAYS start from 0 for positive values, unless the user specified a Y-start value
+        double yStart;
+        try {
+            yStart = Double.parseDouble(yAxisStartField.getText());
+        } catch (NumberFormatException e) {
+            yStart = Double.NaN;
         }
-
-        return niceFraction * Math.pow(10, exponent);
+        AxisScale yScale = AxisScale.forValues(yMin, yMax, yStart);
+        yAxis.setAutoRanging(false);
+        yAxis.setLowerBound(yScale.getLower());
+        yAxis.setUpperBound(yScale.getUpper());
+        yAxis.setTickUnit(yScale.getTickUnit());
     }
 
 
 
+    /** Bounds, tick unit and tick labels of the X axis from one {@link AxisScale}. */
+    private void applyXScale(AxisScale xScale) {
+        xAxis.setAutoRanging(false);
+        xAxis.setLowerBound(xScale.getLower());
+        xAxis.setUpperBound(xScale.getUpper());
+        xAxis.setTickUnit(xScale.getTickUnit());
+        xAxis.setTickLabelFormatter(new StringConverter<Number>() {
+            @Override
+            public String toString(Number object) {
+                return xScale.format(object.doubleValue());
+            }
+
+            @Override
+            public Number fromString(String string) {
+                try {
+                    if (xScale.isTime()) {
+                        int minutes = SolarDataset.parseTime(string);
+                        return minutes != SolarDataset.INVALID_TIME ? minutes : 0;
+                    }
+                    return Double.parseDouble(string);
+                } catch (Exception e) {
+                    return 0;
+                }
+            }
+        });
+    }
+
     private String buildGraphTitle() {
         StringBuilder title = new StringBuilder("Solar Data Analysis");
 
@@ -977,92 +1993,14 @@ public class MainController implements Initializable {
     }
 
 
-    private Number getNumericColumnValue(SolarDataPoint point, String columnName) {
-        switch (columnName) {
-            case "Solar Radiation": return point.getSolarRadiation();
-            case "V_mono": return point.getVMono();
-            case "V_poly": return point.getVPoly();
-            case "I_mono": return point.getIMono();
-            case "I_poly": return point.getIPoly();
-            case "P_mono": return point.getPMono();
-            case "P_poly": return point.getPPoly();
-            case "Eff_mono": return point.getEffMono();
-            case "Eff_poly": return point.getEffPoly();
-            case "RH": return point.getRh();
-            case "Panel Temp Mono": return point.getPanelTempMono();
-            case "Panel Temp Poly": return point.getPanelTempPoly();
-            case "Ambient Temp": return point.getAmbientTemp();
-            case "Wind Speed": return point.getWindSpeed();
-            default: return null;
-        }
-    }
-
-    /**
-     * Set up time formatting for X-axis when Time is selected
-     */
-    private void setupTimeAxisFormatting(String xAxisColumn) {
-        if ("Time".equals(xAxisColumn)) {
-            xAxis.setTickLabelFormatter(new StringConverter<Number>() {
-                @Override
-                public String toString(Number object) {
-                    int totalMinutes = object.intValue();
-                    int hours = totalMinutes / 60;
-                    int minutes = totalMinutes % 60;
-                    return String.format("%02d:%02d", hours, minutes);
-                }
-
-                @Override
-                public Number fromString(String string) {
-                    // Convert time string back to minutes
-                    if (string != null && string.matches("^([0-1]?[0-9]|2[0-3]):[0-5][0-9]$")) {
-                        String[] parts = string.split(":");
-                        int hours = Integer.parseInt(parts[0]);
-                        int minutes = Integer.parseInt(parts[1]);
-                        return hours * 60 + minutes;
-                    }
-                    return 0;
-                }
-            });
-        } else {
-            // Reset to default numeric formatting for other columns
-            xAxis.setTickLabelFormatter(new StringConverter<Number>() {
-                @Override
-                public String toString(Number object) {
-                    return String.format("%.1f", object.doubleValue());
-                }
-
-                @Override
-                public Number fromString(String string) {
-                    try {
-                        return Double.parseDouble(string);
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                }
-            });
-        }
-    }
-
     private void applyEnhancedChartStyling() {
-        // MODIFICATION 3: Hide lines, show only points
+        // MODIFICATION 3: Hide lines, show only points (.chart-series-line / .chart-line-symbol in styles.css)
         lineChart.setStyle("-fx-background-color: white; -fx-border-color: #2c3e50; " +
                 "-fx-border-width: 2; -fx-border-radius: 5; -fx-background-radius: 5;");
         lineChart.setLegendVisible(true);
         lineChart.setAnimated(false);
         lineChart.setCreateSymbols(true);  // Ensure symbols are created
 
-        // Make lines transparent
-        lineChart.lookupAll(".chart-series-line").forEach(node ->
-                node.setStyle("-fx-stroke: transparent; -fx-stroke-width: 0;")
-        );
-
-        // Make symbols larger
-        lineChart.lookupAll(".chart-line-symbol").forEach(node -> {
-            node.setStyle("-fx-background-radius: 5; -fx-padding: 5px;");
-            node.setScaleX(1.5);
-            node.setScaleY(1.5);
-        });
-
         // Enhanced styling
         lineChart.lookup(".chart-plot-background").setStyle(
                 "-fx-background-color: transparent; -fx-border-color: #bdc3c7; -fx-border-width: 1;"
@@ -1083,18 +2021,89 @@ public class MainController implements Initializable {
     // Simple zoom methods for NumberAxis
     @FXML
     private void handleZoomIn() {
-        // You can implement zoom by adjusting axis bounds
-        updateStatus("Use mouse scroll to zoom on NumberAxis");
+        zoomXAxis(0.5);
     }
 
     @FXML
     private void handleZoomOut() {
-        updateStatus("Use mouse scroll to zoom on NumberAxis");
+        zoomXAxis(2.0);
     }
 
+    /** Scale the visible X range around its centre, then fit Y to the data in view. */
+    private void zoomXAxis(double factor) {
+        if (plottedSeries.isEmpty()) {
+            updateStatus("Generate a graph before zooming");
+            return;
+        }
+
+        double center = (xAxis.getLowerBound() + xAxis.getUpperBound()) / 2;
+        double halfRange = (xAxis.getUpperBound() - xAxis.getLowerBound()) / 2 * factor;
+        setXWindow(center - halfRange, center + halfRange, true);
+        updateStatus(factor < 1 ? "Zoomed in" : "Zoomed out");
+    }
+
+    /**
+     * Fit the Y axis to the plotted data inside the visible X range. With a
+     * sorted Time axis the window maps to a row range by binary search and
+     * each channel's min/max comes from its segment tree in O(log n). Unsorted
+     * times go through the dataset's time index, so only rows in view are
+     * read; other X groups are not ordered by row, so their plotted points
+     * are scanned.
+     */
+    private void fitYAxisToVisibleRange() {
+        double lower = xAxis.getLowerBound();
+        double upper = xAxis.getUpperBound();
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+
+        String xAxisGroup = xAxisCombo.getSelectionModel().getSelectedItem();
+        if ("Time".equals(xAxisGroup) && dataset.isTimeSorted()) {
+            int[] rows = dataset.rowRange((int) Math.ceil(lower), (int) Math.floor(upper));
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                if (plotted.yAccessor == null) continue;
+                ChannelStatistics stats = dataset.getStatistics(plotted.yAccessor.getChannelIndex());
+                yMin = Math.min(yMin, stats.getMin(rows[0], rows[1]));
+                yMax = Math.max(yMax, stats.getMax(rows[0], rows[1]));
+            }
+        } else if ("Time".equals(xAxisGroup)) {
+            int[] rows = dataset.rowsInTimeRange((int) Math.ceil(lower), (int) Math.floor(upper));
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                if (plotted.yAccessor == null) continue;
+                double[] values = dataset.getColumn(plotted.yAccessor.getChannelIndex());
+                for (int row : rows) {
+                    if (Double.isNaN(values[row])) continue;
+                    yMin = Math.min(yMin, values[row]);
+                    yMax = Math.max(yMax, values[row]);
+                }
+            }
+        } else {
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                for (int i = 0; i < plotted.count; i++) {
+                    if (plotted.x[i] >= lower && plotted.x[i] <= upper) {
+                        yMin = Math.min(yMin, plotted.y[i]);
+                        yMax = Math.max(yMax, plotted.y[i]);
+                    }
+                }
+            }
+        }
+        if (yMin > yMax) return; // Nothing in view
+
+        double yPadding = Math.max((yMax - yMin) * 0.05, 0.1);
+        yAxis.setAutoRanging(false);
+        yAxis.setLowerBound(yMin - yPadding);
+        yAxis.setUpperBound(yMax + yPadding);
+        yAxis.setTickUnit(AxisScale.niceTickUnit(Math.max((yMax - yMin) / 10, 0.1)));
+    }
+
+    /** Back to the axes fitted to the whole data; the plotted series are kept. */
     @FXML
     private void handleResetZoom() {
-        generateGraph(); // Regenerate to reset scaling
+        if (plottedSeries.isEmpty() || fittedBounds == null) {
+            updateStatus("Generate a graph before zooming");
+            return;
+        }
+        setAxisScaling(fittedBounds[0], fittedBounds[1], fittedBounds[2], fittedBounds[3]);
+        resampleSeries();
         updateStatus("View reset to default scaling");
     }
 
@@ -1133,37 +2142,32 @@ public class MainController implements Initializable {
             // Get current X-axis selection
             String currentXGroup = xAxisCombo.getSelectionModel().getSelectedItem();
 
-            // Calculate min/max for auto-scaling
+            // Calculate min/max for auto-scaling: Y from the channel statistics (O(1) per
+            // column), X from the bounds the plotted series already track
             double xMin = Double.MAX_VALUE;
             double xMax = Double.MIN_VALUE;
             double yMin = Double.MAX_VALUE;
             double yMax = Double.MIN_VALUE;
 
             for (String yColumn : selectedYColumns) {
-                for (int i = 0; i < dataPoints.size(); i++) {
-                    SolarDataPoint point = dataPoints.get(i);
-                    Number xValue = getGroupedXValue(point, currentXGroup, yColumn, i);
-                    Number yValue = getNumericColumnValue(point, yColumn);
-
-                    if (xValue != null && yValue != null) {
-                        xMin = Math.min(xMin, xValue.doubleValue());
-                        xMax = Math.max(xMax, xValue.doubleValue());
-                        yMin = Math.min(yMin, yValue.doubleValue());
-                        yMax = Math.max(yMax, yValue.doubleValue());
-                    }
-                }
+                int channel = dataset.findChannel(yColumn);
+                if (!dataset.hasChannel(channel) || dataset.getStatistics(channel).getCount() == 0) continue;
+                yMin = Math.min(yMin, dataset.getStatistics(channel).getMin());
+                yMax = Math.max(yMax, dataset.getStatistics(channel).getMax());
+            }
+            for (PlottedSeries plotted : plottedSeries.values()) {
+                if (plotted.count == 0) continue;
+                xMin = Math.min(xMin, plotted.xMin());
+                xMax = Math.max(xMax, plotted.xMax());
             }
 
             // Apply auto-scaling
             if (xMin != Double.MAX_VALUE && xMax != Double.MIN_VALUE &&
                     yMin != Double.MAX_VALUE && yMax != Double.MIN_VALUE) {
 
-                // Reset X-axis for Time
+                // Reset X-axis for Time: 00:00 for one day, whole ticks around multi-day data
                 if ("Time".equals(currentXGroup)) {
-                    xAxis.setAutoRanging(false);
-                    xAxis.setLowerBound(0); // Always start at 00:00
-                    xAxis.setUpperBound(xMax + 60); // Add 1 hour padding
-                    xAxis.setTickUnit(60); // 1-hour intervals
+                    applyXScale(AxisScale.forTime(xMin, xMax));
                 }
 
                 // Reset Y-axis
@@ -1263,105 +2267,27 @@ public class MainController implements Initializable {
     }
 
 
-    private Number getGroupedXValue(SolarDataPoint point, String xAxisGroup, String yAxisColumn, int index) {
-        // For time column
-        if ("Time".equals(xAxisGroup)) {
-            String time = point.getTime();
-            if (time != null && time.matches("^([0-1]?[0-9]|2[0-3]):[0-5][0-9]$")) {
-                String[] parts = time.split(":");
-                int hours = Integer.parseInt(parts[0]);
-                int minutes = Integer.parseInt(parts[1]);
-                return (double) (hours * 60 + minutes); // Convert to minutes from 00:00
-            }
-            // If time is invalid, return index * 60 (assuming 1 hour intervals)
-            return (double) (index * 60);
-        }
-
-        // For grouped columns, check Y-axis column type (mono/poly)
-        boolean isMono = yAxisColumn.toLowerCase().contains("mono");
-        boolean isPoly = yAxisColumn.toLowerCase().contains("poly");
-
-        switch (xAxisGroup) {
-            case "Solar Radiation":
-                return point.getSolarRadiation();
-
-            case "Voltage":
-                if (isMono) return point.getVMono();
-                if (isPoly) return point.getVPoly();
-                return point.getVMono();
-
-            case "Current":
-                if (isMono) return point.getIMono();
-                if (isPoly) return point.getIPoly();
-                return point.getIMono();
-
-            case "Power":
-                if (isMono) return point.getPMono();
-                if (isPoly) return point.getPPoly();
-                return point.getPMono();
-
-            case "Efficiency":
-                if (isMono) return point.getEffMono();
-                if (isPoly) return point.getEffPoly();
-                return point.getEffMono();
-
-            case "RH":
-                return point.getRh();
-
-            case "Panel Temperature":
-                if (isMono) return point.getPanelTempMono();
-                if (isPoly) return point.getPanelTempPoly();
-                return point.getPanelTempMono();
-
-            case "Ambient Temp":
-                return point.getAmbientTemp();
-
-            case "Wind Speed":
-                return point.getWindSpeed();
-
-            default:
-                return (double) index;
-        }
-    }
-
-
-    private void setupChartLayoutListener() {
-        // Listen for chart layout changes to ensure proper point positioning
-        lineChart.layoutBoundsProperty().addListener((obs, oldBounds, newBounds) -> {
-            if (newBounds.getWidth() > 0 && newBounds.getHeight() > 0) {
-                Platform.runLater(() -> {
-                    // Force layout of all data points
-                    for (XYChart.Series<Number, Number> series : lineChart.getData()) {
-                        for (XYChart.Data<Number, Number> data : series.getData()) {
-                            Node node = data.getNode();
-                            if (node != null) {
-                                // Calculate exact position
-                                double xPos = xAxis.getDisplayPosition(data.getXValue());
-                                double yPos = yAxis.getDisplayPosition(data.getYValue());
-
-                                // Reset any transformations
-                                node.setTranslateX(0);
-                                node.setTranslateY(0);
-
-                                // Set layout position
-                                node.setLayoutX(xPos);
-                                node.setLayoutY(yPos);
-                            }
-                        }
-                    }
-                });
-            }
-        });
-    }
-
     private void resetAxesToOrigin() {
         // Always reset X-axis to start from appropriate origin
         String currentXGroup = xAxisCombo.getSelectionModel().getSelectedItem();
 
         if ("Time".equals(currentXGroup)) {
-            xAxis.setAutoRanging(false);
-            xAxis.setLowerBound(0); // Time starts from 00:00
-            // Upper bound will be set by data
+            // Time starts from 00:00 for one day; multi-day (epoch minute) times get their own bounds
+            int minTime = Integer.MAX_VALUE;
+            int maxTime = Integer.MIN_VALUE;
+            for (int row = 0; row < dataset.size(); row++) {
+                int time = dataset.getTime(row);
+                if (time == SolarDataset.INVALID_TIME) continue;
+                minTime = Math.min(minTime, time);
+                maxTime = Math.max(maxTime, time);
+            }
+            if (minTime <= maxTime) {
+                applyXScale(AxisScale.forTime(minTime, maxTime));
+            } else {
+                xAxis.setAutoRanging(false);
+                xAxis.setLowerBound(0);
+                // Upper bound will be set by data
+            }
         } else {
             xAxis.setAutoRanging(false);
             xAxis.setLowerBound(0); // Other columns start from 0 for positive values
@@ -1378,21 +2304,24 @@ public class MainController implements Initializable {
         boolean fixedEfficiencies = false;
         boolean fixedRH = false;
 
-        for (SolarDataPoint point : dataPoints) {
-            // Check and fix efficiency values (0-1 → 0-100)
-            if (point.getEffMono() >= 0 && point.getEffMono() <= 1) {
-                point.setEffMono(point.getEffMono() * 100.0);
-                fixedEfficiencies = true;
-            }
-            if (point.getEffPoly() >= 0 && point.getEffPoly() <= 1) {
-                point.setEffPoly(point.getEffPoly() * 100.0);
-                fixedEfficiencies = true;
+        for (int channel : new int[]{SolarDataset.EFF_MONO, SolarDataset.EFF_POLY, SolarDataset.RH}) {
+            // Channel min/max rule out 0-1 values without a pass in the usual (already scaled) case
+            ChannelStatistics stats = dataset.getStatistics(channel);
+            if (stats.getCount() == 0 || stats.getMin() > 1 || stats.getMax() < 0) continue;
+
+            // Check and fix efficiency / RH values (0-1 → 0-100)
+            double[] column = dataset.getColumn(channel);
+            boolean fixed = false;
+            for (int i = 0; i < dataset.size(); i++) {
+                if (column[i] >= 0 && column[i] <= 1) {
+                    column[i] = column[i] * 100.0;
+                    fixed = true;
+                }
             }
-
-            // Check and fix RH values (0-1 → 0-100)
-            if (point.getRh() >= 0 && point.getRh() <= 1) {
-                point.setRh(point.getRh() * 100.0);
-                fixedRH = true;
+            if (fixed) {
+                dataset.columnChanged(channel);
+                if (channel == SolarDataset.RH) fixedRH = true;
+                else fixedEfficiencies = true;
             }
         }
 
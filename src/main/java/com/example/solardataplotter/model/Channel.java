@@ -0,0 +1,71 @@
+// Channel.java
+package com.example.solardataplotter.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The logger channels, in {@link SolarDataset} column order: {@link #index()}
+ * is the column to read, so a column name shown in the UI is resolved once
+ * with {@link #forName} instead of being compared against every name for
+ * each row.
+ */
+public enum Channel {
+    SOLAR_RADIATION,
+    V_MONO,
+    V_POLY,
+    I_MONO,
+    I_POLY,
+    P_MONO,
+    P_POLY,
+    EFF_MONO,
+    EFF_POLY,
+    RH,
+    PANEL_TEMP_MONO,
+    PANEL_TEMP_POLY,
+    AMBIENT_TEMP,
+    WIND_SPEED;
+
+    private static final Channel[] VALUES = values();
+    private static final Map<String, Channel> BY_NAME = new HashMap<>();
+
+    static {
+        for (Channel channel : VALUES) {
+            BY_NAME.put(channel.getName(), channel);
+        }
+    }
+
+    public static Channel of(int index) {
+        return VALUES[index];
+    }
+
+    /** Channel with this UI column name ("V_mono", "Wind Speed", ...), or null. */
+    public static Channel forName(String name) {
+        return name != null ? BY_NAME.get(name) : null;
+    }
+
+    public int index() {
+        return ordinal();
+    }
+
+    public String getName() {
+        return SolarDataset.CHANNEL_NAMES[ordinal()];
+    }
+
+    public String getUnit() {
+        return SolarDataset.CHANNEL_UNITS[ordinal()];
+    }
+
+    /** Efficiency and RH: shown with a % sign and kept within 0-100. */
+    public boolean isPercentage() {
+        return "%".equals(getUnit());
+    }
+
+    /** Whether this is the poly panel's channel of a mono/poly pair. */
+    public boolean isPoly() {
+        switch (this) {
+            case V_POLY: case I_POLY: case P_POLY: case EFF_POLY: case PANEL_TEMP_POLY: return true;
+            default: return false;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+// ChannelStatistics.java
+package com.example.solardataplotter.model;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of one {@link SolarDataset} channel, kept up to date by the
+ * dataset as rows are appended, edited and removed. Count, sum and sum of
+ * squares are running totals; min/max/sum per row range live in a segment
+ * tree, so the extremes are O(1) to read and O(log n) to maintain, also when
+ * an edit or deletion takes away the current extreme. The same tree answers
+ * min/max/mean over any row range in O(log n), e.g. the rows of a zoomed
+ * time window (see {@link SolarDataset#rowRange(int, int)}).
+ *
+ * Leaves stay in the order rows were added. A removed row's leaf becomes
+ * empty (+Infinity, -Infinity, 0) instead of shifting the leaves after it,
+ * and a Fenwick tree counting the live leaves maps a row number to its leaf,
+ * so a deletion is O(log n) as well. Empty leaves are dropped whenever the
+ * tree has to grow.
+ *
+ * A missing value (NaN, e.g. a channel one merged source lacks) gets an
+ * empty leaf as well: it counts as a row but not as a value, so it never
+ * becomes the min, max or part of a mean.
+ */
+public class ChannelStatistics {
+    private int size;
+    private int slots; // Leaves in use, live or removed; row r is the r-th live one
+    private int leaves; // Power of two >= slots
+    private double[] min;
+    private double[] max;
+    private double[] sum;
+    private int[] live; // Fenwick tree over leaves 1..leaves: 1 per live leaf
+    private int[] present; // Same, 1 per live leaf holding a value (not NaN)
+    private int valueCount;
+    private double sumOfSquares;
+
+    ChannelStatistics(double[] values, int size) {
+        rebuild(values, size);
+    }
+
+    /** Rows, including those with a missing (NaN) value. */
+    public int getCount() { return size; }
+
+    /** Rows with a value. */
+    public int getValueCount() { return valueCount; }
+
+    /** Smallest value, or +Infinity when the channel is empty. */
+    public double getMin() { return min[1]; }
+
+    /** Largest value, or -Infinity when the channel is empty. */
+    public double getMax() { return max[1]; }
+
+    public double getSum() { return sum[1]; }
+
+    public double getSumOfSquares() { return sumOfSquares; }
+
+    public double getMean() {
+        return valueCount > 0 ? sum[1] / valueCount : Double.NaN;
+    }
+
+    /** Population standard deviation. */
+    public double getStandardDeviation() {
+        if (valueCount == 0) return Double.NaN;
+        double mean = getMean();
+        return Math.sqrt(Math.max(0.0, sumOfSquares / valueCount - mean * mean));
+    }
+
+    // Range queries over rows [from, to): the rows' leaves are found through the Fenwick tree,
+    // then an O(log n) walk up the segment tree; removed leaves in between are neutral
+
+    /** Smallest value in rows [from, to), or +Infinity for an empty range. */
+    public double getMin(int from, int to) {
+        checkRange(from, to);
+        double result = Double.POSITIVE_INFINITY;
+        if (from == to) return result;
+        for (int l = leafOf(from) + leaves, r = leafOf(to - 1) + 1 + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) result = Math.min(result, min[l++]);
+            if ((r & 1) == 1) result = Math.min(result, min[--r]);
+        }
+        return result;
+    }
+
+    /** Largest value in rows [from, to), or -Infinity for an empty range. */
+    public double getMax(int from, int to) {
+        checkRange(from, to);
+        double result = Double.NEGATIVE_INFINITY;
+        if (from == to) return result;
+        for (int l = leafOf(from) + leaves, r = leafOf(to - 1) + 1 + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) result = Math.max(result, max[l++]);
+            if ((r & 1) == 1) result = Math.max(result, max[--r]);
+        }
+        return result;
+    }
+
+    public double getSum(int from, int to) {
+        checkRange(from, to);
+        double result = 0.0;
+        if (from == to) return result;
+        for (int l = leafOf(from) + leaves, r = leafOf(to - 1) + 1 + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) result += sum[l++];
+            if ((r & 1) == 1) result += sum[--r];
+        }
+        return result;
+    }
+
+    /** Mean of the values in rows [from, to), or NaN if there are none. */
+    public double getMean(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return Double.NaN;
+        int values = countLeaves(present, leafOf(to - 1) + 1) - countLeaves(present, leafOf(from));
+        return values > 0 ? getSum(from, to) / values : Double.NaN;
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for " + size + " rows");
+        }
+    }
+
+    /** Leaf (0-based) of row {@code row}: the (row + 1)-th live leaf, found by descending the Fenwick tree. */
+    private int leafOf(int row) {
+        if (slots == size) return row; // Nothing removed since the last build
+        int position = 0;
+        int remaining = row + 1;
+        for (int step = leaves; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= leaves && live[next] < remaining) {
+                position = next;
+                remaining -= live[next];
+            }
+        }
+        return position; // 1-based position + 1 is the leaf, so 0-based it is position
+    }
+
+    private void countLeaf(int[] fenwick, int leaf, int delta) {
+        for (int i = leaf + 1; i <= leaves; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    /** Flagged leaves among the first {@code count} leaves. */
+    private int countLeaves(int[] fenwick, int count) {
+        int result = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            result += fenwick[i];
+        }
+        return result;
+    }
+
+    /** The 0/1 flag of every leaf back from a Fenwick tree, in O(n): flags[leaf + 1]. */
+    private int[] leafFlags(int[] fenwick) {
+        int[] flags = fenwick.clone();
+        for (int i = leaves; i >= 1; i--) {
+            int parent = i + (i & -i);
+            if (parent <= leaves) flags[parent] -= flags[i];
+        }
+        return flags;
+    }
+
+    /** Recompute everything from the first {@code size} entries of {@code values}: O(n). */
+    void rebuild(double[] values, int size) {
+        build(values, size, size);
+    }
+
+    private void build(double[] values, int size, int capacity) {
+        this.size = size;
+        this.slots = size;
+        this.leaves = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+        this.min = new double[2 * leaves];
+        this.max = new double[2 * leaves];
+        this.sum = new double[2 * leaves];
+        this.live = new int[leaves + 1];
+        this.present = new int[leaves + 1];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+
+        valueCount = 0;
+        sumOfSquares = 0.0;
+        for (int row = 0; row < size; row++) {
+            double value = values[row];
+            if (Double.isNaN(value)) continue;
+            min[leaves + row] = value;
+            max[leaves + row] = value;
+            sum[leaves + row] = value;
+            sumOfSquares += value * value;
+            present[row + 1] = 1;
+            valueCount++;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            pull(node);
+        }
+
+        // Fenwick trees in O(n): every index passes its count on to its parent
+        for (int i = 1; i <= leaves; i++) {
+            if (i <= size) live[i]++;
+            int parent = i + (i & -i);
+            if (parent <= leaves) {
+                live[parent] += live[i];
+                present[parent] += present[i];
+            }
+        }
+    }
+
+    void append(double value) {
+        if (slots == leaves) {
+            grow();
+        }
+        int leaf = slots++;
+        size++;
+        countLeaf(live, leaf, 1);
+        setLeaf(leaf, value);
+    }
+
+    void set(int row, double value) {
+        setLeaf(leafOf(row), value);
+    }
+
+    private void setLeaf(int leaf, double value) {
+        clearLeaf(leaf);
+        if (!Double.isNaN(value)) {
+            int node = leaves + leaf;
+            min[node] = value;
+            max[node] = value;
+            sum[node] = value;
+            sumOfSquares += value * value;
+            countLeaf(present, leaf, 1);
+            valueCount++;
+        }
+        for (int node = (leaves + leaf) >> 1; node >= 1; node >>= 1) {
+            pull(node);
+        }
+    }
+
+    /** Empty a leaf (ancestors are left to the caller). */
+    private void clearLeaf(int leaf) {
+        int node = leaves + leaf;
+        if (!(min[node] <= max[node])) return; // Already empty: removed, missing or not used yet
+        double old = sum[node];
+        sumOfSquares -= old * old;
+        min[node] = Double.POSITIVE_INFINITY;
+        max[node] = Double.NEGATIVE_INFINITY;
+        sum[node] = 0.0;
+        countLeaf(present, leaf, -1);
+        valueCount--;
+    }
+
+    /** Row {@code row} was removed and the rows after it moved up by one: O(log n). */
+    void remove(int row) {
+        int leaf = leafOf(row);
+        clearLeaf(leaf);
+        for (int node = (leaves + leaf) >> 1; node >= 1; node >>= 1) {
+            pull(node);
+        }
+        countLeaf(live, leaf, -1);
+        size--;
+    }
+
+    /** Rebuild with room for twice the live rows, dropping the leaves of removed ones. */
+    private void grow() {
+        double[] values = new double[size];
+        int[] liveLeaves = leafFlags(live);
+        int[] valueLeaves = leafFlags(present);
+        int row = 0;
+        for (int leaf = 0; leaf < slots; leaf++) {
+            if (liveLeaves[leaf + 1] == 0) continue;
+            values[row++] = valueLeaves[leaf + 1] == 1 ? sum[leaves + leaf] : Double.NaN;
+        }
+        build(values, size, 2 * size);
+    }
+
+    private void pull(int node) {
+        int left = 2 * node;
+        min[node] = Math.min(min[left], min[left + 1]);
+        max[node] = Math.max(max[left], max[left + 1]);
+        sum[node] = sum[left] + sum[left + 1];
+    }
+}
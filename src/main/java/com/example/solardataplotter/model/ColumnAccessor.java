@@ -0,0 +1,64 @@
+// ColumnAccessor.java
+package com.example.solardataplotter.model;
+
+/**
+ * One plotted column (a channel, or Time on the X axis) resolved from its
+ * name up front. Plotting, scaling and edit loops call {@link #get} per row,
+ * which is an array read rather than a lookup by column name.
+ */
+public final class ColumnAccessor {
+    private static final ColumnAccessor TIME = new ColumnAccessor(-1, true);
+
+    /** The row number itself, for X choices that are neither Time nor a channel. */
+    public static final ColumnAccessor ROW_NUMBER = new ColumnAccessor(-1, false);
+
+    private final int channel;
+    private final boolean time;
+
+    private ColumnAccessor(int channel, boolean time) {
+        this.channel = channel;
+        this.time = time;
+    }
+
+    /**
+     * Accessor for a Y column (a built-in or generic channel of
+     * {@code dataset}), or null if the dataset has no such channel.
+     */
+    public static ColumnAccessor forColumn(SolarDataset dataset, String name) {
+        int channel = dataset.findChannel(name);
+        return dataset.hasChannel(channel) ? new ColumnAccessor(channel, false) : null;
+    }
+
+    /**
+     * Accessor for an X-axis choice plotted against {@code yColumn}: Time,
+     * a channel, or a mono/poly group resolved by
+     * {@link SolarDataset#groupedXChannel}. Null if the choice is unknown.
+     */
+    public static ColumnAccessor forXAxis(SolarDataset dataset, String xAxisGroup, String yColumn) {
+        if ("Time".equals(xAxisGroup)) return TIME;
+        int channel = SolarDataset.groupedXChannel(xAxisGroup, yColumn);
+        if (channel < 0) channel = dataset.findChannel(xAxisGroup);
+        return channel >= 0 ? new ColumnAccessor(channel, false) : null;
+    }
+
+    public boolean isTime() {
+        return time;
+    }
+
+    /** The channel read, or -1 for Time and {@link #ROW_NUMBER}. */
+    public int getChannelIndex() {
+        return channel;
+    }
+
+    /** Value at {@code row}; rows with an invalid time are spread one hour apart as before. */
+    public double get(SolarDataset dataset, int row) {
+        if (channel >= 0) {
+            return dataset.getValue(channel, row);
+        }
+        if (!time) {
+            return row;
+        }
+        int minutes = dataset.getTime(row);
+        return minutes != SolarDataset.INVALID_TIME ? minutes : row * 60.0;
+    }
+}
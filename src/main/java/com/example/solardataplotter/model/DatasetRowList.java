@@ -0,0 +1,286 @@
+// DatasetRowList.java
+package com.example.solardataplotter.model;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Table items for a {@link SolarDataset} without one object per row. The
+ * list is as long as the dataset; {@link SolarDataPoint} views are made on
+ * demand in {@link #get} and only the most recent few are kept, so a TableView
+ * scrolling through a million rows only ever holds views for what it shows.
+ *
+ * The dataset is changed directly and the list told afterwards, through
+ * {@link #rowsAdded}, {@link #rowRemoved} or {@link #setDataset}.
+ *
+ * Sorting never moves dataset rows: {@link #sortByChannel} and
+ * {@link #sortByTime} argsort one column into a row permutation, and the
+ * list presents the rows in that order (with its inverse for
+ * {@link #indexOf}). Rows added while sorted go to the end of the list until
+ * the next sort.
+ */
+public class DatasetRowList extends ObservableListBase<SolarDataPoint> {
+    // Direct-mapped by row; comfortably more than the rows a table shows at once
+    private static final int CACHE_SIZE = 256;
+
+    private SolarDataset dataset;
+    private final SolarDataPoint[] cache = new SolarDataPoint[CACHE_SIZE];
+    private int[] order; // List index -> dataset row while sorted, else null
+    private int[] position; // Dataset row -> list index while sorted
+
+    public DatasetRowList(SolarDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    public SolarDataset getDataset() {
+        return dataset;
+    }
+
+    @Override
+    public SolarDataPoint get(int index) {
+        if (index < 0 || index >= dataset.size()) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + dataset.size());
+        }
+        int row = order != null ? order[index] : index;
+        int slot = index & (CACHE_SIZE - 1);
+        SolarDataPoint view = cache[slot];
+        if (view == null || view.getRow() != row) {
+            view = new SolarDataPoint(dataset, row);
+            cache[slot] = view;
+        }
+        return view;
+    }
+
+    @Override
+    public int size() {
+        return dataset.size();
+    }
+
+    /** Constant time: a view's position is its row, or the row's place in the sort order. */
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof SolarDataPoint) {
+            SolarDataPoint point = (SolarDataPoint) o;
+            if (point.getDataset() == dataset && point.getRow() < dataset.size()) {
+                return indexOfRow(point.getRow());
+            }
+        }
+        return -1;
+    }
+
+    /** List index of a dataset row. */
+    public int indexOfRow(int row) {
+        return position != null ? position[row] : row;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /** Show another dataset, e.g. after an import or opening a session. */
+    public void setDataset(SolarDataset newDataset) {
+        List<SolarDataPoint> removed = views(dataset, order, dataset.size());
+        dataset = newDataset;
+        order = null; // A new dataset starts out unsorted
+        position = null;
+        clearCache();
+        beginChange();
+        if (!removed.isEmpty()) nextRemove(0, removed);
+        if (!dataset.isEmpty()) nextAdd(0, dataset.size());
+        endChange();
+    }
+
+    /**
+     * Show {@code longer}, which holds this list's rows followed by new ones
+     * (the next {@link SolarDataset#prefix} of a running import); only the
+     * new rows are announced.
+     */
+    public void extendTo(SolarDataset longer) {
+        int from = dataset.size();
+        dataset = longer;
+        clearCache(); // Cached views belong to the previous dataset
+        rowsAdded(from, longer.size() - from);
+    }
+
+    /** Rows [from, from + count) were added to the dataset. */
+    public void rowsAdded(int from, int count) {
+        if (count <= 0) return;
+        clearCache(); // Rows at and after from may have moved down
+        int end = from + count;
+        if (order != null) {
+            // Rows after the insertion moved down; the new rows go to the end of the list
+            int oldSize = dataset.size() - count;
+            order = Arrays.copyOf(order, dataset.size());
+            for (int i = 0; i < oldSize; i++) {
+                if (order[i] >= from) order[i] += count;
+            }
+            for (int i = 0; i < count; i++) {
+                order[oldSize + i] = from + i;
+            }
+            position = inverse(order);
+            from = oldSize;
+            end = dataset.size();
+        }
+        beginChange();
+        nextAdd(from, end);
+        endChange();
+    }
+
+    /** {@code row} was removed from the dataset; the rows below it moved up one. */
+    public void rowRemoved(int row) {
+        clearCache();
+        int index = row;
+        if (order != null) {
+            index = position[row];
+            System.arraycopy(order, index + 1, order, index, order.length - index - 1);
+            order = Arrays.copyOf(order, order.length - 1);
+            for (int i = 0; i < order.length; i++) {
+                if (order[i] > row) order[i]--;
+            }
+            position = inverse(order);
+        }
+        beginChange();
+        nextRemove(index, new SolarDataPoint(dataset, row));
+        endChange();
+    }
+
+    /** All rows were removed from the dataset, which had {@code oldSize} rows. */
+    public void cleared(int oldSize) {
+        clearCache();
+        int[] oldOrder = order;
+        order = null;
+        position = null;
+        if (oldSize == 0) return;
+        beginChange();
+        nextRemove(0, views(dataset, oldOrder, oldSize));
+        endChange();
+    }
+
+    /** Show the rows by ascending (or descending) value of one channel; a missing (NaN) value counts as the largest. */
+    public void sortByChannel(int channel, boolean descending) {
+        sort(dataset.getColumn(channel), null, descending);
+    }
+
+    /** Show the rows by ascending (or descending) time. */
+    public void sortByTime(boolean descending) {
+        sort(null, dataset.getTimeColumn(), descending);
+    }
+
+    /** Show the rows in dataset order again. */
+    public void unsort() {
+        if (order == null) return;
+        int[] oldPosition = position;
+        order = null;
+        position = null;
+        permuted(oldPosition);
+    }
+
+    private void sort(double[] values, int[] times, boolean descending) {
+        int size = dataset.size();
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        if (values != null) {
+            argsort(rows, values);
+        } else {
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = times[i];
+            }
+            argsort(rows, keys);
+        }
+        if (descending) {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int row = rows[i];
+                rows[i] = rows[j];
+                rows[j] = row;
+            }
+        }
+
+        int[] oldPosition = position;
+        order = rows;
+        position = inverse(rows);
+        permuted(oldPosition);
+    }
+
+    /** Announce that every row moved from {@code oldPosition} (null: dataset order) to its current index. */
+    private void permuted(int[] oldPosition) {
+        clearCache();
+        int size = dataset.size();
+        if (size == 0) return;
+        int[] permutation = new int[size]; // Old list index -> new list index
+        for (int row = 0; row < size; row++) {
+            permutation[oldPosition != null ? oldPosition[row] : row] = indexOfRow(row);
+        }
+        beginChange();
+        nextPermutation(0, size, permutation);
+        endChange();
+    }
+
+    /**
+     * Stable bottom-up merge sort of {@code rows} by {@code keys[row]}:
+     * O(n log n) without boxing a comparator's Integers. NaN sorts last.
+     */
+    private static void argsort(int[] rows, double[] keys) {
+        int size = rows.length;
+        int[] from = rows;
+        int[] to = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                int middle = Math.min(left + width, size);
+                int right = Math.min(left + 2 * width, size);
+                int i = left;
+                int j = middle;
+                int k = left;
+                while (i < middle && j < right) {
+                    to[k++] = Double.compare(keys[from[j]], keys[from[i]]) < 0 ? from[j++] : from[i++];
+                }
+                while (i < middle) to[k++] = from[i++];
+                while (j < right) to[k++] = from[j++];
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != rows) {
+            System.arraycopy(from, 0, rows, 0, size);
+        }
+    }
+
+    private static int[] inverse(int[] order) {
+        int[] inverse = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            inverse[order[i]] = i;
+        }
+        return inverse;
+    }
+
+    private void clearCache() {
+        Arrays.fill(cache, null);
+    }
+
+    /** Removed items for change events, made only if a listener looks at them. */
+    private static List<SolarDataPoint> views(SolarDataset dataset, int[] order, int size) {
+        return new AbstractList<SolarDataPoint>() {
+            @Override
+            public SolarDataPoint get(int index) {
+                return new SolarDataPoint(dataset, order != null ? order[index] : index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
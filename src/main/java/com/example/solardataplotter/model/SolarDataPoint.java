@@ -3,99 +3,131 @@ package com.example.solardataplotter.model;
 
 import javafx.beans.property.*;
 
+import java.util.Arrays;
+
+/**
+ * Row view over a {@link SolarDataset}. Values live in the dataset's column
+ * arrays; JavaFX properties are only created when something (the TableView)
+ * asks for them, and write edits straight back to the columns. Views are
+ * short-lived: {@link DatasetRowList} makes them for the rows on screen.
+ */
 public class SolarDataPoint {
-    private final StringProperty time;
-    private final DoubleProperty solarRadiation;
-    private final DoubleProperty vMono;
-    private final DoubleProperty vPoly;
-    private final DoubleProperty iMono;
-    private final DoubleProperty iPoly;
-    private final DoubleProperty pMono;
-    private final DoubleProperty pPoly;
-    private final DoubleProperty effMono;
-    private final DoubleProperty effPoly;
-    private final DoubleProperty rh;
-    private final DoubleProperty panelTempMono;
-    private final DoubleProperty panelTempPoly;
-    private final DoubleProperty ambientTemp;
-    private final DoubleProperty windSpeed;
+    private final SolarDataset dataset;
+    private final int row;
+
+    private StringProperty time;
+    private DoubleProperty[] channels;
 
     public SolarDataPoint() {
-        this.time = new SimpleStringProperty("");
-        this.solarRadiation = new SimpleDoubleProperty(0.0);
-        this.vMono = new SimpleDoubleProperty(0.0);
-        this.vPoly = new SimpleDoubleProperty(0.0);
-        this.iMono = new SimpleDoubleProperty(0.0);
-        this.iPoly = new SimpleDoubleProperty(0.0);
-        this.pMono = new SimpleDoubleProperty(0.0);
-        this.pPoly = new SimpleDoubleProperty(0.0);
-        this.effMono = new SimpleDoubleProperty(0.0);
-        this.effPoly = new SimpleDoubleProperty(0.0);
-        this.rh = new SimpleDoubleProperty(0.0);
-        this.panelTempMono = new SimpleDoubleProperty(0.0);
-        this.panelTempPoly = new SimpleDoubleProperty(0.0);
-        this.ambientTemp = new SimpleDoubleProperty(0.0);
-        this.windSpeed = new SimpleDoubleProperty(0.0);
+        this(singleRowDataset(), 0);
+    }
+
+    public SolarDataPoint(SolarDataset dataset, int row) {
+        this.dataset = dataset;
+        this.row = row;
     }
 
+    private static SolarDataset singleRowDataset() {
+        SolarDataset dataset = new SolarDataset(1);
+        dataset.addRow();
+        return dataset;
+    }
+
+    public SolarDataset getDataset() { return dataset; }
+    public int getRow() { return row; }
+
     // Getters and Setters
-    public String getTime() { return time.get(); }
-    public void setTime(String time) { this.time.set(time); }
-    public StringProperty timeProperty() { return time; }
-
-    public double getSolarRadiation() { return solarRadiation.get(); }
-    public void setSolarRadiation(double solarRadiation) { this.solarRadiation.set(solarRadiation); }
-    public DoubleProperty solarRadiationProperty() { return solarRadiation; }
-
-    public double getVMono() { return vMono.get(); }
-    public void setVMono(double vMono) { this.vMono.set(vMono); }
-    public DoubleProperty vMonoProperty() { return vMono; }
-
-    public double getVPoly() { return vPoly.get(); }
-    public void setVPoly(double vPoly) { this.vPoly.set(vPoly); }
-    public DoubleProperty vPolyProperty() { return vPoly; }
-
-    public double getIMono() { return iMono.get(); }
-    public void setIMono(double iMono) { this.iMono.set(iMono); }
-    public DoubleProperty iMonoProperty() { return iMono; }
-
-    public double getIPoly() { return iPoly.get(); }
-    public void setIPoly(double iPoly) { this.iPoly.set(iPoly); }
-    public DoubleProperty iPolyProperty() { return iPoly; }
-
-    public double getPMono() { return pMono.get(); }
-    public void setPMono(double pMono) { this.pMono.set(pMono); }
-    public DoubleProperty pMonoProperty() { return pMono; }
-
-    public double getPPoly() { return pPoly.get(); }
-    public void setPPoly(double pPoly) { this.pPoly.set(pPoly); }
-    public DoubleProperty pPolyProperty() { return pPoly; }
-
-    public double getEffMono() { return effMono.get(); }
-    public void setEffMono(double effMono) { this.effMono.set(effMono); }
-    public DoubleProperty effMonoProperty() { return effMono; }
-
-    public double getEffPoly() { return effPoly.get(); }
-    public void setEffPoly(double effPoly) { this.effPoly.set(effPoly); }
-    public DoubleProperty effPolyProperty() { return effPoly; }
-
-    public double getRh() { return rh.get(); }
-    public void setRh(double rh) { this.rh.set(rh); }
-    public DoubleProperty rhProperty() { return rh; }
-
-    public double getPanelTempMono() { return panelTempMono.get(); }
-    public void setPanelTempMono(double panelTempMono) { this.panelTempMono.set(panelTempMono); }
-    public DoubleProperty panelTempMonoProperty() { return panelTempMono; }
-
-    public double getPanelTempPoly() { return panelTempPoly.get(); }
-    public void setPanelTempPoly(double panelTempPoly) { this.panelTempPoly.set(panelTempPoly); }
-    public DoubleProperty panelTempPolyProperty() { return panelTempPoly; }
-
-    public double getAmbientTemp() { return ambientTemp.get(); }
-    public void setAmbientTemp(double ambientTemp) { this.ambientTemp.set(ambientTemp); }
-    public DoubleProperty ambientTempProperty() { return ambientTemp; }
-
-    public double getWindSpeed() { return windSpeed.get(); }
-    public void setWindSpeed(double windSpeed) { this.windSpeed.set(windSpeed); }
-    public DoubleProperty windSpeedProperty() { return windSpeed; }
-}
\ No newline at end of file
+    public String getTime() { return dataset.getTimeText(row); }
+    public void setTime(String time) {
+        dataset.setTimeText(row, time);
+        if (this.time != null) this.time.set(time);
+    }
+    public StringProperty timeProperty() {
+        if (time == null) {
+            time = new SimpleStringProperty(this, "time", getTime());
+            time.addListener((obs, oldVal, newVal) -> dataset.setTimeText(row, newVal));
+        } else if (SolarDataset.parseTime(time.get()) != dataset.getTime(row)) {
+            time.set(getTime());
+        }
+        return time;
+    }
+
+    public double getValue(int channel) { return dataset.getValue(channel, row); }
+    public void setValue(int channel, double value) {
+        dataset.setValue(channel, row, value);
+        if (channels != null && channels[channel] != null) channels[channel].set(value);
+    }
+    public DoubleProperty valueProperty(int channel) {
+        if (channels == null || channels.length <= channel) {
+            channels = channels == null
+                    ? new DoubleProperty[dataset.getChannelCount()]
+                    : Arrays.copyOf(channels, dataset.getChannelCount());
+        }
+        DoubleProperty property = channels[channel];
+        if (property == null) {
+            property = new SimpleDoubleProperty(this, dataset.getChannelName(channel), getValue(channel));
+            property.addListener((obs, oldVal, newVal) -> dataset.setValue(channel, row, newVal.doubleValue()));
+            channels[channel] = property;
+        } else {
+            // Columns may have been changed in bulk (e.g. efficiency fix-up) since the last read
+            property.set(getValue(channel));
+        }
+        return property;
+    }
+
+    public double getSolarRadiation() { return getValue(SolarDataset.SOLAR_RADIATION); }
+    public void setSolarRadiation(double solarRadiation) { setValue(SolarDataset.SOLAR_RADIATION, solarRadiation); }
+    public DoubleProperty solarRadiationProperty() { return valueProperty(SolarDataset.SOLAR_RADIATION); }
+
+    public double getVMono() { return getValue(SolarDataset.V_MONO); }
+    public void setVMono(double vMono) { setValue(SolarDataset.V_MONO, vMono); }
+    public DoubleProperty vMonoProperty() { return valueProperty(SolarDataset.V_MONO); }
+
+    public double getVPoly() { return getValue(SolarDataset.V_POLY); }
+    public void setVPoly(double vPoly) { setValue(SolarDataset.V_POLY, vPoly); }
+    public DoubleProperty vPolyProperty() { return valueProperty(SolarDataset.V_POLY); }
+
+    public double getIMono() { return getValue(SolarDataset.I_MONO); }
+    public void setIMono(double iMono) { setValue(SolarDataset.I_MONO, iMono); }
+    public DoubleProperty iMonoProperty() { return valueProperty(SolarDataset.I_MONO); }
+
+    public double getIPoly() { return getValue(SolarDataset.I_POLY); }
+    public void setIPoly(double iPoly) { setValue(SolarDataset.I_POLY, iPoly); }
+    public DoubleProperty iPolyProperty() { return valueProperty(SolarDataset.I_POLY); }
+
+    public double getPMono() { return getValue(SolarDataset.P_MONO); }
+    public void setPMono(double pMono) { setValue(SolarDataset.P_MONO, pMono); }
+    public DoubleProperty pMonoProperty() { return valueProperty(SolarDataset.P_MONO); }
+
+    public double getPPoly() { return getValue(SolarDataset.P_POLY); }
+    public void setPPoly(double pPoly) { setValue(SolarDataset.P_POLY, pPoly); }
+    public DoubleProperty pPolyProperty() { return valueProperty(SolarDataset.P_POLY); }
+
+    public double getEffMono() { return getValue(SolarDataset.EFF_MONO); }
+    public void setEffMono(double effMono) { setValue(SolarDataset.EFF_MONO, effMono); }
+    public DoubleProperty effMonoProperty() { return valueProperty(SolarDataset.EFF_MONO); }
+
+    public double getEffPoly() { return getValue(SolarDataset.EFF_POLY); }
+    public void setEffPoly(double effPoly) { setValue(SolarDataset.EFF_POLY, effPoly); }
+    public DoubleProperty effPolyProperty() { return valueProperty(SolarDataset.EFF_POLY); }
+
+    public double getRh() { return getValue(SolarDataset.RH); }
+    public void setRh(double rh) { setValue(SolarDataset.RH, rh); }
+    public DoubleProperty rhProperty() { return valueProperty(SolarDataset.RH); }
+
+    public double getPanelTempMono() { return getValue(SolarDataset.PANEL_TEMP_MONO); }
+    public void setPanelTempMono(double panelTempMono) { setValue(SolarDataset.PANEL_TEMP_MONO, panelTempMono); }
+    public DoubleProperty panelTempMonoProperty() { return valueProperty(SolarDataset.PANEL_TEMP_MONO); }
+
+    public double getPanelTempPoly() { return getValue(SolarDataset.PANEL_TEMP_POLY); }
+    public void setPanelTempPoly(double panelTempPoly) { setValue(SolarDataset.PANEL_TEMP_POLY, panelTempPoly); }
+    public DoubleProperty panelTempPolyProperty() { return valueProperty(SolarDataset.PANEL_TEMP_POLY); }
+
+    public double getAmbientTemp() { return getValue(SolarDataset.AMBIENT_TEMP); }
+    public void setAmbientTemp(double ambientTemp) { setValue(SolarDataset.AMBIENT_TEMP, ambientTemp); }
+    public DoubleProperty ambientTempProperty() { return valueProperty(SolarDataset.AMBIENT_TEMP); }
+
+    public double getWindSpeed() { return getValue(SolarDataset.WIND_SPEED); }
+    public void setWindSpeed(double windSpeed) { setValue(SolarDataset.WIND_SPEED, windSpeed); }
+    public DoubleProperty windSpeedProperty() { return valueProperty(SolarDataset.WIND_SPEED); }
+}
@@ -0,0 +1,638 @@
+// SolarDataset.java
+package com.example.solardataplotter.model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Column-oriented store for logger rows. Every channel is a primitive double[]
+ * and time is a packed int[] of minutes, so a row costs 4 + 14 * 8 bytes
+ * instead of a SolarDataPoint with fifteen property objects.
+ *
+ * The fourteen built-in channels keep their indices below, but only those an
+ * import actually found are allocated ({@link #hasChannel}); the others read
+ * as 0 and get a column on their first write. Columns the importer could not
+ * map to a built-in channel are added after them as generic channels with
+ * their own name and unit ({@link #addChannel}).
+ *
+ * Times are minutes since 1970-01-01 00:00 (wall clock, no time zone). A bare
+ * "HH:mm" is a time on day 0, so single-day logs keep minutes since midnight
+ * while dated rows ("yyyy-MM-dd HH:mm") can span any number of days.
+ */
+public class SolarDataset {
+    // Channel indices (column order of the logger export, without Time)
+    public static final int SOLAR_RADIATION = 0;
+    public static final int V_MONO = 1;
+    public static final int V_POLY = 2;
+    public static final int I_MONO = 3;
+    public static final int I_POLY = 4;
+    public static final int P_MONO = 5;
+    public static final int P_POLY = 6;
+    public static final int EFF_MONO = 7;
+    public static final int EFF_POLY = 8;
+    public static final int RH = 9;
+    public static final int PANEL_TEMP_MONO = 10;
+    public static final int PANEL_TEMP_POLY = 11;
+    public static final int AMBIENT_TEMP = 12;
+    public static final int WIND_SPEED = 13;
+    public static final int CHANNEL_COUNT = 14;
+
+    public static final String[] CHANNEL_NAMES = {
+            "Solar Radiation", "V_mono", "V_poly", "I_mono", "I_poly",
+            "P_mono", "P_poly", "Eff_mono", "Eff_poly", "RH",
+            "Panel Temp Mono", "Panel Temp Poly", "Ambient Temp", "Wind Speed"
+    };
+
+    public static final String[] CHANNEL_UNITS = {
+            "W/m²", "V", "V", "A", "A", "W", "W", "%", "%", "%", "°C", "°C", "°C", "m/s"
+    };
+
+    /** Marker stored in the time column when the source text was not a valid time. */
+    public static final int INVALID_TIME = Integer.MIN_VALUE;
+
+    public static final int MINUTES_PER_DAY = 1440;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] times;
+    private double[][] columns; // Built-in channels, then generic ones; null = channel not present
+    private String[] channelNames = CHANNEL_NAMES;
+    private String[] channelUnits = CHANNEL_UNITS;
+    private int size;
+
+    // Per-channel statistics, built on first use and then maintained by every mutation
+    private ChannelStatistics[] statistics = new ChannelStatistics[CHANNEL_COUNT];
+
+    // Whether times ascend, so time windows map to row ranges by binary search; null = not known
+    private Boolean timeSorted = Boolean.TRUE;
+
+    // Rows in ascending time order without invalid times, for range lookups on unsorted data; null = not built
+    private int[] timeIndex;
+
+    public SolarDataset() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SolarDataset(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.times = new int[capacity];
+        this.columns = new double[CHANNEL_COUNT][capacity];
+    }
+
+    /** Empty dataset holding only the built-in channels flagged in {@code present}. */
+    public SolarDataset(int initialCapacity, boolean[] present) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.times = new int[capacity];
+        this.columns = new double[CHANNEL_COUNT][];
+        for (int c = 0; c < CHANNEL_COUNT; c++) {
+            if (present[c]) columns[c] = new double[capacity];
+        }
+    }
+
+    /**
+     * Dataset over existing column arrays, e.g. read back from a session
+     * file. The arrays are used as-is (not copied); {@code columns} must hold
+     * CHANNEL_COUNT entries, each null (channel not present) or an array of
+     * at least {@code size} entries.
+     */
+    public SolarDataset(int[] times, double[][] columns, int size) {
+        if (columns.length != CHANNEL_COUNT) {
+            throw new IllegalArgumentException("Expected " + CHANNEL_COUNT + " channels, got " + columns.length);
+        }
+        this.times = times;
+        this.columns = columns;
+        this.size = size;
+        this.timeSorted = null;
+    }
+
+    /** Empty dataset with the same channels as this one. */
+    public SolarDataset emptyCopy(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        SolarDataset copy = new SolarDataset(capacity, new boolean[CHANNEL_COUNT]);
+        copy.columns = new double[columns.length][];
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] != null) copy.columns[c] = new double[capacity];
+        }
+        copy.channelNames = channelNames;
+        copy.channelUnits = channelUnits;
+        copy.statistics = new ChannelStatistics[columns.length];
+        return copy;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    // Channels
+
+    /** Built-in plus generic channels; valid channel indices are below this. */
+    public int getChannelCount() { return columns.length; }
+
+    public boolean hasChannel(int channel) {
+        return channel >= 0 && channel < columns.length && columns[channel] != null;
+    }
+
+    public String getChannelName(int channel) { return channelNames[channel]; }
+
+    /** Unit of a channel, empty if a generic channel's header gave none. */
+    public String getChannelUnit(int channel) { return channelUnits[channel]; }
+
+    /** Index of a built-in or generic channel by name, present or not, or -1. */
+    public int findChannel(String name) {
+        int builtIn = channelIndex(name);
+        if (builtIn >= 0) return builtIn;
+        for (int c = CHANNEL_COUNT; c < channelNames.length; c++) {
+            if (channelNames[c].equals(name)) return c;
+        }
+        return -1;
+    }
+
+    /** Add a generic channel, 0 for the rows so far, and return its index. */
+    public int addChannel(String name, String unit) {
+        return addChannel(name, unit, new double[times.length]);
+    }
+
+    /** Add a generic channel backed by {@code column} as-is (at least {@link #size()} entries). */
+    public int addChannel(String name, String unit, double[] column) {
+        if (findChannel(name) >= 0) {
+            throw new IllegalArgumentException("Channel already exists: " + name);
+        }
+        int channel = columns.length;
+        columns = Arrays.copyOf(columns, channel + 1);
+        columns[channel] = column.length >= times.length ? column : Arrays.copyOf(column, times.length);
+        channelNames = Arrays.copyOf(channelNames, channel + 1);
+        channelNames[channel] = name;
+        channelUnits = Arrays.copyOf(channelUnits, channel + 1);
+        channelUnits[channel] = unit != null ? unit : "";
+        statistics = Arrays.copyOf(statistics, channel + 1);
+        return channel;
+    }
+
+    /** Give a channel that was not imported its own column of zeros. */
+    private double[] materialize(int channel) {
+        if (columns[channel] == null) {
+            columns[channel] = new double[times.length];
+        }
+        return columns[channel];
+    }
+
+    // Time column
+    public int getTime(int row) {
+        checkRow(row);
+        return times[row];
+    }
+
+    public void setTime(int row, int minutes) {
+        checkRow(row);
+        times[row] = minutes;
+        timeSorted = null;
+        timeIndex = null;
+    }
+
+    public String getTimeText(int row) {
+        return formatTime(getTime(row));
+    }
+
+    public void setTimeText(int row, String text) {
+        setTime(row, parseTime(text));
+    }
+
+    // Channel columns
+    public double getValue(int channel, int row) {
+        checkRow(row);
+        double[] column = columns[channel];
+        return column != null ? column[row] : 0.0;
+    }
+
+    public void setValue(int channel, int row, double value) {
+        checkRow(row);
+        materialize(channel)[row] = value;
+        if (statistics[channel] != null) {
+            statistics[channel].set(row, value);
+        }
+    }
+
+    /**
+     * Count, min, max, sum and sum of squares of a channel. The first call
+     * per channel costs one O(n) pass; after that the statistics follow every
+     * addRow/setValue/removeRow and reads are O(1).
+     */
+    public ChannelStatistics getStatistics(int channel) {
+        if (columns[channel] == null) {
+            return new ChannelStatistics(new double[0], 0); // Channel not present: no values
+        }
+        if (statistics[channel] == null) {
+            statistics[channel] = new ChannelStatistics(columns[channel], size);
+        }
+        return statistics[channel];
+    }
+
+    /** Build the statistics of every channel up front, e.g. on the import thread. */
+    public void buildStatistics() {
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] != null) getStatistics(c);
+        }
+    }
+
+    /** Tell the dataset a channel was modified through {@link #getColumn(int)}. */
+    public void columnChanged(int channel) {
+        if (statistics[channel] != null && columns[channel] != null) {
+            statistics[channel].rebuild(columns[channel], size);
+        }
+    }
+
+    /**
+     * Direct access to a channel's backing array for tight loops.
+     * Only the first {@link #size()} entries are valid, and the array is
+     * replaced when the dataset grows, so do not hold on to it across appends.
+     * Call {@link #columnChanged(int)} after writing to it. Null if the
+     * channel is not present.
+     */
+    public double[] getColumn(int channel) { return columns[channel]; }
+
+    /** Direct access to the time column, with the same caveats as {@link #getColumn(int)}. */
+    public int[] getTimeColumn() { return times; }
+
+    /**
+     * Append a row. {@code values} is indexed by channel and is copied, so
+     * importers can reuse one scratch array for every row; entries of
+     * channels that are not present are ignored.
+     */
+    public int addRow(int time, double[] values) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        times[row] = time;
+        timeIndex = null;
+        if ((time == INVALID_TIME || (row > 0 && time < times[row - 1])) && timeSorted != null) {
+            timeSorted = Boolean.FALSE;
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] == null) continue;
+            columns[c][row] = values[c];
+            if (statistics[c] != null) {
+                statistics[c].append(values[c]);
+            }
+        }
+        return row;
+    }
+
+    /** Append an empty row at 00:00 with all channels zero. */
+    public int addRow() {
+        ensureCapacity(size + 1);
+        int row = size++;
+        times[row] = 0;
+        timeIndex = null;
+        if (row > 0 && times[row - 1] > 0 && timeSorted != null) {
+            timeSorted = Boolean.FALSE;
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] == null) continue;
+            columns[c][row] = 0.0;
+            if (statistics[c] != null) {
+                statistics[c].append(0.0);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Append all rows of {@code other}. Channels are matched by name; generic
+     * channels this dataset lacks are added, and channels {@code other}
+     * lacks are 0 for its rows.
+     */
+    public void addAll(SolarDataset other) {
+        int[] source = new int[columns.length];
+        Arrays.fill(source, -1);
+        for (int oc = 0; oc < other.columns.length; oc++) {
+            if (other.columns[oc] == null) continue;
+            int c = oc < CHANNEL_COUNT ? oc : findChannel(other.channelNames[oc]);
+            if (c < 0) {
+                c = addChannel(other.channelNames[oc], other.channelUnits[oc]);
+                source = Arrays.copyOf(source, columns.length);
+            }
+            if (columns[c] == null && size > 0) materialize(c); // Earlier rows read 0 either way
+            source[c] = oc;
+        }
+
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.times, 0, times, size, other.size);
+        for (int c = 0; c < columns.length; c++) {
+            double[] column = source[c] >= 0 ? other.columns[source[c]] : null;
+            if (columns[c] == null) {
+                if (column == null) continue;
+                materialize(c);
+            }
+            if (column != null) {
+                System.arraycopy(column, 0, columns[c], size, other.size);
+            } else {
+                Arrays.fill(columns[c], size, size + other.size, 0.0);
+            }
+            if (statistics[c] != null) {
+                for (int i = 0; i < other.size; i++) {
+                    statistics[c].append(columns[c][size + i]);
+                }
+            }
+        }
+        size += other.size;
+        timeSorted = null;
+        timeIndex = null;
+    }
+
+    /**
+     * Rows [0, rows) as a dataset sharing this one's arrays instead of
+     * copying them, so another thread can show the finished rows of an import
+     * while the importer keeps appending after them. Appends never touch the
+     * shared rows, but neither dataset may modify them while both are in use;
+     * take the prefix on the thread that writes this dataset.
+     */
+    public SolarDataset prefix(int rows) {
+        if (rows < 0 || rows > size) {
+            throw new IndexOutOfBoundsException("Prefix of " + rows + " rows out of bounds for dataset of size " + size);
+        }
+        SolarDataset prefix = new SolarDataset(times, new double[CHANNEL_COUNT][], rows);
+        prefix.columns = columns.clone();
+        prefix.channelNames = channelNames;
+        prefix.channelUnits = channelUnits;
+        prefix.statistics = new ChannelStatistics[columns.length];
+        prefix.timeSorted = timeSorted == Boolean.TRUE ? Boolean.TRUE : null;
+        return prefix;
+    }
+
+    /** Copy of rows [from, to) as a new dataset. */
+    public SolarDataset slice(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Slice [" + from + ", " + to + ") out of bounds for dataset of size " + size);
+        }
+        SolarDataset slice = emptyCopy(to - from);
+        System.arraycopy(times, from, slice.times, 0, to - from);
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] == null) continue;
+            System.arraycopy(columns[c], from, slice.columns[c], 0, to - from);
+        }
+        slice.size = to - from;
+        slice.timeSorted = timeSorted == Boolean.TRUE ? Boolean.TRUE : null;
+        return slice;
+    }
+
+    public void removeRow(int row) {
+        checkRow(row);
+        int tail = size - row - 1;
+        if (tail > 0) {
+            System.arraycopy(times, row + 1, times, row, tail);
+            for (int c = 0; c < columns.length; c++) {
+                if (columns[c] == null) continue;
+                System.arraycopy(columns[c], row + 1, columns[c], row, tail);
+            }
+        }
+        size--;
+        timeIndex = null;
+        if (timeSorted != Boolean.TRUE) {
+            timeSorted = null; // Removing a row can only make the order better
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (statistics[c] != null) {
+                statistics[c].remove(row);
+            }
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(statistics, null);
+        timeSorted = Boolean.TRUE;
+        timeIndex = null;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= times.length) return;
+        int newCapacity = Math.max(minCapacity, times.length + (times.length >> 1));
+        times = Arrays.copyOf(times, newCapacity);
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] != null) columns[c] = Arrays.copyOf(columns[c], newCapacity);
+        }
+    }
+
+    /** Whether the time column ascends (no invalid times), which {@link #rowRange} relies on. */
+    public boolean isTimeSorted() {
+        if (timeSorted == null) {
+            boolean sorted = true;
+            for (int i = 1; i < size && sorted; i++) {
+                sorted = times[i] >= times[i - 1];
+            }
+            timeSorted = sorted && (size == 0 || times[0] != INVALID_TIME);
+        }
+        return timeSorted;
+    }
+
+    /**
+     * Rows [from, to) whose time lies in [fromMinute, toMinute], found by
+     * binary search. Combine with the range queries of
+     * {@link #getStatistics(int)} for O(log n) statistics of a time window.
+     * Requires {@link #isTimeSorted()}.
+     */
+    public int[] rowRange(int fromMinute, int toMinute) {
+        if (!isTimeSorted()) {
+            throw new IllegalStateException("Time column is not sorted");
+        }
+        int from = firstRowAfter(fromMinute - 1L);
+        int to = Math.max(from, firstRowAfter(toMinute));
+        return new int[]{from, to};
+    }
+
+    /**
+     * Rows whose time lies in [fromMinute, toMinute], in time order. Sorted
+     * data is searched directly; otherwise a sorted index of the time column
+     * is built on first use (one O(n log n) sort) and searched instead.
+     */
+    public int[] rowsInTimeRange(int fromMinute, int toMinute) {
+        if (isTimeSorted()) {
+            int[] range = rowRange(fromMinute, toMinute);
+            int[] rows = new int[range[1] - range[0]];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = range[0] + i;
+            }
+            return rows;
+        }
+
+        int[] index = timeIndex();
+        int from = firstIndexAfter(index, fromMinute - 1L);
+        int to = Math.max(from, firstIndexAfter(index, toMinute));
+        return Arrays.copyOfRange(index, from, to);
+    }
+
+    private int[] timeIndex() {
+        if (timeIndex == null) {
+            // Time in the high half and row in the low half: one primitive sort, ties stay in row order
+            long[] keys = new long[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (times[row] != INVALID_TIME) {
+                    keys[count++] = ((long) times[row] << 32) | row;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            int[] index = new int[count];
+            for (int i = 0; i < count; i++) {
+                index[i] = (int) keys[i];
+            }
+            timeIndex = index;
+        }
+        return timeIndex;
+    }
+
+    /** First position in the time index whose row's time is greater than {@code minutes}. */
+    private int firstIndexAfter(int[] index, long minutes) {
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[index[mid]] <= minutes) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** First row whose time is greater than {@code minutes}, or size. */
+    private int firstRowAfter(long minutes) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= minutes) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** Release spare capacity once an import has finished. */
+    public void trimToSize() {
+        if (times.length == size) return;
+        int capacity = Math.max(size, 1);
+        times = Arrays.copyOf(times, capacity);
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] != null) columns[c] = Arrays.copyOf(columns[c], capacity);
+        }
+    }
+
+    /** Approximate heap retained by the backing arrays, for import diagnostics. */
+    public long estimateRetainedBytes() {
+        long bytes = (long) times.length * Integer.BYTES;
+        for (double[] column : columns) {
+            if (column != null) bytes += (long) column.length * Double.BYTES;
+        }
+        return bytes;
+    }
+
+    /** Channel index for a column name as shown in the UI, or -1 if it is not a channel. */
+    public static int channelIndex(String name) {
+        Channel channel = Channel.forName(name);
+        return channel != null ? channel.index() : -1;
+    }
+
+    /**
+     * Channel plotted on X for a grouped X-axis choice ("Voltage", "Power",
+     * ...) against {@code yColumn}: the mono or poly channel matching the Y
+     * column, mono by default. Plain channel names map to themselves; Time
+     * and unknown groups give -1.
+     */
+    public static int groupedXChannel(String xAxisGroup, String yColumn) {
+        Channel yChannel = Channel.forName(yColumn);
+        boolean isPoly = yChannel != null && yChannel.isPoly();
+        switch (xAxisGroup) {
+            case "Voltage": return isPoly ? V_POLY : V_MONO;
+            case "Current": return isPoly ? I_POLY : I_MONO;
+            case "Power": return isPoly ? P_POLY : P_MONO;
+            case "Efficiency": return isPoly ? EFF_POLY : EFF_MONO;
+            case "Panel Temperature": return isPoly ? PANEL_TEMP_POLY : PANEL_TEMP_MONO;
+            default: return channelIndex(xAxisGroup);
+        }
+    }
+
+    /**
+     * Parse "H:mm" / "HH:mm" (00:00 - 23:59), optionally with ":ss", and
+     * optionally preceded by a "yyyy-MM-dd" date and a space or 'T', into
+     * minutes (seconds are dropped). Written without regex or substring
+     * allocation since importers call it for every row. Returns INVALID_TIME
+     * for anything else.
+     */
+    public static int parseTime(String text) {
+        if (text == null) return INVALID_TIME;
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        long epochDay = 0;
+        if (end - start > 11 && text.charAt(start + 4) == '-' && text.charAt(start + 7) == '-') {
+            int year = digits(text, start, 4);
+            int month = digits(text, start + 5, 2);
+            int day = digits(text, start + 8, 2);
+            char separator = text.charAt(start + 10);
+            if (year < 0 || month < 0 || day < 0 || (separator != ' ' && separator != 'T')) return INVALID_TIME;
+            try {
+                epochDay = LocalDate.of(year, month, day).toEpochDay();
+            } catch (DateTimeException e) {
+                return INVALID_TIME;
+            }
+            start += 11;
+        }
+
+        int colon = text.indexOf(':', start);
+        if (colon < 0 || colon >= end) return INVALID_TIME;
+        if (colon - start < 1 || colon - start > 2) return INVALID_TIME;
+        int hours = digits(text, start, colon - start);
+        if (hours < 0 || hours > 23) return INVALID_TIME;
+        int minutes = end - colon - 1 == 2 || end - colon - 1 == 5 ? digits(text, colon + 1, 2) : -1;
+        if (minutes < 0 || minutes > 59) return INVALID_TIME;
+        if (end - colon - 1 == 5) {
+            int seconds = text.charAt(colon + 3) == ':' ? digits(text, colon + 4, 2) : -1;
+            if (seconds < 0 || seconds > 59) return INVALID_TIME;
+        }
+
+        long total = epochDay * MINUTES_PER_DAY + hours * 60 + minutes;
+        return total > INVALID_TIME && total <= Integer.MAX_VALUE ? (int) total : INVALID_TIME;
+    }
+
+    /** Value of {@code count} decimal digits at {@code from}, or -1 if any is not a digit. */
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    /** Minutes for a date and time of day, as stored in the time column. */
+    public static int toMinutes(LocalDateTime dateTime) {
+        return (int) (dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY)
+                + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    /** "HH:mm" for times on day 0, "yyyy-MM-dd HH:mm" for dated ones. */
+    public static String formatTime(int minutes) {
+        if (minutes == INVALID_TIME) return "";
+        if (minutes < 0 || minutes >= MINUTES_PER_DAY) {
+            return LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC).format(TIMESTAMP_FORMAT);
+        }
+        int hours = minutes / 60;
+        int mins = minutes % 60;
+        char[] text = {
+                (char) ('0' + hours / 10), (char) ('0' + hours % 10), ':',
+                (char) ('0' + mins / 10), (char) ('0' + mins % 10)
+        };
+        return new String(text);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for dataset of size " + size);
+        }
+    }
+}
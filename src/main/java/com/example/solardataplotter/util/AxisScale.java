@@ -0,0 +1,151 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Bounds and tick spacing of one chart axis, computed by the same rules for
+ * the on-screen NumberAxis and for exports drawn straight from data: Time
+ * starts at 00:00 with 15/30/60 minute ticks, positive values start at 0,
+ * and the far end gets about 5% padding. Time spanning several days (see
+ * {@link SolarDataset}) gets hour or day ticks labelled with the date.
+ */
+public class AxisScale {
+    private final double lower;
+    private final double upper;
+    private final double tickUnit;
+    private final boolean time;
+    private final boolean multiDay;
+
+    // Tick spacings (minutes) that land on round clock times, below one day
+    private static final double[] TIME_TICKS = {1, 2, 5, 10, 15, 30, 60, 120, 180, 360, 720};
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DAY_TIME_FORMAT = DateTimeFormatter.ofPattern("MM-dd HH:mm");
+
+    public AxisScale(double lower, double upper, double tickUnit, boolean time) {
+        this.lower = lower;
+        this.upper = upper;
+        this.tickUnit = tickUnit;
+        this.time = time;
+        // One day plus padding stays below 1.5 days; anything longer needs dates on the labels
+        this.multiDay = time && (lower < 0 || upper > SolarDataset.MINUTES_PER_DAY * 1.5);
+    }
+
+    /**
+     * Time axis in minutes. Times within one day run from 00:00 to a little
+     * past {@code max}; longer spans get whole-tick bounds around the data.
+     */
+    public static AxisScale forTime(double min, double max) {
+        if (min < 0 || max >= SolarDataset.MINUTES_PER_DAY) {
+            double range = Math.max(max - min, 1);
+            double tickUnit;
+            if (range <= 360) {
+                tickUnit = 30;
+            } else if (range <= SolarDataset.MINUTES_PER_DAY) {
+                tickUnit = 120;
+            } else if (range <= 3 * SolarDataset.MINUTES_PER_DAY) {
+                tickUnit = 360;
+            } else {
+                double days = range / SolarDataset.MINUTES_PER_DAY;
+                tickUnit = Math.max(1, niceTickUnit(days / 10)) * SolarDataset.MINUTES_PER_DAY;
+            }
+            // Ticks step from the lower bound, so day ticks start at a midnight
+            double alignment = Math.min(tickUnit, SolarDataset.MINUTES_PER_DAY);
+            double lower = Math.floor(min / alignment) * alignment;
+            double upper = lower + (Math.floor((max - lower) / tickUnit) + 1) * tickUnit;
+            return new AxisScale(lower, upper, tickUnit, true);
+        }
+
+        double timeRange = max;
+        double padding;
+        double tickUnit;
+        if (timeRange <= 60) { // Less than 1 hour
+            padding = 15;
+            tickUnit = 15;
+        } else if (timeRange <= 240) { // Up to 4 hours
+            padding = 30;
+            tickUnit = 30;
+        } else {
+            padding = 60;
+            tickUnit = 60;
+        }
+        return new AxisScale(0, max + padding, tickUnit, true);
+    }
+
+    /**
+     * Time axis showing exactly [lower, upper], e.g. a zoomed or panned
+     * window, with about ten ticks on round clock times or whole days.
+     */
+    public static AxisScale forTimeWindow(double lower, double upper) {
+        double roughTick = Math.max(upper - lower, 1) / 10;
+        double tickUnit = Math.max(1, niceTickUnit(roughTick / SolarDataset.MINUTES_PER_DAY)) * SolarDataset.MINUTES_PER_DAY;
+        for (double step : TIME_TICKS) {
+            if (step >= roughTick) {
+                tickUnit = step;
+                break;
+            }
+        }
+        return new AxisScale(lower, upper, tickUnit, true);
+    }
+
+    /** Numeric axis; positive data starts at 0, negative data gets padding below too. */
+    public static AxisScale forValues(double min, double max) {
+        return forValues(min, max, Double.NaN);
+    }
+
+    /** As {@link #forValues(double, double)}, but starting at {@code start} unless it is NaN. */
+    public static AxisScale forValues(double min, double max, double start) {
+        double range = max - min;
+        double padding = Math.max(range * 0.05, 0.1);
+        double lower;
+        if (!Double.isNaN(start)) {
+            lower = start;
+        } else if (min >= 0) {
+            lower = 0;
+        } else {
+            lower = min - padding;
+        }
+        return new AxisScale(lower, max + padding, niceTickUnit(Math.max(range / 10, 0.1)), false);
+    }
+
+    /** Round a tick spacing to 1, 2 or 5 times a power of ten. */
+    public static double niceTickUnit(double roughTick) {
+        double exponent = Math.floor(Math.log10(roughTick));
+        double fraction = roughTick / Math.pow(10, exponent);
+
+        double niceFraction;
+        if (fraction <= 1.5) {
+            niceFraction = 1;
+        } else if (fraction <= 3) {
+            niceFraction = 2;
+        } else if (fraction <= 7) {
+            niceFraction = 5;
+        } else {
+            niceFraction = 10;
+        }
+
+        return niceFraction * Math.pow(10, exponent);
+    }
+
+    /** Tick label: HH:mm on a time axis (with the date if it spans days), one decimal otherwise. */
+    public String format(double value) {
+        if (multiDay) {
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond((long) Math.floor(value) * 60, 0, ZoneOffset.UTC);
+            return dateTime.format(tickUnit >= SolarDataset.MINUTES_PER_DAY ? DAY_FORMAT : DAY_TIME_FORMAT);
+        }
+        if (time) {
+            int totalMinutes = (int) value;
+            return String.format("%02d:%02d", totalMinutes / 60, totalMinutes % 60);
+        }
+        return String.format("%.1f", value);
+    }
+
+    public double getLower() { return lower; }
+    public double getUpper() { return upper; }
+    public double getTickUnit() { return tickUnit; }
+    public boolean isTime() { return time; }
+}
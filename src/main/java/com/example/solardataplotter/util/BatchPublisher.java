@@ -0,0 +1,41 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+/**
+ * Shared bookkeeping for readers: every {@link #BATCH_ROWS} input rows it
+ * checks for cancellation, reports progress and hands the rows appended
+ * since the last batch to the listener.
+ */
+class BatchPublisher {
+    static final int BATCH_ROWS = 5000;
+
+    private final ImportListener listener;
+    private final CancellationToken token;
+    private int published;
+    private int sinceLastBatch;
+
+    BatchPublisher(ImportListener listener, CancellationToken token) {
+        this.listener = listener;
+        this.token = token;
+    }
+
+    /** Call once per input row; cheap except on every BATCH_ROWS-th call. */
+    void tick(SolarDataset dataset, long processed, long total) {
+        if (++sinceLastBatch < BATCH_ROWS) return;
+        sinceLastBatch = 0;
+        publish(dataset, processed, total);
+    }
+
+    /** Check for cancellation and flush any rows not yet handed to the listener. */
+    void publish(SolarDataset dataset, long processed, long total) {
+        token.throwIfCancelled();
+        if (listener == ImportListener.NONE) return;
+
+        listener.progress(processed, total);
+        if (dataset.size() > published) {
+            listener.rowsImported(dataset, published, dataset.size());
+            published = dataset.size();
+        }
+    }
+}
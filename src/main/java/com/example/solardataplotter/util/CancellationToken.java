@@ -0,0 +1,25 @@
+package com.example.solardataplotter.util;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation flag shared between whoever starts an import and
+ * the reader doing the work. Readers poll it every batch of rows.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Import cancelled");
+        }
+    }
+}
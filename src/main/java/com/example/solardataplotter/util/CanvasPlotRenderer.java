@@ -0,0 +1,266 @@
+package com.example.solardataplotter.util;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Draws series straight onto a Canvas laid over the plot area of a LineChart.
+ * The chart keeps its axes, tick formatting, title and legend (its series are
+ * left empty), while the points themselves cost one path per series instead
+ * of one styled Node each. Points landing on an already painted pixel of the
+ * same series are skipped, so redraw cost is bounded by the plot size.
+ */
+public class CanvasPlotRenderer {
+    /** Total point count above which {@link Mode#AUTO} switches to the canvas. */
+    public static final int AUTO_THRESHOLD = Integer.getInteger("solar.canvas.threshold", 20_000);
+
+    private static final double POINT_RADIUS = 3.0;
+
+    public enum Mode {
+        AUTO("Auto"),
+        SYMBOLS("Chart symbols"),
+        CANVAS("Canvas");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final LineChart<Number, Number> chart;
+    private final NumberAxis xAxis;
+    private final NumberAxis yAxis;
+    private final Pane overlay;
+    private final Canvas canvas = new Canvas();
+    private final List<Layer> layers = new ArrayList<>();
+    private boolean redrawPending;
+    private boolean appendPending;
+
+    // Where the last full redraw put the plot, so appended points can be painted on top of it
+    private boolean drawn;
+    private int width;
+    private int height;
+    private double xLower;
+    private double xUpper;
+    private double yLower;
+    private double yUpper;
+    private double x0;
+    private double xScale;
+    private double y0;
+    private double yScale;
+
+    public CanvasPlotRenderer(LineChart<Number, Number> chart, Pane overlay) {
+        this.chart = chart;
+        this.xAxis = (NumberAxis) chart.getXAxis();
+        this.yAxis = (NumberAxis) chart.getYAxis();
+        this.overlay = overlay;
+
+        overlay.setMouseTransparent(true);
+        overlay.getChildren().add(canvas);
+
+        // Axis ranges and the plot area size decide where every point lands
+        InvalidationListener redraw = obs -> requestRedraw();
+        xAxis.lowerBoundProperty().addListener(redraw);
+        xAxis.upperBoundProperty().addListener(redraw);
+        xAxis.widthProperty().addListener(redraw);
+        yAxis.lowerBoundProperty().addListener(redraw);
+        yAxis.upperBoundProperty().addListener(redraw);
+        yAxis.heightProperty().addListener(redraw);
+        chart.widthProperty().addListener(redraw);
+        chart.heightProperty().addListener(redraw);
+    }
+
+    /** Whether {@code mode} renders {@code pointCount} points on the canvas; null means AUTO. */
+    public static boolean useCanvas(Mode mode, long pointCount) {
+        return mode == Mode.CANVAS || (mode != Mode.SYMBOLS && pointCount > AUTO_THRESHOLD);
+    }
+
+    /** Queue a series for drawing. Only the first {@code count} entries of x/y are used. */
+    public void addSeries(double[] x, double[] y, int count, Color color) {
+        addSeries(x, y, count, color, false);
+    }
+
+    /**
+     * As above; if {@code ascending} (x never decreases) a redraw only visits
+     * the points inside the X range, found by binary search, so zooming into a
+     * short window of a long series costs what that window holds.
+     */
+    public void addSeries(double[] x, double[] y, int count, Color color, boolean ascending) {
+        layers.add(new Layer(x, y, count, color, ascending));
+    }
+
+    /**
+     * Point series {@code index} (in the order added) at its current arrays
+     * after points were added or removed in place; call {@link #requestRedraw}.
+     */
+    public void updateSeries(int index, double[] x, double[] y, int count, boolean ascending) {
+        Layer layer = layers.get(index);
+        layer.x = x;
+        layer.y = y;
+        layer.count = count;
+        layer.ascending = ascending;
+    }
+
+    /**
+     * Points were appended to series {@code index}: its arrays (which may be
+     * new ones) now hold {@code count} points, the earlier ones unchanged.
+     * Unless a full redraw is due anyway, only the new points are painted, on
+     * top of the current image, so the cost follows the new data.
+     */
+    public void appendPoints(int index, double[] x, double[] y, int count, boolean ascending) {
+        updateSeries(index, x, y, count, ascending);
+        if (appendPending || redrawPending) return;
+        appendPending = true;
+        Platform.runLater(() -> {
+            appendPending = false;
+            if (!redrawPending) drawAppended();
+        });
+    }
+
+    public void clear() {
+        layers.clear();
+        requestRedraw();
+    }
+
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+
+    /** Redraw on the next pulse; repeated requests before then collapse into one. */
+    public void requestRedraw() {
+        if (redrawPending) return;
+        redrawPending = true;
+        Platform.runLater(() -> {
+            redrawPending = false;
+            redraw();
+        });
+    }
+
+    public void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawn = false;
+
+        Node plotBackground = chart.lookup(".chart-plot-background");
+        if (layers.isEmpty() || plotBackground == null) {
+            canvas.setVisible(false);
+            return;
+        }
+
+        // Cover exactly the plot area of the chart
+        chart.layout();
+        Bounds plot = overlay.sceneToLocal(plotBackground.localToScene(plotBackground.getLayoutBounds()));
+        canvas.setLayoutX(plot.getMinX());
+        canvas.setLayoutY(plot.getMinY());
+        canvas.setWidth(plot.getWidth());
+        canvas.setHeight(plot.getHeight());
+        canvas.setVisible(true);
+
+        width = (int) Math.ceil(plot.getWidth());
+        height = (int) Math.ceil(plot.getHeight());
+        if (width <= 0 || height <= 0) return;
+
+        // NumberAxis is linear: derive offset and scale once instead of per point
+        xLower = xAxis.getLowerBound();
+        xUpper = xAxis.getUpperBound();
+        yLower = yAxis.getLowerBound();
+        yUpper = yAxis.getUpperBound();
+        x0 = xAxis.getDisplayPosition(xLower);
+        xScale = (xAxis.getDisplayPosition(xUpper) - x0) / (xUpper - xLower);
+        y0 = yAxis.getDisplayPosition(yLower);
+        yScale = (yAxis.getDisplayPosition(yUpper) - y0) / (yUpper - yLower);
+
+        for (Layer layer : layers) {
+            if (layer.painted == null || layer.painted.size() < width * height) {
+                layer.painted = new BitSet(width * height);
+            } else {
+                layer.painted.clear();
+            }
+            layer.drawn = 0;
+            drawPoints(gc, layer);
+        }
+        drawn = true;
+    }
+
+    /** Paint the points appended since the last draw; fall back to a full redraw if there was none. */
+    private void drawAppended() {
+        for (Layer layer : layers) {
+            if (!drawn || layer.painted == null || layer.drawn > layer.count) {
+                redraw(); // Nothing to paint on, or points were removed
+                return;
+            }
+        }
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (Layer layer : layers) {
+            drawPoints(gc, layer);
+        }
+    }
+
+    /** Paint points [layer.drawn, layer.count) with the transform of the last redraw. */
+    private void drawPoints(GraphicsContext gc, Layer layer) {
+        gc.setFill(layer.color);
+        gc.beginPath();
+
+        int from = layer.drawn;
+        int to = layer.count;
+        if (layer.ascending) {
+            from = Math.max(from, LodPyramid.firstAtLeast(layer.x, layer.count, xLower));
+            to = Math.min(to, LodPyramid.firstAbove(layer.x, layer.count, xUpper));
+        }
+        for (int i = from; i < to; i++) {
+            double xValue = layer.x[i];
+            double yValue = layer.y[i];
+            if (xValue < xLower || xValue > xUpper || yValue < yLower || yValue > yUpper) continue;
+
+            double px = x0 + (xValue - xLower) * xScale;
+            double py = y0 + (yValue - yLower) * yScale;
+            int column = Math.min((int) px, width - 1);
+            int row = Math.min((int) py, height - 1);
+            int cell = row * width + column;
+            if (cell < 0 || layer.painted.get(cell)) continue;
+            layer.painted.set(cell);
+
+            gc.moveTo(px + POINT_RADIUS, py);
+            gc.arc(px, py, POINT_RADIUS, POINT_RADIUS, 0, 360);
+        }
+
+        gc.fill();
+        layer.drawn = layer.count;
+    }
+
+    private static class Layer {
+        double[] x;
+        double[] y;
+        int count;
+        final Color color;
+        boolean ascending;
+        int drawn; // Points painted since the last full redraw
+        BitSet painted; // Pixels this series covers, so a point on one already painted is skipped
+
+        Layer(double[] x, double[] y, int count, Color color, boolean ascending) {
+            this.x = x;
+            this.y = y;
+            this.count = count;
+            this.color = color;
+            this.ascending = ascending;
+        }
+    }
+}
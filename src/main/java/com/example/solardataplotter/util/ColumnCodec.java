@@ -0,0 +1,303 @@
+package com.example.solardataplotter.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed column encodings in the style of Facebook's Gorilla time series
+ * store: delta-of-delta for the time column and XOR of consecutive IEEE bit
+ * patterns for measurements. Logger channels change slowly from minute to
+ * minute (and sit at exactly 0 all night), so most values take a few bits
+ * instead of 64.
+ *
+ * Columns are cut into blocks of {@link #BLOCK_SIZE} rows that each start from
+ * a raw value, so a single row is read by decoding only its block.
+ */
+public class ColumnCodec {
+    public static final int BLOCK_SIZE = 1024;
+
+    public static DoubleColumn encodeDoubles(double[] values, int size) {
+        BitWriter out = new BitWriter(size);
+        long[] blockStarts = new long[blockCount(size) + 1];
+
+        for (int block = 0; block * BLOCK_SIZE < size; block++) {
+            blockStarts[block] = out.position;
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, size);
+
+            long previous = Double.doubleToRawLongBits(values[from]);
+            out.write(previous, 64);
+            int previousLeading = -1;
+            int previousTrailing = 0;
+
+            for (int i = from + 1; i < to; i++) {
+                long current = Double.doubleToRawLongBits(values[i]);
+                long xor = current ^ previous;
+                previous = current;
+
+                if (xor == 0) {
+                    out.write(0, 1);
+                    continue;
+                }
+
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    // Meaningful bits fit in the previous window: no need to repeat its position
+                    out.write(0b10, 2);
+                    out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int significant = 64 - leading - trailing;
+                    out.write(0b11, 2);
+                    out.write(leading, 5);
+                    out.write(significant & 63, 6); // 64 is stored as 0
+                    out.write(xor >>> trailing, significant);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+        }
+
+        blockStarts[blockStarts.length - 1] = out.position;
+        return new DoubleColumn(size, blockStarts, out.toArray());
+    }
+
+    public static TimeColumn encodeTimes(int[] times, int size) {
+        BitWriter out = new BitWriter(size);
+        long[] blockStarts = new long[blockCount(size) + 1];
+
+        for (int block = 0; block * BLOCK_SIZE < size; block++) {
+            blockStarts[block] = out.position;
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, size);
+
+            out.write(times[from], 32);
+            if (to - from > 1) {
+                int delta = times[from + 1] - times[from];
+                out.write(delta, 32);
+
+                for (int i = from + 2; i < to; i++) {
+                    int nextDelta = times[i] - times[i - 1];
+                    int deltaOfDelta = nextDelta - delta;
+                    delta = nextDelta;
+
+                    // Evenly spaced rows cost one bit; small jitter a handful
+                    if (deltaOfDelta == 0) {
+                        out.write(0, 1);
+                    } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                        out.write(0b10, 2);
+                        out.write(deltaOfDelta, 7);
+                    } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                        out.write(0b110, 3);
+                        out.write(deltaOfDelta, 9);
+                    } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                        out.write(0b1110, 4);
+                        out.write(deltaOfDelta, 12);
+                    } else {
+                        out.write(0b1111, 4);
+                        out.write(deltaOfDelta, 32);
+                    }
+                }
+            }
+        }
+
+        blockStarts[blockStarts.length - 1] = out.position;
+        return new TimeColumn(size, blockStarts, out.toArray());
+    }
+
+    static int blockCount(int size) {
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /** Bit stream and block index shared by both column kinds. */
+    public abstract static class EncodedColumn {
+        final int size;
+        final long[] blockStarts; // Bit offset of every block, plus the end of the stream
+        final long[] words;
+
+        EncodedColumn(int size, long[] blockStarts, long[] words) {
+            this.size = size;
+            this.blockStarts = blockStarts;
+            this.words = words;
+        }
+
+        public int size() { return size; }
+
+        public int getBlockCount() { return blockStarts.length - 1; }
+
+        /** Encoded size including the block index. */
+        public long getCompressedBytes() {
+            return (long) (words.length + blockStarts.length) * Long.BYTES;
+        }
+
+        int blockLength(int block) {
+            return Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+        }
+
+        void checkRow(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " rows");
+            }
+        }
+    }
+
+    public static class DoubleColumn extends EncodedColumn {
+        DoubleColumn(int size, long[] blockStarts, long[] words) {
+            super(size, blockStarts, words);
+        }
+
+        /** Value of one row; decodes at most one block. */
+        public double get(int row) {
+            checkRow(row);
+            double[] block = new double[BLOCK_SIZE];
+            decodeBlock(row / BLOCK_SIZE, block, 0, row % BLOCK_SIZE + 1);
+            return block[row % BLOCK_SIZE];
+        }
+
+        /** Decode a whole block into {@code out} starting at {@code offset}; returns the row count. */
+        public int decodeBlock(int block, double[] out, int offset) {
+            return decodeBlock(block, out, offset, blockLength(block));
+        }
+
+        /** Decode the whole column into {@code out}, which needs room for {@link #size()} values. */
+        public void decode(double[] out) {
+            for (int block = 0; block < getBlockCount(); block++) {
+                decodeBlock(block, out, block * BLOCK_SIZE);
+            }
+        }
+
+        private int decodeBlock(int block, double[] out, int offset, int count) {
+            BitReader in = new BitReader(words, blockStarts[block]);
+            long previous = in.read(64);
+            out[offset] = Double.longBitsToDouble(previous);
+            int leading = 0;
+            int trailing = 0;
+
+            for (int i = 1; i < count; i++) {
+                if (in.read(1) != 0) {
+                    if (in.read(1) != 0) {
+                        leading = (int) in.read(5);
+                        int significant = (int) in.read(6);
+                        if (significant == 0) significant = 64;
+                        trailing = 64 - leading - significant;
+                    }
+                    previous ^= in.read(64 - leading - trailing) << trailing;
+                }
+                out[offset + i] = Double.longBitsToDouble(previous);
+            }
+            return count;
+        }
+    }
+
+    public static class TimeColumn extends EncodedColumn {
+        TimeColumn(int size, long[] blockStarts, long[] words) {
+            super(size, blockStarts, words);
+        }
+
+        public int get(int row) {
+            checkRow(row);
+            int[] block = new int[BLOCK_SIZE];
+            decodeBlock(row / BLOCK_SIZE, block, 0, row % BLOCK_SIZE + 1);
+            return block[row % BLOCK_SIZE];
+        }
+
+        public int decodeBlock(int block, int[] out, int offset) {
+            return decodeBlock(block, out, offset, blockLength(block));
+        }
+
+        public void decode(int[] out) {
+            for (int block = 0; block < getBlockCount(); block++) {
+                decodeBlock(block, out, block * BLOCK_SIZE);
+            }
+        }
+
+        private int decodeBlock(int block, int[] out, int offset, int count) {
+            BitReader in = new BitReader(words, blockStarts[block]);
+            int time = (int) in.read(32);
+            out[offset] = time;
+            if (count == 1) return count;
+
+            int delta = (int) in.read(32);
+            time += delta;
+            out[offset + 1] = time;
+
+            for (int i = 2; i < count; i++) {
+                if (in.read(1) != 0) {
+                    if (in.read(1) == 0) {
+                        delta += signed(in.read(7), 7);
+                    } else if (in.read(1) == 0) {
+                        delta += signed(in.read(9), 9);
+                    } else if (in.read(1) == 0) {
+                        delta += signed(in.read(12), 12);
+                    } else {
+                        delta += (int) in.read(32);
+                    }
+                }
+                time += delta;
+                out[offset + i] = time;
+            }
+            return count;
+        }
+
+        /** Undo the two's complement truncation of a deltaOfDelta in [-2^(bits-1) + 1, 2^(bits-1)]. */
+        private static int signed(long value, int bits) {
+            return value > (1L << (bits - 1)) ? (int) (value - (1L << bits)) : (int) value;
+        }
+    }
+
+    /** Most-significant-bit-first writer over a growing long[]. */
+    private static class BitWriter {
+        long[] words;
+        long position;
+
+        BitWriter(int expectedValues) {
+            // Guess about 16 bits per value; grows as needed
+            words = new long[Math.max(expectedValues / 4, 16)];
+        }
+
+        void write(long value, int bits) {
+            if (bits == 0) return;
+            if (bits < 64) value &= (1L << bits) - 1;
+
+            int word = (int) (position >>> 6);
+            int free = 64 - (int) (position & 63);
+            if (word + 1 >= words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            if (bits <= free) {
+                words[word] |= value << (free - bits);
+            } else {
+                words[word] |= value >>> (bits - free);
+                words[word + 1] |= value << (64 - (bits - free));
+            }
+            position += bits;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(words, (int) ((position + 63) >>> 6));
+        }
+    }
+
+    private static class BitReader {
+        private final long[] words;
+        private long position;
+
+        BitReader(long[] words, long position) {
+            this.words = words;
+            this.position = position;
+        }
+
+        long read(int bits) {
+            if (bits == 0) return 0;
+            int word = (int) (position >>> 6);
+            int used = (int) (position & 63);
+            int free = 64 - used;
+            position += bits;
+
+            long result = (words[word] << used) >>> (64 - bits);
+            if (bits > free) {
+                result |= words[word + 1] >>> (64 - (bits - free));
+            }
+            return result;
+        }
+    }
+}
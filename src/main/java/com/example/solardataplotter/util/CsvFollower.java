@@ -0,0 +1,166 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Follows a CSV file that a logger keeps appending to, like {@code tail -f}.
+ * The file is read from the start once, then only the bytes past the last
+ * complete line are read and parsed, so the work per update follows the
+ * amount of new data. Every read hands its rows to the listener as one batch,
+ * and batches are at least {@link #MIN_BATCH_MILLIS} apart, which bounds how
+ * often the UI has to refresh.
+ *
+ * A {@link WatchService} on the directory wakes the follower when the file
+ * changes; it also re-checks every {@link #POLL_MILLIS} because some
+ * platforms only poll for watch events every few seconds. A file that
+ * shrinks or is replaced (log rotation) is followed again from its header,
+ * after {@link ImportListener#reset()} tells the listener to drop its rows.
+ */
+public class CsvFollower {
+    public static final long MIN_BATCH_MILLIS = 250;
+    private static final long POLL_MILLIS = 500;
+    private static final int MIN_BUFFER_BYTES = 64 * 1024;
+    // Catching up with a large file is read and published in chunks of this size
+    private static final int CHUNK_BYTES = 4 << 20;
+
+    private final File file;
+    private final ImportListener listener;
+    private final CancellationToken token = new CancellationToken();
+    private ByteBuffer buffer = ByteBuffer.allocate(MIN_BUFFER_BYTES);
+    private ImportSchema.Mapping mapping;
+    private MappedCsvReader parser;
+    private Object fileKey;
+    private long position; // Start of the first line not parsed yet
+    private long rowCount;
+    private Thread thread;
+
+    public CsvFollower(File file, ImportListener listener) {
+        this.file = file.getAbsoluteFile();
+        this.listener = listener;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Start following on a daemon thread. */
+    public void start() {
+        thread = new Thread(this::run, "csv-follow");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        token.cancel();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        Path path = file.toPath();
+        System.out.println("Following " + path);
+        try (WatchService watcher = path.getFileSystem().newWatchService()) {
+            path.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            while (!token.isCancelled()) {
+                long started = System.currentTimeMillis();
+                try {
+                    readAppended();
+                } catch (IOException e) {
+                    // Typically the file is being rotated; try again on the next event
+                    System.err.println("Error reading " + file.getName() + ": " + e.getMessage());
+                }
+
+                WatchKey key = watcher.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents(); // Any change in the directory just means "check the size"
+                    key.reset();
+                }
+                long wait = started + MIN_BATCH_MILLIS - System.currentTimeMillis();
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                }
+            }
+        } catch (InterruptedException | CancellationException e) {
+            // Stopped
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + file + ": " + e.getMessage());
+        }
+        System.out.println("Stopped following " + file.getName() + " after " + rowCount + " rows");
+    }
+
+    /** Parse every complete line appended since the last call and publish the rows. */
+    void readAppended() throws IOException {
+        Path path = file.toPath();
+        if (!Files.isRegularFile(path)) return; // Rotated away; wait for the new file
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Object key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            if (size < position || (fileKey != null && !Objects.equals(key, fileKey))) {
+                System.out.println(file.getName() + " was truncated or replaced, following it from the start");
+                position = 0;
+                parser = null;
+                rowCount = 0;
+                listener.reset();
+            }
+            fileKey = key;
+
+            while (position < size) {
+                token.throwIfCancelled();
+                long pending = size - position;
+                if (pending > buffer.capacity() && buffer.capacity() < CHUNK_BYTES) {
+                    buffer = ByteBuffer.allocate((int) Math.min(pending, CHUNK_BYTES));
+                }
+                int length = (int) Math.min(pending, buffer.capacity());
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) break;
+                }
+                length = buffer.position();
+
+                int end = MappedCsvReader.lastLineEnd(buffer, length);
+                if (end == 0) {
+                    if (length < buffer.capacity()) return; // The last line is still being written
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2); // A line longer than the buffer
+                    continue;
+                }
+
+                int start = 0;
+                if (parser == null) {
+                    int headerEnd = MappedCsvReader.indexOf(buffer, (byte) '\n', 0, end);
+                    mapping = MappedCsvReader.readHeader(buffer, headerEnd);
+                    parser = new MappedCsvReader(mapping, new BatchPublisher(ImportListener.NONE, token));
+                    start = headerEnd + 1;
+                }
+                // Logger lines are around 80-120 bytes, the batch grows if needed
+                SolarDataset batch = mapping.newDataset((end - start) / 80 + 16);
+                parser.parseRange(buffer, start, end, batch);
+                position += end;
+
+                listener.progress(position, size);
+                if (!batch.isEmpty()) {
+                    rowCount += batch.size();
+                    listener.rowsImported(batch, 0, batch.size());
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,12 @@
 // DataValidator.java
 package com.example.solardataplotter.util;
 
-import java.util.regex.Pattern;
+import com.example.solardataplotter.model.SolarDataset;
 
 public class DataValidator {
-    private static final Pattern TIME_PATTERN = Pattern.compile("^([0-1]?[0-9]|2[0-3]):[0-5][0-9]$");
-
+    /** HH:mm, optionally with seconds and a yyyy-MM-dd date (see {@link SolarDataset#parseTime}). */
     public static boolean isValidTime(String time) {
-        return time != null && TIME_PATTERN.matcher(time).matches();
+        return SolarDataset.parseTime(time) != SolarDataset.INVALID_TIME;
     }
 
     public static boolean isValidNumber(String number) {
@@ -0,0 +1,145 @@
+package com.example.solardataplotter.util;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a series to roughly as many points as the chart can show while
+ * keeping its visual shape. Methods return the indices of the points to keep
+ * (ascending), so callers can still map plotted points back to table rows.
+ */
+public class Downsampler {
+
+    public enum Mode {
+        /** Largest-Triangle-Three-Buckets: keeps the point forming the largest triangle per bucket. */
+        LTTB("LTTB"),
+        /** Min and max of every x-bucket (pixel column): every peak and dip survives. */
+        MIN_MAX("Min/Max per pixel"),
+        /** Plot every point. */
+        NONE("Off");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public static int[] downsample(Mode mode, double[] x, double[] y, int count, int threshold) {
+        switch (mode) {
+            case LTTB: return lttb(x, y, count, threshold);
+            case MIN_MAX: return minMax(x, y, count, threshold);
+            default: return identity(count);
+        }
+    }
+
+    public static int[] lttb(double[] x, double[] y, int count, int threshold) {
+        if (threshold >= count || threshold < 3) {
+            return identity(count);
+        }
+
+        int[] sampled = new int[threshold];
+        int sampledIndex = 0;
+        // Bucket size, leaving room for the fixed first and last points
+        double every = (double) (count - 2) / (threshold - 2);
+
+        int a = 0;
+        sampled[sampledIndex++] = a;
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average point of the next bucket
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, count);
+            double avgX = 0;
+            double avgY = 0;
+            int avgLength = avgEnd - avgStart;
+            if (avgLength > 0) {
+                for (int j = avgStart; j < avgEnd; j++) {
+                    avgX += x[j];
+                    avgY += y[j];
+                }
+                avgX /= avgLength;
+                avgY /= avgLength;
+            } else {
+                avgX = x[count - 1];
+                avgY = y[count - 1];
+            }
+
+            // Point of the current bucket forming the largest triangle with a and the average
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = Math.min((int) Math.floor((i + 1) * every) + 1, count - 1);
+            double ax = x[a];
+            double ay = y[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - x[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+
+            sampled[sampledIndex++] = next;
+            a = next;
+        }
+
+        sampled[sampledIndex] = count - 1;
+        return sampled;
+    }
+
+    /**
+     * Splits the x range into threshold / 2 equal buckets and keeps the
+     * lowest and highest point of each. Works for unsorted x too (scatter
+     * plots against radiation, temperature, ...).
+     */
+    public static int[] minMax(double[] x, double[] y, int count, int threshold) {
+        if (threshold >= count || threshold < 2) {
+            return identity(count);
+        }
+
+        int buckets = threshold / 2;
+        double xMin = Double.POSITIVE_INFINITY;
+        double xMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            xMin = Math.min(xMin, x[i]);
+            xMax = Math.max(xMax, x[i]);
+        }
+        double bucketWidth = (xMax - xMin) / buckets;
+
+        int[] minIndex = new int[buckets];
+        int[] maxIndex = new int[buckets];
+        Arrays.fill(minIndex, -1);
+        Arrays.fill(maxIndex, -1);
+
+        for (int i = 0; i < count; i++) {
+            int bucket = bucketWidth > 0 ? (int) ((x[i] - xMin) / bucketWidth) : 0;
+            if (bucket >= buckets) bucket = buckets - 1;
+            if (minIndex[bucket] < 0 || y[i] < y[minIndex[bucket]]) minIndex[bucket] = i;
+            if (maxIndex[bucket] < 0 || y[i] > y[maxIndex[bucket]]) maxIndex[bucket] = i;
+        }
+
+        int[] selected = new int[buckets * 2];
+        int n = 0;
+        for (int b = 0; b < buckets; b++) {
+            if (minIndex[b] < 0) continue;
+            selected[n++] = minIndex[b];
+            if (maxIndex[b] != minIndex[b]) selected[n++] = maxIndex[b];
+        }
+        selected = Arrays.copyOf(selected, n);
+        Arrays.sort(selected); // Keep original point order for line drawing
+        return selected;
+    }
+
+    private static int[] identity(int count) {
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+}
@@ -1,349 +1,316 @@
 package com.example.solardataplotter.util;
 
-import com.example.solardataplotter.model.SolarDataPoint;
+import com.example.solardataplotter.model.SolarDataset;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
 
 public class ExcelImporter {
+    // Set -Dsolar.xlsx.dom=true to read .xlsx through the XSSFWorkbook path for comparison
+    private static final boolean FORCE_XLSX_DOM = Boolean.getBoolean("solar.xlsx.dom");
+    // Set -Dsolar.csv.legacy=true to read CSV line by line with String.split for comparison
+    private static final boolean FORCE_CSV_LEGACY = Boolean.getBoolean("solar.csv.legacy");
+    // CSV files above this size are split across all cores
+    private static final long PARALLEL_CSV_BYTES = 32L << 20;
+
+    public static SolarDataset importData(File file) {
+        return importData(file, ImportListener.NONE, new CancellationToken());
+    }
 
-    public static List<SolarDataPoint> importData(File file) {
+    /**
+     * Import with progress reporting and cancellation, for background use.
+     * Throws CancellationException if the token is cancelled mid-import.
+     */
+    public static SolarDataset importData(File file, ImportListener listener, CancellationToken token) {
         String fileName = file.getName().toLowerCase();
         System.out.println("Importing file: " + fileName);
 
         try {
-            if (fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) {
-                return importExcelData(file, fileName);
+            if (fileName.endsWith(".xlsx") && !FORCE_XLSX_DOM) {
+                return StreamingXlsxReader.read(file, listener, token);
+            } else if (fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) {
+                return importExcelData(file, fileName, 0, listener, token);
+            } else if (fileName.endsWith(".csv") && !FORCE_CSV_LEGACY) {
+                return file.length() >= PARALLEL_CSV_BYTES ?
+                        ParallelCsvReader.read(file, listener, token) : MappedCsvReader.read(file, listener, token);
             } else if (fileName.endsWith(".csv")) {
-                return importCsvData(file);
+                return importCsvData(file, listener, token);
             } else {
                 throw new IllegalArgumentException("Unsupported file format: " + fileName);
             }
+        } catch (CancellationException e) {
+            System.out.println("Import cancelled: " + fileName);
+            throw e;
         } catch (Exception e) {
             System.err.println("Error in importData: " + e.getMessage());
             throw new RuntimeException("Failed to import data: " + e.getMessage(), e);
         }
     }
 
-    private static List<SolarDataPoint> importExcelData(File file, String fileName) {
-        List<SolarDataPoint> dataPoints = new ArrayList<>();
+    /**
+     * Whether the sheets of this workbook are streamed one at a time (.xlsx);
+     * otherwise ({@code .xls}, or .xlsx with solar.xlsx.dom) the whole
+     * workbook has to be loaded, see {@link #openWorkbook(File)}.
+     */
+    static boolean streamsSheets(File file) {
+        return file.getName().toLowerCase().endsWith(".xlsx") && !FORCE_XLSX_DOM;
+    }
+
+    /** Number of sheets of a streamed workbook, read from its sheet list only. */
+    static int sheetCount(File file) throws IOException {
+        try {
+            return StreamingXlsxReader.sheetNames(file).size();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Cannot list sheets of " + file.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Load a whole .xls/.xlsx workbook, to read any number of its sheets with {@link #importSheet(Workbook, int, ImportListener, CancellationToken)}. */
+    static Workbook openWorkbook(File file) throws IOException {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            return file.getName().toLowerCase().endsWith(".xlsx") ? new XSSFWorkbook(fis) : new HSSFWorkbook(fis);
+        }
+    }
+
+    /** Import one sheet of a streamed workbook (0 = first). */
+    static SolarDataset importSheet(File file, int sheetIndex, ImportListener listener, CancellationToken token) {
+        try {
+            return StreamingXlsxReader.read(file, sheetIndex, listener, token);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to import sheet " + sheetIndex + " of " + file.getName() + ": " + e.getMessage(), e);
+        }
+    }
 
-        try (FileInputStream fis = new FileInputStream(file);
-             Workbook workbook = fileName.endsWith(".xlsx") ?
-                     new XSSFWorkbook(fis) : new HSSFWorkbook(fis)) {
+    /**
+     * Import several files, or one workbook with several sheets, merged into
+     * one timeline by {@link MergedImporter}. A single CSV or single-sheet
+     * workbook takes the usual path.
+     */
+    public static SolarDataset importData(List<File> files, ImportListener listener, CancellationToken token) {
+        Map<File, Workbook> loaded = new HashMap<>();
+        if (files.size() == 1) {
+            File file = files.get(0);
+            String fileName = file.getName().toLowerCase();
+            boolean workbook = fileName.endsWith(".xlsx") || fileName.endsWith(".xls");
+            try {
+                if (!workbook || (streamsSheets(file) && sheetCount(file) <= 1)) {
+                    return importData(file, listener, token);
+                }
+                if (!streamsSheets(file)) {
+                    // Loaded once, whether it turns out to have one sheet or several
+                    ImportMetrics metrics = ImportMetrics.start(workbookMode(fileName));
+                    try {
+                        Workbook opened = openWorkbook(file);
+                        if (opened.getNumberOfSheets() <= 1) {
+                            try (opened) {
+                                return importExcelData(opened, 0, listener, token, metrics);
+                            }
+                        }
+                        loaded.put(file, opened);
+                    } finally {
+                        metrics.close(); // The merge measures itself
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to import data: " + e.getMessage(), e);
+            }
+        }
 
-            Sheet sheet = workbook.getSheetAt(0); // Get first sheet
+        try {
+            return MergedImporter.read(files, loaded, ForkJoinPool.commonPool(), listener, token);
+        } catch (CancellationException e) {
+            System.out.println("Import cancelled: " + files.size() + " files");
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Error in importData: " + e.getMessage());
+            throw new RuntimeException("Failed to import data: " + e.getMessage(), e);
+        }
+    }
+
+    private static SolarDataset importExcelData(File file, String fileName, int sheetIndex, ImportListener listener,
+                                                CancellationToken token) {
+        ImportMetrics metrics = ImportMetrics.start(workbookMode(fileName));
+        try (Workbook workbook = openWorkbook(file)) {
+            return importExcelData(workbook, sheetIndex, listener, token, metrics);
+        } catch (IOException e) {
+            System.err.println("Error reading Excel file: " + e.getMessage());
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+        } finally {
+            metrics.close();
+        }
+    }
+
+    /** Import one sheet of a workbook whose loading {@code metrics} already measures. */
+    private static SolarDataset importExcelData(Workbook workbook, int sheetIndex, ImportListener listener,
+                                                CancellationToken token, ImportMetrics metrics) {
+        SolarDataset dataset = importSheet(workbook, sheetIndex, listener, token);
+        metrics.report(dataset.size());
+        logRetainedSize(dataset);
+        return dataset;
+    }
+
+    private static String workbookMode(String fileName) {
+        return fileName.endsWith(".xlsx") ? "XLSX (workbook)" : "XLS (workbook)";
+    }
+
+    /**
+     * Import one sheet (0 = first) of a loaded workbook. POI workbooks are
+     * not thread-safe, so callers reading several sheets of one workbook in
+     * parallel must take turns.
+     */
+    static SolarDataset importSheet(Workbook workbook, int sheetIndex, ImportListener listener, CancellationToken token) {
+        SolarDataset dataset;
+        try {
+            ExcelRowDecoder decoder = new ExcelRowDecoder(workbook);
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
             System.out.println("Excel sheet: " + sheet.getSheetName());
             System.out.println("Total rows: " + (sheet.getLastRowNum() + 1));
 
-            // Check header row to verify format
+            // Header row decides which column feeds which channel
             Row headerRow = sheet.getRow(0);
+            List<String> header = new ArrayList<>();
             if (headerRow != null) {
                 System.out.print("Header columns: ");
                 for (int i = 0; i < headerRow.getLastCellNum(); i++) {
                     Cell cell = headerRow.getCell(i);
+                    header.add(cell != null ? decoder.cellText(cell) : null);
                     if (cell != null) {
-                        System.out.print("[" + i + "]=" + getCellValue(cell) + " ");
+                        System.out.print("[" + i + "]=" + header.get(i) + " ");
                     }
                 }
                 System.out.println();
             }
+            ImportSchema.Mapping mapping = headerRow != null ?
+                    ImportSchema.getDefault().map(header) : ImportSchema.positional(header);
+            System.out.println("Column mapping: " + mapping);
 
             // Skip header row (row 0) and start from row 1
-            int validRows = 0;
+            dataset = mapping.newDataset(Math.max(sheet.getLastRowNum(), 1));
+            double[] values = new double[mapping.getChannelCount()];
+            BatchPublisher publisher = new BatchPublisher(listener, token);
             for (int i = 1; i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
                 if (row != null) {
-                    SolarDataPoint point = createDataPointFromRow(row);
-                    if (point != null) {
-                        dataPoints.add(point);
-                        validRows++;
-                    }
+                    decoder.readRow(row, mapping, values, dataset);
                 }
+                publisher.tick(dataset, i, sheet.getLastRowNum());
             }
+            publisher.publish(dataset, sheet.getLastRowNum(), sheet.getLastRowNum());
+            dataset.trimToSize();
 
-            System.out.println("Successfully imported " + validRows + " data points from Excel");
+            System.out.println("Successfully imported " + dataset.size() + " data points from Excel");
 
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("Error reading Excel file: " + e.getMessage());
             throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
         }
 
-        return dataPoints;
+        return dataset;
     }
 
-    private static List<SolarDataPoint> importCsvData(File file) {
-        List<SolarDataPoint> dataPoints = new ArrayList<>();
+    /** The line-by-line String.split reader that solar.csv.legacy selects, also used by the CSV benchmark. */
+    static SolarDataset importCsvData(File file, ImportListener listener, CancellationToken token) {
+        SolarDataset dataset = new SolarDataset(); // Replaced once the header is known
+        ImportSchema.Mapping mapping = null;
+        double[] values = null;
+        ImportMetrics metrics = ImportMetrics.start("CSV (line reader)");
 
         try (BufferedReader br = new BufferedReader(new FileReader(file))) {
             String line;
             boolean isFirstLine = true;
             int lineNumber = 0;
-            int validRows = 0;
+            long bytesRead = 0; // Approximate for multi-byte characters, good enough for progress
+            BatchPublisher publisher = new BatchPublisher(listener, token);
 
             while ((line = br.readLine()) != null) {
                 lineNumber++;
+                bytesRead += line.length() + 1;
+                publisher.tick(dataset, bytesRead, file.length());
                 if (isFirstLine) {
                     System.out.println("CSV Header: " + line);
+                    mapping = ImportSchema.getDefault().map(ImportSchema.splitHeader(line));
+                    System.out.println("Column mapping: " + mapping);
+                    // Rough first guess of ~120 bytes per logger line, the dataset grows if needed
+                    dataset = mapping.newDataset((int) Math.min(file.length() / 120 + 16, Integer.MAX_VALUE - 8));
+                    values = new double[mapping.getChannelCount()];
                     isFirstLine = false;
                     continue; // Skip header row
                 }
 
                 if (!line.trim().isEmpty()) {
-                    SolarDataPoint point = createDataPointFromCsv(line);
-                    if (point != null) {
-                        dataPoints.add(point);
-                        validRows++;
-                    }
+                    readCsvLine(line, mapping, values, dataset);
                 }
             }
+            publisher.publish(dataset, file.length(), file.length());
+            dataset.trimToSize();
 
-            System.out.println("Successfully imported " + validRows + " data points from CSV (total lines: " + lineNumber + ")");
+            System.out.println("Successfully imported " + dataset.size() + " data points from CSV (total lines: " + lineNumber + ")");
+            metrics.report(dataset.size());
+            logRetainedSize(dataset);
 
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("Error reading CSV file: " + e.getMessage());
             throw new RuntimeException("Error reading CSV file: " + e.getMessage(), e);
+        } finally {
+            metrics.close();
         }
 
-        return dataPoints;
+        return dataset;
     }
 
-    private static SolarDataPoint createDataPointFromRow(Row row) {
-        try {
-            SolarDataPoint point = new SolarDataPoint();
-            int colIndex = 0;
-
-            // Time (column 0)
-            String timeValue = getCellValue(row.getCell(colIndex));
-            if (timeValue != null && !timeValue.trim().isEmpty()) {
-                point.setTime(timeValue.trim());
-            } else {
-                point.setTime("00:00");
-            }
-            colIndex++;
-
-            // Solar Radiation (column 1)
-            Double solarRad = getNumericCellValue(row.getCell(colIndex));
-            point.setSolarRadiation(solarRad != null ? solarRad : 0.0);
-            colIndex++;
-
-            // V_mono (column 2)
-            Double vMono = getNumericCellValue(row.getCell(colIndex));
-            point.setVMono(vMono != null ? vMono : 0.0);
-            colIndex++;
-
-            // V_poly (column 3)
-            Double vPoly = getNumericCellValue(row.getCell(colIndex));
-            point.setVPoly(vPoly != null ? vPoly : 0.0);
-            colIndex++;
-
-            // I_mono (column 4)
-            Double iMono = getNumericCellValue(row.getCell(colIndex));
-            point.setIMono(iMono != null ? iMono : 0.0);
-            colIndex++;
-
-            // I_poly (column 5)
-            Double iPoly = getNumericCellValue(row.getCell(colIndex));
-            point.setIPoly(iPoly != null ? iPoly : 0.0);
-            colIndex++;
-
-            // P_mono (column 6)
-            Double pMono = getNumericCellValue(row.getCell(colIndex));
-            point.setPMono(pMono != null ? pMono : 0.0);
-            colIndex++;
-
-            // P_poly (column 7)
-            Double pPoly = getNumericCellValue(row.getCell(colIndex));
-            point.setPPoly(pPoly != null ? pPoly : 0.0);
-            colIndex++;
-
-            // Eff_mono (column 8) - FIXED: Convert if needed
-            Cell effMonoCell = row.getCell(colIndex);
-            Double effMono = getNumericCellValue(effMonoCell);
-            effMono = adjustEfficiencyValue(effMono, effMonoCell);
-            point.setEffMono(effMono != null ? effMono : 0.0);
-            colIndex++;
-
-            // Eff_poly (column 9) - FIXED: Convert if needed
-            Cell effPolyCell = row.getCell(colIndex);
-            Double effPoly = getNumericCellValue(effPolyCell);
-            effPoly = adjustEfficiencyValue(effPoly, effPolyCell);
-            point.setEffPoly(effPoly != null ? effPoly : 0.0);
-            colIndex++;
-
-            // RH (column 10) - Note: RH should also be in 0-100 range
-            Cell rhCell = row.getCell(colIndex);
-            Double rh = getNumericCellValue(rhCell);
-            // Check if RH is decimal (0-1) and convert to percentage
-            if (rh != null && rh >= 0 && rh <= 1) {
-                rh = rh * 100.0;
-            }
-            point.setRh(rh != null ? rh : 0.0);
-            colIndex++;
-
-            // Panel Temp Mono (column 11)
-            Double tempMono = getNumericCellValue(row.getCell(colIndex));
-            point.setPanelTempMono(tempMono != null ? tempMono : 0.0);
-            colIndex++;
-
-            // Panel Temp Poly (column 12)
-            Double tempPoly = getNumericCellValue(row.getCell(colIndex));
-            point.setPanelTempPoly(tempPoly != null ? tempPoly : 0.0);
-            colIndex++;
-
-            // Ambient Temp (column 13)
-            Double ambientTemp = getNumericCellValue(row.getCell(colIndex));
-            point.setAmbientTemp(ambientTemp != null ? ambientTemp : 0.0);
-            colIndex++;
-
-            // Wind Speed (column 14)
-            Double windSpeed = getNumericCellValue(row.getCell(colIndex));
-            point.setWindSpeed(windSpeed != null ? windSpeed : 0.0);
-
-            return point;
-
-        } catch (Exception e) {
-            System.err.println("Error creating data point from row: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+    private static void logRetainedSize(SolarDataset dataset) {
+        System.out.printf("Dataset columns retain ~%.1f MB for %d rows%n",
+                dataset.estimateRetainedBytes() / (1024.0 * 1024.0), dataset.size());
     }
 
-    private static SolarDataPoint createDataPointFromCsv(String csvLine) {
+    private static boolean readCsvLine(String csvLine, ImportSchema.Mapping mapping, double[] values,
+                                       SolarDataset dataset) {
         try {
-            String[] values = csvLine.split(",", -1); // -1 to keep trailing empty values
-            if (values.length < 15) {
-                System.err.println("CSV line has only " + values.length + " columns, expected 15");
-                return null;
+            String[] fields = csvLine.split(",", -1); // -1 to keep trailing empty values
+            if (fields.length < mapping.getFieldCount()) {
+                System.err.println("CSV line has only " + fields.length + " columns, expected " + mapping.getFieldCount());
+                return false;
             }
 
-            SolarDataPoint point = new SolarDataPoint();
-
             // Trim all values and handle empty strings
-            point.setTime(values[0].trim().isEmpty() ? "00:00" : values[0].trim());
-            point.setSolarRadiation(parseDoubleSafe(values[1]));
-            point.setVMono(parseDoubleSafe(values[2]));
-            point.setVPoly(parseDoubleSafe(values[3]));
-            point.setIMono(parseDoubleSafe(values[4]));
-            point.setIPoly(parseDoubleSafe(values[5]));
-            point.setPMono(parseDoubleSafe(values[6]));
-            point.setPPoly(parseDoubleSafe(values[7]));
-
-            // Efficiency columns - check and convert if needed
-            Double effMono = parseDoubleSafe(values[8]);
-            Double effPoly = parseDoubleSafe(values[9]);
-
-            // Check if efficiency values are in 0-1 range and convert to 0-100
-            if (effMono >= 0 && effMono <= 1) {
-                effMono = effMono * 100.0;
-            }
-            if (effPoly >= 0 && effPoly <= 1) {
-                effPoly = effPoly * 100.0;
-            }
-
-            point.setEffMono(effMono);
-            point.setEffPoly(effPoly);
-
-            // RH column - also check and convert if needed
-            Double rh = parseDoubleSafe(values[10]);
-            if (rh >= 0 && rh <= 1) {
-                rh = rh * 100.0;
+            int timeColumn = mapping.getTimeColumn();
+            int time = timeColumn < 0 || fields[timeColumn].trim().isEmpty() ? 0 : SolarDataset.parseTime(fields[timeColumn]);
+            for (int i = 0; i < mapping.size(); i++) {
+                double value = parseDoubleSafe(fields[mapping.getColumn(i)]);
+                // Efficiency and RH columns - check if values are in 0-1 range and convert to 0-100
+                if (mapping.isPercent(i) && value >= 0 && value <= 1) {
+                    value = value * 100.0;
+                }
+                values[mapping.getChannel(i)] = value;
             }
-            point.setRh(rh);
-
-            point.setPanelTempMono(parseDoubleSafe(values[11]));
-            point.setPanelTempPoly(parseDoubleSafe(values[12]));
-            point.setAmbientTemp(parseDoubleSafe(values[13]));
-            point.setWindSpeed(parseDoubleSafe(values[14]));
 
-            return point;
+            dataset.addRow(time, values);
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error creating data point from CSV: " + e.getMessage());
             e.printStackTrace();
-            return null;
-        }
-    }
-
-    private static String getCellValue(Cell cell) {
-        if (cell == null) return null;
-
-        try {
-            switch (cell.getCellType()) {
-                case STRING:
-                    return cell.getStringCellValue().trim();
-                case NUMERIC:
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        // Format time as HH:mm if it's a date
-                        java.util.Date date = cell.getDateCellValue();
-                        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("HH:mm");
-                        return sdf.format(date);
-                    } else {
-                        // Format numeric value without decimals if it's a whole number
-                        double value = cell.getNumericCellValue();
-                        if (value == Math.floor(value)) {
-                            return String.valueOf((int) value);
-                        } else {
-                            return String.valueOf(value);
-                        }
-                    }
-                case BOOLEAN:
-                    return String.valueOf(cell.getBooleanCellValue());
-                case FORMULA:
-                    // Try to evaluate formula
-                    try {
-                        FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
-                        CellValue cellValue = evaluator.evaluate(cell);
-                        switch (cellValue.getCellType()) {
-                            case STRING: return cellValue.getStringValue();
-                            case NUMERIC: return String.valueOf(cellValue.getNumberValue());
-                            case BOOLEAN: return String.valueOf(cellValue.getBooleanValue());
-                            default: return cell.getCellFormula();
-                        }
-                    } catch (Exception e) {
-                        return cell.getCellFormula();
-                    }
-                default:
-                    return null;
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting cell value: " + e.getMessage());
-            return null;
-        }
-    }
-
-    private static Double getNumericCellValue(Cell cell) {
-        if (cell == null) return null;
-
-        try {
-            switch (cell.getCellType()) {
-                case NUMERIC:
-                    return cell.getNumericCellValue();
-                case STRING:
-                    return parseDoubleSafe(cell.getStringCellValue());
-                case FORMULA:
-                    FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
-                    CellValue cellValue = evaluator.evaluate(cell);
-                    if (cellValue.getCellType() == CellType.NUMERIC) {
-                        return cellValue.getNumberValue();
-                    } else if (cellValue.getCellType() == CellType.STRING) {
-                        return parseDoubleSafe(cellValue.getStringValue());
-                    }
-                    return null;
-                default:
-                    return null;
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting numeric cell value: " + e.getMessage());
-            return null;
+            return false;
         }
     }
 
-    private static Double parseDoubleSafe(String value) {
+    static Double parseDoubleSafe(String value) {
         if (value == null || value.trim().isEmpty()) {
             return 0.0;
         }
@@ -354,34 +321,4 @@ public class ExcelImporter {
             return 0.0;
         }
     }
-
-
-    private static Double adjustEfficiencyValue(Double value, Cell cell) {
-        if (value == null) {
-            return 0.0;
-        }
-
-        // Check if this is likely a percentage (value between 0 and 1)
-        // and cell was formatted as percentage in Excel
-        if (cell != null && cell.getCellType() == CellType.NUMERIC) {
-            // Check if cell has percentage format
-            DataFormatter formatter = new DataFormatter();
-            String formattedValue = formatter.formatCellValue(cell);
-
-            // If formatted value contains % symbol, it's a percentage
-            if (formattedValue.contains("%")) {
-                // Convert decimal to percentage (e.g., 0.15 → 15)
-                return value * 100.0;
-            }
-        }
-
-        // Also check by value range (0-1 likely means decimal percentage)
-        if (value >= 0 && value <= 1) {
-            // This is likely a decimal percentage, convert to 0-100 range
-            return value * 100.0;
-        }
-
-        // Value is already in 0-100 range or negative, leave as is
-        return value;
-    }
-}
\ No newline at end of file
+}
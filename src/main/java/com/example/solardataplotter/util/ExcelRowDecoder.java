@@ -0,0 +1,177 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+import org.apache.poi.ss.usermodel.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Per-workbook decoding state for the XSSFWorkbook/HSSFWorkbook import path.
+ * The formula evaluator, formatter and time formatter are created once per
+ * import instead of once per cell, and format questions that only depend on
+ * the column ("is Eff_mono percent-formatted?", "is Time a date cell?") are
+ * answered from the first numeric cell and reused for every following row.
+ * Which column feeds which channel comes from the {@link ImportSchema}.
+ */
+class ExcelRowDecoder {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final FormulaEvaluator evaluator;
+    private final DataFormatter formatter = new DataFormatter();
+
+    // Column format decisions, null until the first numeric cell of the column is seen
+    private Boolean[] percentColumn = new Boolean[0];
+    private Boolean timeIsDate;
+
+    ExcelRowDecoder(Workbook workbook) {
+        this.evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+    }
+
+    boolean readRow(Row row, ImportSchema.Mapping mapping, double[] values, SolarDataset dataset) {
+        try {
+            int timeColumn = mapping.getTimeColumn();
+            int time = timeColumn >= 0 ? readTime(row.getCell(timeColumn)) : 0;
+
+            for (int i = 0; i < mapping.size(); i++) {
+                int column = mapping.getColumn(i);
+                Cell cell = row.getCell(column);
+                Double value = numericValue(cell);
+                double number = value != null ? value : 0.0;
+                if (mapping.getChannel(i) == SolarDataset.EFF_MONO || mapping.getChannel(i) == SolarDataset.EFF_POLY) {
+                    // Eff_mono / Eff_poly - FIXED: Convert if needed
+                    number = adjustEfficiencyValue(number, cell, column);
+                } else if (mapping.isPercent(i) && number >= 0 && number <= 1) {
+                    // RH - Check if RH is decimal (0-1) and convert to percentage
+                    number = number * 100.0;
+                }
+                values[mapping.getChannel(i)] = number;
+            }
+
+            dataset.addRow(time, values);
+            return true;
+
+        } catch (Exception e) {
+            System.err.println("Error creating data point from row: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /** Minutes since midnight, or a full timestamp for dated cells; empty cells mean 00:00. */
+    private int readTime(Cell cell) {
+        if (cell == null) return 0;
+
+        if (cell.getCellType() == CellType.NUMERIC) {
+            if (timeIsDate == null) {
+                timeIsDate = DateUtil.isCellDateFormatted(cell);
+            }
+            if (timeIsDate) {
+                LocalDateTime dateTime = cell.getLocalDateTimeCellValue();
+                // Time-only cells are fractions of a day; whole days make it a dated timestamp
+                return cell.getNumericCellValue() >= 1 ? SolarDataset.toMinutes(dateTime)
+                        : dateTime.getHour() * 60 + dateTime.getMinute();
+            }
+        }
+
+        String text = cellText(cell);
+        return text != null && !text.trim().isEmpty() ? SolarDataset.parseTime(text) : 0;
+    }
+
+    String cellText(Cell cell) {
+        if (cell == null) return null;
+
+        try {
+            switch (cell.getCellType()) {
+                case STRING:
+                    return cell.getStringCellValue().trim();
+                case NUMERIC:
+                    if (DateUtil.isCellDateFormatted(cell)) {
+                        // Format time as HH:mm if it's a date
+                        return cell.getLocalDateTimeCellValue().format(TIME_FORMAT);
+                    } else {
+                        // Format numeric value without decimals if it's a whole number
+                        double value = cell.getNumericCellValue();
+                        if (value == Math.floor(value)) {
+                            return String.valueOf((int) value);
+                        } else {
+                            return String.valueOf(value);
+                        }
+                    }
+                case BOOLEAN:
+                    return String.valueOf(cell.getBooleanCellValue());
+                case FORMULA:
+                    // Try to evaluate formula
+                    try {
+                        CellValue cellValue = evaluator.evaluate(cell);
+                        switch (cellValue.getCellType()) {
+                            case STRING: return cellValue.getStringValue();
+                            case NUMERIC: return String.valueOf(cellValue.getNumberValue());
+                            case BOOLEAN: return String.valueOf(cellValue.getBooleanValue());
+                            default: return cell.getCellFormula();
+                        }
+                    } catch (Exception e) {
+                        return cell.getCellFormula();
+                    }
+                default:
+                    return null;
+            }
+        } catch (Exception e) {
+            System.err.println("Error getting cell value: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Double numericValue(Cell cell) {
+        if (cell == null) return null;
+
+        try {
+            switch (cell.getCellType()) {
+                case NUMERIC:
+                    return cell.getNumericCellValue();
+                case STRING:
+                    return ExcelImporter.parseDoubleSafe(cell.getStringCellValue());
+                case FORMULA:
+                    CellValue cellValue = evaluator.evaluate(cell);
+                    if (cellValue.getCellType() == CellType.NUMERIC) {
+                        return cellValue.getNumberValue();
+                    } else if (cellValue.getCellType() == CellType.STRING) {
+                        return ExcelImporter.parseDoubleSafe(cellValue.getStringValue());
+                    }
+                    return null;
+                default:
+                    return null;
+            }
+        } catch (Exception e) {
+            System.err.println("Error getting numeric cell value: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private double adjustEfficiencyValue(double value, Cell cell, int column) {
+        // Cell formatted as percentage in Excel: convert decimal to percentage (e.g., 0.15 → 15)
+        if (cell != null && cell.getCellType() == CellType.NUMERIC && isPercentColumn(cell, column)) {
+            return value * 100.0;
+        }
+
+        // Also check by value range (0-1 likely means decimal percentage)
+        if (value >= 0 && value <= 1) {
+            return value * 100.0;
+        }
+
+        // Value is already in 0-100 range or negative, leave as is
+        return value;
+    }
+
+    private boolean isPercentColumn(Cell cell, int column) {
+        if (column >= percentColumn.length) {
+            percentColumn = Arrays.copyOf(percentColumn, column + 1);
+        }
+        if (percentColumn[column] == null) {
+            // If formatted value contains % symbol, the column is percent-formatted
+            percentColumn[column] = formatter.formatCellValue(cell).contains("%");
+        }
+        return percentColumn[column];
+    }
+}
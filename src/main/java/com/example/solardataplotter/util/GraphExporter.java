@@ -1,43 +1,206 @@
 package com.example.solardataplotter.util;
 
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
-import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
 import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GraphExporter {
+    /** The standard ImageIO PNG writer, single-threaded. */
+    public static final ImageEncoder IMAGE_IO = (argb, width, height, out) -> {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        ImageIO.write(image, "png", out);
+    };
+
+    // Set -Dsolar.png.encoder=imageio to export through ImageIO for comparison
+    private static final ImageEncoder DEFAULT_ENCODER =
+            "imageio".equals(System.getProperty("solar.png.encoder")) ? IMAGE_IO : new PngEncoder();
+
+    // Tiled exports snapshot this much at a time; well under the usual 4096/8192 texture limit
+    private static final int TILE_WIDTH = 2048;
+    private static final int TILE_HEIGHT = 256;
+
+    // Encoding happens here so the FX thread only pays for the snapshot
+    private static final ExecutorService ENCODER_THREAD = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "graph-export");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public static void exportChart(Node chart, File file) throws IOException {
         try {
-            // Create snapshot parameters
-            SnapshotParameters params = new SnapshotParameters();
-            params.setDepthBuffer(true);
-
-            // Get the current dimensions of the chart
-            int width = (int) chart.getBoundsInParent().getWidth();
-            int height = (int) chart.getBoundsInParent().getHeight();
-
-            // Use default dimensions if current dimensions are too small
-            if (width < 800 || height < 600) {
-                width = 1200;
-                height = 800;
+            writePng(snapshot(chart), file);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to export graph: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Snapshot the chart now (on the FX thread, where this must be called) and
+     * encode it in the background. The future completes, off the FX thread,
+     * once the file is written.
+     */
+    public static CompletableFuture<Void> exportChartAsync(Node chart, File file) throws IOException {
+        WritableImage image = snapshot(chart);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writePng(image, file);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
             }
+        }, ENCODER_THREAD);
+    }
 
-            // Create writable image and take snapshot
-            WritableImage image = new WritableImage(width, height);
-            image = chart.snapshot(params, image);
+    /**
+     * Export the chart scaled up to {@code width} x {@code height} (e.g. for a
+     * poster) without ever holding the whole image. Each band of rows is
+     * snapshotted tile by tile on the FX thread with a scaling transform and a
+     * moving viewport, then compressed into the PNG before the next band is
+     * taken, so memory use is one band regardless of the output size.
+     * Callable from any thread, but the FX thread must not block on the result.
+     */
+    public static CompletableFuture<Void> exportChartTiled(Node chart, File file, int width, int height) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writeTiled(chart, file, width, height);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }, ENCODER_THREAD);
+    }
+
+    private static void writeTiled(Node chart, File file, int width, int height) throws IOException {
+        long start = System.nanoTime();
+        Bounds bounds = onFxThread(chart::getBoundsInParent);
+        if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0) {
+            throw new IOException("Chart has not been laid out");
+        }
 
-            // Save to file
-            if (image != null) {
-                ImageIO.write(SwingFXUtils.fromFXImage(image, null), "png", file);
-            } else {
-                throw new IOException("Failed to capture chart image");
+        // The viewport is in the transformed (output pixel) space, offset by the chart's position
+        double scaleX = width / bounds.getWidth();
+        double scaleY = height / bounds.getHeight();
+        SnapshotParameters params = new SnapshotParameters();
+        params.setDepthBuffer(true);
+        params.setFill(Color.WHITE);
+        params.setTransform(Transform.scale(scaleX, scaleY));
+        double originX = bounds.getMinX() * scaleX;
+        double originY = bounds.getMinY() * scaleY;
+
+        int[] band = new int[width * Math.min(TILE_HEIGHT, height)];
+        WritableImage tile = new WritableImage(Math.min(TILE_WIDTH, width), Math.min(TILE_HEIGHT, height));
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            PngEncoder.BandWriter writer = new PngEncoder().begin(out, width, height, false);
+            for (int y = 0; y < height; y += TILE_HEIGHT) {
+                int bandY = y;
+                int rows = Math.min(TILE_HEIGHT, height - y);
+                onFxThread(() -> {
+                    for (int x = 0; x < width; x += TILE_WIDTH) {
+                        int columns = Math.min(TILE_WIDTH, width - x);
+                        params.setViewport(new Rectangle2D(originX + x, originY + bandY, columns, rows));
+                        WritableImage image = chart.snapshot(params, tile);
+                        image.getPixelReader().getPixels(0, 0, columns, rows,
+                                PixelFormat.getIntArgbInstance(), band, x, width);
+                    }
+                    return null;
+                });
+                writer.writeRows(band, rows);
             }
-        } catch (Exception e) {
-            throw new IOException("Failed to export graph: " + e.getMessage(), e);
+            writer.finish();
+        }
+        System.out.printf("Encoded %dx%d PNG in %dx%d tiles in %.1f ms (%d KB)%n", width, height,
+                TILE_WIDTH, TILE_HEIGHT, (System.nanoTime() - start) / 1e6, file.length() / 1024);
+    }
+
+    /** Run on the FX thread and wait, or run directly when already on it. */
+    private static <T> T onFxThread(Callable<T> action) throws IOException {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return action.call();
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to capture chart tile: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting", e);
+        }
+    }
+
+    /** Capture the chart as an image. Must run on the FX thread. */
+    public static WritableImage snapshot(Node chart) throws IOException {
+        // Create snapshot parameters
+        SnapshotParameters params = new SnapshotParameters();
+        params.setDepthBuffer(true);
+
+        // Get the current dimensions of the chart
+        int width = (int) chart.getBoundsInParent().getWidth();
+        int height = (int) chart.getBoundsInParent().getHeight();
+
+        // Use default dimensions if current dimensions are too small
+        if (width < 800 || height < 600) {
+            width = 1200;
+            height = 800;
+        }
+
+        // Create writable image and take snapshot
+        WritableImage image = new WritableImage(width, height);
+        image = chart.snapshot(params, image);
+        if (image == null) {
+            throw new IOException("Failed to capture chart image");
+        }
+        return image;
+    }
+
+    /** Encode a snapshot as PNG with the default encoder. Safe to call from any thread. */
+    public static void writePng(WritableImage image, File file) throws IOException {
+        write(image, file, DEFAULT_ENCODER);
+    }
+
+    public static void write(WritableImage image, File file, ImageEncoder encoder) throws IOException {
+        long start = System.nanoTime();
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+
+        // Read the pixels straight from the snapshot instead of converting it to a BufferedImage
+        int[] argb = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            encoder.encode(argb, width, height, out);
         }
+        System.out.printf("Encoded %dx%d PNG in %.1f ms (%d KB)%n",
+                width, height, (System.nanoTime() - start) / 1e6, file.length() / 1024);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.example.solardataplotter.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Writes ARGB pixels (one int per pixel, rows top to bottom) as an image file. */
+public interface ImageEncoder {
+    void encode(int[] argb, int width, int height, OutputStream out) throws IOException;
+}
@@ -0,0 +1,31 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+/**
+ * Callbacks from a running import. All methods are called on the importing
+ * thread, so UI code must hand the work over to the FX thread itself.
+ */
+public interface ImportListener {
+    ImportListener NONE = new ImportListener() {};
+
+    /**
+     * Work done so far. {@code total} is -1 when the reader cannot know it
+     * up front (e.g. streamed XLSX); units are bytes for CSV, rows otherwise.
+     */
+    default void progress(long processed, long total) {}
+
+    /**
+     * Rows [from, to) of {@code dataset} are complete. The importer keeps
+     * appending to the same dataset after them, so a listener on another
+     * thread should take {@link SolarDataset#prefix(int) dataset.prefix(to)}
+     * here and hand that over rather than the dataset itself.
+     */
+    default void rowsImported(SolarDataset dataset, int from, int to) {}
+
+    /**
+     * Every row published so far is void and the rows are sent again from
+     * the start, e.g. when a followed file was truncated or replaced.
+     */
+    default void reset() {}
+}
@@ -0,0 +1,80 @@
+package com.example.solardataplotter.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall-clock and peak-heap measurement around one import, printed in the
+ * same console log as the rest of the importer output.
+ *
+ * Peak usage is kept per memory pool for the whole JVM, so it is only reset
+ * when no other import is being measured, and only reported if no other
+ * import started before this one finished. Overlapping imports (merged
+ * sources, parallel batch rendering) report the heap in use at the end
+ * instead of a peak that would mix several imports.
+ */
+class ImportMetrics {
+    private static final AtomicInteger active = new AtomicInteger();
+    private static final AtomicLong started = new AtomicLong();
+
+    private final String mode;
+    private final long startNanos;
+    private final long sequence;
+    private final boolean ownsPeak;
+    private boolean closed;
+
+    private ImportMetrics(String mode) {
+        this.mode = mode;
+        this.ownsPeak = active.getAndIncrement() == 0;
+        this.sequence = started.incrementAndGet();
+        if (ownsPeak) {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    static ImportMetrics start(String mode) {
+        return new ImportMetrics(mode);
+    }
+
+    void report(long rows) {
+        double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-9);
+        boolean alone = ownsPeak && started.get() == sequence;
+        close();
+        if (alone) {
+            System.out.printf("%s: %d rows in %.2f s (%.0f rows/s), peak heap %.1f MB%n",
+                    mode, rows, seconds, rows / seconds, heapBytes(true) / (1024.0 * 1024.0));
+        } else {
+            System.out.printf("%s: %d rows in %.2f s (%.0f rows/s), heap in use %.1f MB (overlapping imports, no peak)%n",
+                    mode, rows, seconds, rows / seconds, heapBytes(false) / (1024.0 * 1024.0));
+        }
+    }
+
+    /** Stop measuring without a report, for imports that fail or are cancelled. Safe to call twice. */
+    void close() {
+        if (!closed) {
+            closed = true;
+            active.decrementAndGet();
+        }
+    }
+
+    private static long heapBytes(boolean peak) {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            MemoryUsage usage = peak ? pool.getPeakUsage() : pool.getUsage();
+            if (usage != null) {
+                bytes += usage.getUsed();
+            }
+        }
+        return bytes;
+    }
+}
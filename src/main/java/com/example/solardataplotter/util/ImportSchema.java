@@ -0,0 +1,325 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.Channel;
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the header row of an imported file to dataset channels, so loggers
+ * that export fewer columns, other column orders or extra sensors can be read
+ * without editing the readers. Header cells are compared after
+ * normalisation (case, spaces, punctuation and a trailing "(unit)" or
+ * "[unit]" are ignored), first against a table of aliases, then against the
+ * channel names themselves. Columns that match nothing are imported as
+ * generic channels named after their header; files whose header matches
+ * nothing at all but has the fifteen logger columns are read positionally as
+ * before.
+ *
+ * Extra aliases can be given in a UTF-8 text file named by
+ * -Dsolar.import.schema, one "header = channel" per line ('#' starts a
+ * comment line), where the channel
+ * is a channel name as shown in the UI, "Time", or "ignore" to skip the
+ * column. Keys are normalised too, so "GHI = Solar Radiation" also matches a
+ * "ghi [W/m2]" header.
+ */
+public class ImportSchema {
+    /** Target of an alias for the time column; channels use their index. */
+    private static final int TIME = -1;
+    /** Target of an alias for columns that should not be imported. */
+    private static final int IGNORE = -2;
+
+    private static final String[][] DEFAULT_ALIASES = {
+            {"Time", "time", "timestamp", "datetime", "date time", "clock", "hh:mm"},
+            {"Solar Radiation", "radiation", "irradiance", "irradiation", "ghi", "poa", "solar irradiance", "pyranometer"},
+            {"V_mono", "voltage mono", "mono voltage"},
+            {"V_poly", "voltage poly", "poly voltage"},
+            {"I_mono", "current mono", "mono current"},
+            {"I_poly", "current poly", "poly current"},
+            {"P_mono", "power mono", "mono power"},
+            {"P_poly", "power poly", "poly power"},
+            {"Eff_mono", "efficiency mono", "mono efficiency"},
+            {"Eff_poly", "efficiency poly", "poly efficiency"},
+            {"RH", "humidity", "relative humidity", "rel humidity"},
+            {"Panel Temp Mono", "panel temperature mono", "mono panel temp", "temp mono", "tmono"},
+            {"Panel Temp Poly", "panel temperature poly", "poly panel temp", "temp poly", "tpoly"},
+            {"Ambient Temp", "ambient temperature", "air temperature", "air temp", "tamb"},
+            {"Wind Speed", "wind", "wind velocity"}
+    };
+
+    private static ImportSchema defaultSchema;
+
+    private final Map<String, Integer> aliases = new HashMap<>();
+
+    private ImportSchema() {
+        for (String[] names : DEFAULT_ALIASES) {
+            int target = "Time".equals(names[0]) ? TIME : SolarDataset.channelIndex(names[0]);
+            for (String name : names) {
+                aliases.put(normalize(name), target);
+            }
+        }
+    }
+
+    /** The built-in aliases plus the file named by -Dsolar.import.schema, if any. */
+    public static synchronized ImportSchema getDefault() {
+        if (defaultSchema == null) {
+            ImportSchema schema = new ImportSchema();
+            String path = System.getProperty("solar.import.schema");
+            if (path != null && !path.isEmpty()) {
+                try {
+                    schema.addAliases(new File(path));
+                    System.out.println("Import schema: " + path);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Ignoring import schema " + path + ": " + e.getMessage());
+                }
+            }
+            defaultSchema = schema;
+        }
+        return defaultSchema;
+    }
+
+    /** The built-in aliases plus those in {@code file}. */
+    public static ImportSchema load(File file) throws IOException {
+        ImportSchema schema = new ImportSchema();
+        schema.addAliases(file);
+        return schema;
+    }
+
+    private void addAliases(File file) throws IOException {
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            int equals = line.indexOf('=');
+            if (line.trim().startsWith("#") || equals < 0) continue;
+            String header = line.substring(0, equals).trim();
+            String target = line.substring(equals + 1).trim();
+            int channel;
+            if (target.equalsIgnoreCase("Time")) {
+                channel = TIME;
+            } else if (target.equalsIgnoreCase("ignore")) {
+                channel = IGNORE;
+            } else {
+                channel = SolarDataset.channelIndex(target);
+                if (channel < 0) {
+                    throw new IllegalArgumentException("Unknown channel '" + target + "' for header '" + header + "'");
+                }
+            }
+            aliases.put(normalize(header), channel);
+        }
+    }
+
+    /** Match a header row; {@code header} holds the cell texts in column order (null for empty cells). */
+    public Mapping map(List<String> header) {
+        int timeColumn = -1;
+        int[] channelColumns = new int[SolarDataset.CHANNEL_COUNT];
+        Arrays.fill(channelColumns, -1);
+        List<Integer> unknownColumns = new ArrayList<>();
+        boolean anyMatch = false;
+
+        for (int column = 0; column < header.size(); column++) {
+            String text = header.get(column);
+            if (text == null || text.trim().isEmpty()) continue;
+            Integer target = aliases.get(normalize(text));
+            if (target == null) {
+                unknownColumns.add(column);
+            } else if (target == TIME && timeColumn < 0) {
+                timeColumn = column;
+                anyMatch = true;
+            } else if (target >= 0 && channelColumns[target] < 0) {
+                channelColumns[target] = column;
+                anyMatch = true;
+            } else if (target >= 0 || target == TIME) {
+                System.err.println("Column " + column + " '" + text + "' repeats an earlier column, ignoring it");
+            }
+        }
+
+        if (!anyMatch && header.size() >= SolarDataset.CHANNEL_COUNT + 1) {
+            System.out.println("Header not recognised, reading the logger's fixed column order");
+            return positional(header);
+        }
+        boolean firstUnused = !unknownColumns.isEmpty() && unknownColumns.get(0) == 0
+                || header.size() > 0 && (header.get(0) == null || header.get(0).trim().isEmpty());
+        if (timeColumn < 0 && firstUnused) {
+            // Loggers often leave the time header blank or call it something local
+            timeColumn = 0;
+            unknownColumns.remove(Integer.valueOf(0));
+        }
+
+        Mapping mapping = new Mapping(timeColumn);
+        for (int channel = 0; channel < SolarDataset.CHANNEL_COUNT; channel++) {
+            if (channelColumns[channel] >= 0) {
+                mapping.add(channel, channelColumns[channel]);
+            }
+        }
+        for (int column : unknownColumns) {
+            mapping.addGeneric(column, header.get(column));
+        }
+        return mapping;
+    }
+
+    /** Time in column 0, then the fourteen channels in logger order. */
+    public static Mapping positional(List<String> header) {
+        Mapping mapping = new Mapping(0);
+        for (int channel = 0; channel < SolarDataset.CHANNEL_COUNT; channel++) {
+            mapping.add(channel, channel + 1);
+        }
+        for (int column = SolarDataset.CHANNEL_COUNT + 1; column < header.size(); column++) {
+            String text = header.get(column);
+            if (text != null && !text.trim().isEmpty()) {
+                mapping.addGeneric(column, text);
+            }
+        }
+        return mapping;
+    }
+
+    /** Split a CSV header line into cell texts. */
+    public static List<String> splitHeader(String line) {
+        List<String> cells = new ArrayList<>();
+        for (String cell : line.split(",", -1)) {
+            String text = cell.trim();
+            if (text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")) {
+                text = text.substring(1, text.length() - 1).trim();
+            }
+            cells.add(text);
+        }
+        if (!cells.isEmpty() && cells.get(0).startsWith("﻿")) {
+            cells.set(0, cells.get(0).substring(1)); // UTF-8 byte order mark
+        }
+        return cells;
+    }
+
+    /** Lower case letters and digits only, without a trailing "(unit)" / "[unit]". */
+    static String normalize(String header) {
+        String name = stripUnit(header);
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = Character.toLowerCase(name.charAt(i));
+            if ((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')) {
+                key.append(ch);
+            }
+        }
+        // A header of only symbols ("%", "°C") is still a name of its own
+        return key.length() > 0 ? key.toString() : name.trim().toLowerCase();
+    }
+
+    private static String stripUnit(String header) {
+        String name = header.trim();
+        int open = Math.max(name.lastIndexOf('('), name.lastIndexOf('['));
+        if (open > 0 && (name.endsWith(")") || name.endsWith("]"))) {
+            return name.substring(0, open).trim();
+        }
+        return name;
+    }
+
+    private static String unitOf(String header) {
+        String name = header.trim();
+        int open = Math.max(name.lastIndexOf('('), name.lastIndexOf('['));
+        if (open > 0 && (name.endsWith(")") || name.endsWith("]"))) {
+            return name.substring(open + 1, name.length() - 1).trim();
+        }
+        return "";
+    }
+
+    /**
+     * Result of matching one header: which source column feeds each dataset
+     * channel. Readers parse only these columns; {@link #newDataset}
+     * allocates only these channels.
+     */
+    public static class Mapping {
+        private final int timeColumn;
+        private int[] channels = new int[0];
+        private int[] columns = new int[0];
+        private boolean[] percent = new boolean[0];
+        private final List<String> genericNames = new ArrayList<>();
+        private final List<String> genericUnits = new ArrayList<>();
+        private final Set<String> usedNames = new HashSet<>();
+
+        private Mapping(int timeColumn) {
+            this.timeColumn = timeColumn;
+        }
+
+        private void add(int channel, int column) {
+            int n = channels.length;
+            channels = Arrays.copyOf(channels, n + 1);
+            columns = Arrays.copyOf(columns, n + 1);
+            percent = Arrays.copyOf(percent, n + 1);
+            channels[n] = channel;
+            columns[n] = column;
+            percent[n] = channel < SolarDataset.CHANNEL_COUNT && Channel.of(channel).isPercentage();
+        }
+
+        private void addGeneric(int column, String header) {
+            String name = stripUnit(header);
+            if (name.isEmpty() || SolarDataset.channelIndex(name) >= 0 || !usedNames.add(name)) {
+                name = "Column " + (column + 1);
+                usedNames.add(name);
+            }
+            add(SolarDataset.CHANNEL_COUNT + genericNames.size(), column);
+            genericNames.add(name);
+            genericUnits.add(unitOf(header));
+        }
+
+        /** Source column of the time, or -1 if the file has none (every row is 00:00). */
+        public int getTimeColumn() { return timeColumn; }
+
+        /** Number of mapped channels; index {@code i} below runs up to this. */
+        public int size() { return channels.length; }
+
+        /** Dataset channel the i-th mapped column goes to. */
+        public int getChannel(int i) { return channels[i]; }
+
+        /** Source column of the i-th mapped channel. */
+        public int getColumn(int i) { return columns[i]; }
+
+        /** True if the i-th channel is a percentage that may be stored as a 0-1 fraction. */
+        public boolean isPercent(int i) { return percent[i]; }
+
+        /** Fields a row needs to hold every mapped column. */
+        public int getFieldCount() {
+            int count = timeColumn + 1;
+            for (int column : columns) {
+                count = Math.max(count, column + 1);
+            }
+            return count;
+        }
+
+        /** Length of the per-row values array readers pass to {@link SolarDataset#addRow}. */
+        public int getChannelCount() {
+            return SolarDataset.CHANNEL_COUNT + genericNames.size();
+        }
+
+        /** Empty dataset with exactly the mapped channels. */
+        public SolarDataset newDataset(int initialCapacity) {
+            boolean[] present = new boolean[SolarDataset.CHANNEL_COUNT];
+            for (int channel : channels) {
+                if (channel < SolarDataset.CHANNEL_COUNT) present[channel] = true;
+            }
+            SolarDataset dataset = new SolarDataset(initialCapacity, present);
+            for (int i = 0; i < genericNames.size(); i++) {
+                dataset.addChannel(genericNames.get(i), genericUnits.get(i));
+            }
+            return dataset;
+        }
+
+        /** "Time=[0] Solar Radiation=[1] ..." for the import log. */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append("Time=").append(timeColumn >= 0 ? "[" + timeColumn + "]" : "none");
+            for (int i = 0; i < channels.length; i++) {
+                String name = channels[i] < SolarDataset.CHANNEL_COUNT ? SolarDataset.CHANNEL_NAMES[channels[i]]
+                        : genericNames.get(channels[i] - SolarDataset.CHANNEL_COUNT) + " (generic)";
+                text.append(' ').append(name).append("=[").append(columns[i]).append(']');
+            }
+            return text.toString();
+        }
+    }
+}
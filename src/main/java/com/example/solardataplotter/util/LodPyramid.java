@@ -0,0 +1,343 @@
+package com.example.solardataplotter.util;
+
+import java.util.Arrays;
+
+/**
+ * Min/max level-of-detail pyramid over one series whose x values ascend.
+ * Level 0 keeps the positions of the minimum and maximum y of every bucket of
+ * up to {@value #BASE_BUCKET} points; each further level merges pairs of
+ * nodes of the level below. A window query binary-searches its row range,
+ * picks the coarsest level that still has about {@code target / 2} nodes in
+ * it and returns each node's min and max, so its cost follows the chart width
+ * instead of the number of rows in view. Building takes one O(n) pass and
+ * about 4 bytes per point.
+ *
+ * The series may change in place. Appended points fill new buckets and only
+ * the nodes above them are merged again. Editing or removing a point updates
+ * its bucket and the nodes above it in O(log^2 n): bucket sizes live in a
+ * Fenwick tree, so a removal shrinks one bucket instead of moving the points
+ * after it into other buckets, and the upper levels name the bucket holding
+ * their min and max rather than a position, which stays valid when positions
+ * shift.
+ */
+public class LodPyramid {
+    private static final int BASE_BUCKET = 4;
+
+    private double[] x;
+    private double[] y;
+    private int count;
+    private int buckets; // Level-0 buckets in use
+    private int capacity; // Power of two >= buckets
+    private boolean shrunk; // A point was removed, so bucket b no longer starts at b * BASE_BUCKET
+    private byte[] size;
+    private byte[] minOffset; // Position of the bucket's min y within it, -1 if empty
+    private byte[] maxOffset;
+    private int[] sizes; // Fenwick tree over size, 1-based: bucket starts are prefix sums
+    private int[][] minBucket; // Levels >= 1: level-0 bucket holding the node's min y, -1 if empty
+    private int[][] maxBucket;
+
+    /** Only the first {@code count} entries are used; x must ascend (see {@link #isAscending}). */
+    public LodPyramid(double[] x, double[] y, int count) {
+        build(x, y, count, (count + BASE_BUCKET - 1) / BASE_BUCKET);
+    }
+
+    /** Bucket {@code b} holds points [4b, 4b + 4), with room for {@code minCapacity} buckets. */
+    private void build(double[] x, double[] y, int count, int minCapacity) {
+        this.x = x;
+        this.y = y;
+        this.count = count;
+        this.buckets = (count + BASE_BUCKET - 1) / BASE_BUCKET;
+        this.capacity = Integer.highestOneBit(Math.max(minCapacity, 1) * 2 - 1);
+        this.shrunk = false;
+
+        size = new byte[capacity];
+        minOffset = new byte[capacity];
+        maxOffset = new byte[capacity];
+        sizes = new int[capacity + 1];
+        int[] childMin = new int[capacity];
+        int[] childMax = new int[capacity];
+        Arrays.fill(minOffset, (byte) -1);
+        Arrays.fill(maxOffset, (byte) -1);
+        Arrays.fill(childMin, -1);
+        Arrays.fill(childMax, -1);
+        for (int b = 0; b < buckets; b++) {
+            int from = b * BASE_BUCKET;
+            int to = Math.min(from + BASE_BUCKET, count);
+            int min = from;
+            int max = from;
+            for (int i = from + 1; i < to; i++) {
+                if (y[i] < y[min]) min = i;
+                if (y[i] > y[max]) max = i;
+            }
+            size[b] = (byte) (to - from);
+            minOffset[b] = (byte) (min - from);
+            maxOffset[b] = (byte) (max - from);
+            childMin[b] = min;
+            childMax[b] = max;
+        }
+        // Fenwick tree in O(n): every index passes its count on to its parent
+        for (int i = 1; i <= capacity; i++) {
+            sizes[i] += size[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) sizes[parent] += sizes[i];
+        }
+
+        // Upper levels merge positions (nothing has moved yet), keeping the bucket of each
+        int levels = Integer.numberOfTrailingZeros(capacity) + 1;
+        minBucket = new int[levels][];
+        maxBucket = new int[levels][];
+        for (int level = 1; level < levels; level++) {
+            int nodes = capacity >> level;
+            minBucket[level] = new int[nodes];
+            maxBucket[level] = new int[nodes];
+            for (int node = 0; node < nodes; node++) {
+                int left = childMin[2 * node];
+                int right = childMin[2 * node + 1];
+                int min = left < 0 || (right >= 0 && y[right] < y[left]) ? right : left;
+                left = childMax[2 * node];
+                right = childMax[2 * node + 1];
+                int max = left < 0 || (right >= 0 && y[right] > y[left]) ? right : left;
+                childMin[node] = min; // Parents of a level fill in the first half
+                childMax[node] = max;
+                minBucket[level][node] = min < 0 ? -1 : min / BASE_BUCKET;
+                maxBucket[level][node] = max < 0 ? -1 : max / BASE_BUCKET;
+            }
+        }
+    }
+
+    public static boolean isAscending(double[] x, int count) {
+        for (int i = 1; i < count; i++) {
+            if (!(x[i] >= x[i - 1])) return false;
+        }
+        return true;
+    }
+
+    /** Points in the series. */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Points were appended: the first {@code count} entries of x/y (the
+     * arrays may have been reallocated) are the series now, and x still
+     * ascends. The new points fill the last bucket and new ones, and only the
+     * nodes above those are merged again: O(new points + log n), plus an
+     * O(n) rebuild whenever the bucket capacity has to double.
+     */
+    public void extend(double[] x, double[] y, int count) {
+        if (count < this.count) {
+            throw new IllegalArgumentException("Cannot extend " + this.count + " points to " + count);
+        }
+        int first = buckets > 0 && size[buckets - 1] < BASE_BUCKET ? buckets - 1 : buckets;
+        int room = (capacity - buckets) * BASE_BUCKET + (first < buckets ? BASE_BUCKET - size[first] : 0);
+        if (count - this.count > room) {
+            build(x, y, count, 2 * ((count + BASE_BUCKET - 1) / BASE_BUCKET));
+            return;
+        }
+
+        this.x = x;
+        this.y = y;
+        for (int bucket = first, remaining = count - this.count; remaining > 0; bucket++) {
+            int take = Math.min(remaining, BASE_BUCKET - size[bucket]);
+            size[bucket] += (byte) take;
+            for (int i = bucket + 1; i <= capacity; i += i & -i) {
+                sizes[i] += take;
+            }
+            remaining -= take;
+            if (bucket == buckets) buckets++;
+        }
+        this.count = count;
+
+        for (int bucket = first; bucket < buckets; bucket++) {
+            scanBucket(bucket);
+        }
+        for (int level = 1; level < minBucket.length; level++) {
+            for (int node = first >> level; node <= (buckets - 1) >> level; node++) {
+                merge(level, node);
+            }
+        }
+    }
+
+    /** The y of point {@code index} changed (its x must still ascend). */
+    public void update(int index) {
+        checkIndex(index);
+        refresh(bucketOf(index));
+    }
+
+    /**
+     * Point {@code index} was removed from x/y and the points after it moved
+     * down by one (the arrays are shared with the caller, so that has
+     * happened already).
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        int bucket = bucketOf(index);
+        count--;
+        size[bucket]--;
+        for (int i = bucket + 1; i <= capacity; i += i & -i) {
+            sizes[i]--;
+        }
+        shrunk = true;
+        refresh(bucket);
+    }
+
+    /**
+     * Indices, ascending, of the points to draw for x in [lower, upper]:
+     * every point if there are at most {@code target}, otherwise the min and
+     * max of each node on the chosen level.
+     */
+    public int[] query(double lower, double upper, int target) {
+        int from = firstAtLeast(x, count, lower);
+        int to = firstAbove(x, count, upper);
+        int visible = Math.max(0, to - from);
+        if (visible <= Math.max(target, 2)) {
+            int[] all = new int[visible];
+            for (int i = 0; i < visible; i++) {
+                all[i] = from + i;
+            }
+            return all;
+        }
+
+        // Coarsest level whose nodes still split the window into target / 2 pieces
+        int level = 0;
+        long nodeSize = BASE_BUCKET;
+        while (level + 1 < minBucket.length && visible / (nodeSize * 2) >= target / 2) {
+            level++;
+            nodeSize *= 2;
+        }
+
+        int firstNode = bucketOf(from) >> level;
+        int lastNode = bucketOf(to - 1) >> level;
+        int[] selected = new int[2 * (lastNode - firstNode + 1)];
+        int n = 0;
+        for (int node = firstNode; node <= lastNode; node++) {
+            int start = start(node << level);
+            int end = start(Math.min((node + 1) << level, buckets));
+            int min;
+            int max;
+            if (start < from || end > to) {
+                // Edge node reaching outside the window: scan the part inside it
+                start = Math.max(from, start);
+                end = Math.min(to, end);
+                if (start >= end) continue;
+                min = start;
+                max = start;
+                for (int i = start + 1; i < end; i++) {
+                    if (y[i] < y[min]) min = i;
+                    if (y[i] > y[max]) max = i;
+                }
+            } else {
+                int minOf = minBucket(level, node);
+                if (minOf < 0) continue; // Every point in it was removed
+                min = start(minOf) + minOffset[minOf];
+                int maxOf = maxBucket(level, node);
+                max = start(maxOf) + maxOffset[maxOf];
+            }
+            selected[n++] = Math.min(min, max);
+            if (min != max) selected[n++] = Math.max(min, max);
+        }
+        return n == selected.length ? selected : Arrays.copyOf(selected, n);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " points");
+        }
+    }
+
+    /** First position of a level-0 bucket ({@code buckets} gives count). */
+    private int start(int bucket) {
+        if (!shrunk) return Math.min(bucket * BASE_BUCKET, count);
+        int start = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            start += sizes[i];
+        }
+        return start;
+    }
+
+    /** Level-0 bucket holding position {@code index}, found by descending the Fenwick tree. */
+    private int bucketOf(int index) {
+        if (!shrunk) return index / BASE_BUCKET;
+        int bucket = 0;
+        int remaining = index;
+        for (int step = capacity; step > 0; step >>= 1) {
+            int next = bucket + step;
+            if (next <= capacity && sizes[next] <= remaining) {
+                bucket = next;
+                remaining -= sizes[next];
+            }
+        }
+        return bucket; // Buckets before it hold at most index points, so index is in this one
+    }
+
+    /** Recompute a bucket's min and max, then the nodes above it. */
+    private void refresh(int bucket) {
+        scanBucket(bucket);
+        for (int level = 1; level < minBucket.length; level++) {
+            merge(level, bucket >> level);
+        }
+    }
+
+    private void scanBucket(int bucket) {
+        int start = start(bucket);
+        int end = start + size[bucket];
+        if (start == end) {
+            minOffset[bucket] = -1;
+            maxOffset[bucket] = -1;
+            return;
+        }
+        int min = start;
+        int max = start;
+        for (int i = start + 1; i < end; i++) {
+            if (y[i] < y[min]) min = i;
+            if (y[i] > y[max]) max = i;
+        }
+        minOffset[bucket] = (byte) (min - start);
+        maxOffset[bucket] = (byte) (max - start);
+    }
+
+    private void merge(int level, int node) {
+        int left = minBucket(level - 1, 2 * node);
+        int right = minBucket(level - 1, 2 * node + 1);
+        minBucket[level][node] = left < 0 || (right >= 0
+                && y[start(right) + minOffset[right]] < y[start(left) + minOffset[left]]) ? right : left;
+        left = maxBucket(level - 1, 2 * node);
+        right = maxBucket(level - 1, 2 * node + 1);
+        maxBucket[level][node] = left < 0 || (right >= 0
+                && y[start(right) + maxOffset[right]] > y[start(left) + maxOffset[left]]) ? right : left;
+    }
+
+    private int minBucket(int level, int node) {
+        if (level > 0) return minBucket[level][node];
+        return minOffset[node] >= 0 ? node : -1;
+    }
+
+    private int maxBucket(int level, int node) {
+        if (level > 0) return maxBucket[level][node];
+        return maxOffset[node] >= 0 ? node : -1;
+    }
+
+    /** First index whose x is at least {@code value}, or count; x must ascend. */
+    static int firstAtLeast(double[] x, int count, double value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** First index whose x is greater than {@code value}, or count; x must ascend. */
+    static int firstAbove(double[] x, int count, double value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[mid] <= value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CSV reader that memory-maps the file and parses fields straight from the
+ * mapped bytes: no line Strings, no split() arrays and no per-field trim().
+ * Numbers and HH:mm times are decoded in place; only malformed numbers fall
+ * back to Double.parseDouble. Only the columns the header maps to a channel
+ * (see {@link ImportSchema}) are decoded.
+ */
+public class MappedCsvReader {
+    // Mapped in windows so files larger than 2 GB (the ByteBuffer limit) work too
+    static final long MAP_WINDOW = 1L << 28;
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ImportSchema.Mapping mapping;
+    private final int fieldCount;
+    private final double[] values;
+    private final int[] fieldStarts;
+    private final int[] fieldEnds;
+
+    private final BatchPublisher publisher;
+    private long windowOffset;
+    private long totalBytes = -1;
+
+    MappedCsvReader(ImportSchema.Mapping mapping, BatchPublisher publisher) {
+        this.mapping = mapping;
+        this.fieldCount = mapping.getFieldCount();
+        this.values = new double[mapping.getChannelCount()];
+        this.fieldStarts = new int[fieldCount];
+        this.fieldEnds = new int[fieldCount];
+        this.publisher = publisher;
+    }
+
+    public static SolarDataset read(File file) throws IOException {
+        return read(file, ImportListener.NONE, new CancellationToken());
+    }
+
+    public static SolarDataset read(File file, ImportListener listener, CancellationToken token) throws IOException {
+        ImportMetrics metrics = ImportMetrics.start("CSV (memory-mapped)");
+        MappedCsvReader parser = null;
+        SolarDataset dataset = null;
+        int lineNumber = 0;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean header = true;
+
+            while (position < size) {
+                long length = Math.min(MAP_WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    // Only parse complete lines; the partial last line starts the next window
+                    end = lastLineEnd(buffer, end);
+                    if (end == 0) {
+                        throw new IOException("CSV line longer than " + MAP_WINDOW + " bytes at offset " + position);
+                    }
+                }
+
+                int start = 0;
+                if (header) {
+                    int headerEnd = indexOf(buffer, (byte) '\n', 0, end);
+                    ImportSchema.Mapping mapping = readHeader(buffer, headerEnd);
+                    parser = new MappedCsvReader(mapping, new BatchPublisher(listener, token));
+                    parser.totalBytes = size;
+                    // Rough first guess of ~120 bytes per logger line, the dataset grows if needed
+                    dataset = mapping.newDataset((int) Math.min(size / 120 + 16, Integer.MAX_VALUE - 8));
+                    start = Math.min(headerEnd + 1, end);
+                    header = false;
+                    lineNumber++;
+                }
+                parser.windowOffset = position;
+                lineNumber += parser.parseRange(buffer, start, end, dataset);
+                position += end;
+            }
+            if (dataset == null) {
+                return new SolarDataset(); // Empty file
+            }
+            parser.publisher.publish(dataset, size, size);
+            dataset.trimToSize();
+
+            System.out.println("Successfully imported " + dataset.size() + " data points from CSV (total lines: " + lineNumber + ")");
+            metrics.report(dataset.size());
+            return dataset;
+        } finally {
+            metrics.close();
+        }
+    }
+
+    /** Offset just past the last '\n' before {@code limit}, or 0 if there is none. */
+    static int lastLineEnd(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') return i + 1;
+        }
+        return 0;
+    }
+
+    /** Log the header line ending at {@code lineEnd} and match it with the import schema. */
+    static ImportSchema.Mapping readHeader(ByteBuffer buffer, int lineEnd) {
+        int headerEnd = lineEnd > 0 && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+        byte[] header = new byte[headerEnd];
+        buffer.get(0, header);
+        String text = new String(header, StandardCharsets.UTF_8);
+        System.out.println("CSV Header: " + text);
+        ImportSchema.Mapping mapping = ImportSchema.getDefault().map(ImportSchema.splitHeader(text));
+        System.out.println("Column mapping: " + mapping);
+        return mapping;
+    }
+
+    /**
+     * Parse every line in [from, to) and append the valid ones to the dataset.
+     * Returns the number of lines scanned.
+     */
+    int parseRange(ByteBuffer buffer, int from, int to, SolarDataset dataset) {
+        int lines = 0;
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, to);
+            parseLine(buffer, lineStart, lineEnd, dataset);
+            publisher.tick(dataset, windowOffset + lineEnd, totalBytes);
+            lines++;
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end, SolarDataset dataset) {
+        // Skip blank lines (including a lone '\r')
+        int first = start;
+        while (first < end && buffer.get(first) <= ' ') first++;
+        if (first == end) return;
+
+        int fields = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == ',') {
+                if (fields < fieldCount) {
+                    fieldStarts[fields] = fieldStart;
+                    fieldEnds[fields] = i;
+                }
+                fields++;
+                fieldStart = i + 1;
+            }
+        }
+        if (fields < fieldCount) {
+            System.err.println("CSV line has only " + fields + " columns, expected " + fieldCount);
+            return;
+        }
+
+        int timeColumn = mapping.getTimeColumn();
+        int time = timeColumn >= 0 ? parseTime(buffer, fieldStarts[timeColumn], fieldEnds[timeColumn]) : 0;
+        for (int i = 0; i < mapping.size(); i++) {
+            int column = mapping.getColumn(i);
+            double value = parseNumber(buffer, fieldStarts[column], fieldEnds[column]);
+            // Efficiency and RH columns - check if values are in 0-1 range and convert to 0-100
+            if (mapping.isPercent(i) && value >= 0 && value <= 1) {
+                value = value * 100.0;
+            }
+            values[mapping.getChannel(i)] = value;
+        }
+
+        dataset.addRow(time, values);
+    }
+
+    /**
+     * HH:mm / H:mm to minutes since midnight; an empty field means 00:00.
+     * Anything longer (seconds, dated timestamps) goes through
+     * {@link SolarDataset#parseTime(String)}.
+     */
+    static int parseTime(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) <= ' ') start++;
+        while (end > start && buffer.get(end - 1) <= ' ') end--;
+        if (start == end) return 0;
+
+        int length = end - start;
+        if (length > 5) {
+            byte[] text = new byte[length];
+            for (int i = 0; i < length; i++) {
+                text[i] = buffer.get(start + i);
+            }
+            return SolarDataset.parseTime(new String(text, StandardCharsets.ISO_8859_1));
+        }
+        if (length != 4 && length != 5) return SolarDataset.INVALID_TIME;
+        int colon = end - 3;
+        if (buffer.get(colon) != ':') return SolarDataset.INVALID_TIME;
+
+        int hours = 0;
+        for (int i = start; i < colon; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) return SolarDataset.INVALID_TIME;
+            hours = hours * 10 + digit;
+        }
+        int tens = buffer.get(colon + 1) - '0';
+        int ones = buffer.get(colon + 2) - '0';
+        if (hours > 23 || tens < 0 || tens > 5 || ones < 0 || ones > 9) return SolarDataset.INVALID_TIME;
+        return hours * 60 + tens * 10 + ones;
+    }
+
+    /**
+     * Decimal number straight from bytes. Values with at most 15 significant
+     * digits and a small exponent are exact as mantissa * 10^exp (the classic
+     * fast path); anything else goes through Double.parseDouble.
+     */
+    static double parseNumber(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) <= ' ') start++;
+        while (end > start && buffer.get(end - 1) <= ' ') end--;
+        if (start == end) return 0.0;
+
+        int i = start;
+        byte b = buffer.get(i);
+        boolean negative = b == '-';
+        if (b == '-' || b == '+') i++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+
+        while (i < end && (b = buffer.get(i)) >= '0' && b <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+            }
+            anyDigit = true;
+            i++;
+        }
+        if (i < end && buffer.get(i) == '.') {
+            i++;
+            while (i < end && (b = buffer.get(i)) >= '0' && b <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                }
+                anyDigit = true;
+                i++;
+            }
+        }
+        if (anyDigit && i < end && ((b = buffer.get(i)) == 'e' || b == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && ((b = buffer.get(i)) == '-' || b == '+')) {
+                negativeExponent = b == '-';
+                i++;
+            }
+            int explicit = 0;
+            boolean exponentDigit = false;
+            while (i < end && (b = buffer.get(i)) >= '0' && b <= '9') {
+                if (explicit < 10000) explicit = explicit * 10 + (b - '0');
+                exponentDigit = true;
+                i++;
+            }
+            if (!exponentDigit) return parseSlow(buffer, start, end);
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (!anyDigit || i != end || digits > 15 || exponent < -22 || exponent > 22) {
+            return parseSlow(buffer, start, end);
+        }
+        double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return ExcelImporter.parseDoubleSafe(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return to;
+    }
+}
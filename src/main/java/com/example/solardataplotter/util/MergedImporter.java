@@ -0,0 +1,520 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Imports several files, and every sheet of each workbook, into one
+ * timeline. Each file or sheet is a source read block by block on a worker
+ * pool; the blocks are k-way merged by timestamp, and rows of all sources
+ * with the same timestamp become one row.
+ *
+ * Sources belong to a series: one logger or inverter. A file is one series
+ * with its sheets as periods, and files whose names differ only in a date
+ * (logger_2024-05-01.csv, logger_2024-05-02.csv) are one series too. Only
+ * rows of the same series are deduplicated where its periods overlap, the
+ * first source (in the order given) winning. A channel found in more than
+ * one series is kept once per series, named after the series
+ * ("inverter2: P Mono"), so distinct inverters never overwrite each other.
+ * A channel without a value in a row (that series has no row at that time)
+ * is NaN, not 0.
+ *
+ * Per source only the block being merged and the next one (parsed ahead on
+ * the pool) are in memory. CSV blocks are cut from the file on demand, sized
+ * so all sources together stay within {@link #BLOCK_BUDGET_BYTES}; a sheet
+ * is read as one block, which for loggers exporting a sheet per day is a
+ * day of rows. An .xls workbook cannot be streamed: it is loaded once, its
+ * sheets are handed out to its sources, and it is released after the last.
+ */
+public class MergedImporter {
+    // Bytes of CSV text mapped per block, summed over all sources
+    private static final long BLOCK_BUDGET_BYTES = 16L << 20;
+    private static final long MIN_BLOCK_BYTES = 16 * 1024;
+    private static final long MAX_BLOCK_BYTES = 4L << 20;
+    // A date in a file name, left out of the series name
+    private static final Pattern FILE_DATE = Pattern.compile("\\d{4}[-_.]?\\d{2}[-_.]?\\d{2}");
+
+    public static SolarDataset read(List<File> files) throws IOException {
+        return read(files, ForkJoinPool.commonPool(), ImportListener.NONE, new CancellationToken());
+    }
+
+    public static SolarDataset read(List<File> files, ImportListener listener, CancellationToken token) throws IOException {
+        return read(files, ForkJoinPool.commonPool(), listener, token);
+    }
+
+    public static SolarDataset read(List<File> files, ForkJoinPool pool, ImportListener listener,
+                                    CancellationToken token) throws IOException {
+        return read(files, new HashMap<>(), pool, listener, token);
+    }
+
+    /** As {@link #read(List, ForkJoinPool, ImportListener, CancellationToken)}, reusing workbooks the caller already loaded. */
+    static SolarDataset read(List<File> files, Map<File, Workbook> loaded, ForkJoinPool pool, ImportListener listener,
+                             CancellationToken token) throws IOException {
+        ImportMetrics metrics = ImportMetrics.start("Merged (" + files.size() + " files, "
+                + pool.getParallelism() + " workers)");
+        List<String> seriesNames = new ArrayList<>();
+        List<Source> sources;
+        try {
+            sources = sources(files, loaded, seriesNames, token);
+        } catch (IOException | RuntimeException e) {
+            metrics.close();
+            for (Workbook workbook : loaded.values()) {
+                closeQuietly(workbook);
+            }
+            throw e;
+        }
+        long totalBytes = 0;
+        for (File file : files) {
+            totalBytes += file.length();
+        }
+        System.out.println("Merging " + sources.size() + " sources from " + files.size() + " files, "
+                + seriesNames.size() + " series");
+
+        long blockBytes = Math.max(MIN_BLOCK_BYTES, Math.min(MAX_BLOCK_BYTES, BLOCK_BUDGET_BYTES / Math.max(sources.size(), 1)));
+        AtomicLong bytesRead = new AtomicLong();
+        for (Source source : sources) {
+            source.blockBytes = blockBytes;
+            source.bytesRead = bytesRead;
+        }
+
+        try {
+            // First blocks of all sources in parallel; each one asks for its next block when it is taken
+            for (Source source : sources) {
+                source.prefetch(pool, token);
+            }
+            List<Cursor> cursors = new ArrayList<>();
+            for (Source source : sources) {
+                Cursor cursor = new Cursor(source);
+                if (cursor.advanceBlock(pool, token)) cursors.add(cursor);
+            }
+
+            Set<String> shared = sharedChannels(cursors);
+            SolarDataset merged = mergedDataset(cursors, shared, seriesNames);
+            int[][] channelMaps = new int[sources.size()][];
+            for (Cursor cursor : cursors) {
+                channelMaps[cursor.source.index] = channelMap(cursor.block, merged, shared,
+                        seriesNames.get(cursor.source.series));
+            }
+            merge(cursors, channelMaps, seriesNames.size(), merged, pool, listener, token, bytesRead, totalBytes);
+
+            merged.trimToSize();
+            System.out.println("Successfully imported " + merged.size() + " data points from " + sources.size() + " sources");
+            metrics.report(merged.size());
+            return merged;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw new IOException("Error reading " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            metrics.close();
+            for (Source source : sources) {
+                if (source.next != null) source.next.cancel(false);
+                if (source instanceof SheetSource && ((SheetSource) source).workbook != null) {
+                    ((SheetSource) source).workbook.close();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Workbook workbook) {
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            System.err.println("Error closing workbook: " + e.getMessage());
+        }
+    }
+
+    private static void merge(List<Cursor> cursors, int[][] channelMaps, int seriesCount, SolarDataset merged,
+                              ForkJoinPool pool, ImportListener listener, CancellationToken token,
+                              AtomicLong bytesRead, long totalBytes)
+            throws InterruptedException, ExecutionException {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> a.time() != b.time() ?
+                Integer.compare(a.time(), b.time()) : Integer.compare(a.source.index, b.source.index));
+        queue.addAll(cursors);
+
+        BatchPublisher publisher = new BatchPublisher(listener, token);
+        double[] values = new double[merged.getChannelCount()];
+        Arrays.fill(values, Double.NaN);
+        boolean[] filled = new boolean[merged.getChannelCount()];
+        int[] seriesRow = new int[seriesCount]; // Last merged row each series took part in, + 1
+        long overlapping = 0; // Rows of a series that another of its periods also has
+        long repeated = 0;    // Times repeated within a single source
+        int outOfOrder = 0;
+        int lastTime = Integer.MIN_VALUE;
+
+        while (!queue.isEmpty()) {
+            int time = queue.peek().time();
+            int rowStamp = merged.size() + 1;
+            int sourcesInRow = 0;
+            int seriesInRow = 0;
+            // Sources come out in source order for equal times, so within a series the first value
+            // for a channel wins; different series never share a channel
+            while (!queue.isEmpty() && queue.peek().time() == time) {
+                Cursor cursor = queue.poll();
+                if (seriesRow[cursor.source.series] != rowStamp) {
+                    seriesRow[cursor.source.series] = rowStamp;
+                    seriesInRow++;
+                }
+                int[] map = channelMaps[cursor.source.index];
+                int rows = 0;
+                do {
+                    for (int c = 0; c < map.length; c++) {
+                        int target = map[c];
+                        if (target >= 0 && !filled[target]) {
+                            values[target] = cursor.block.getValue(c, cursor.row());
+                            filled[target] = true;
+                        }
+                    }
+                    rows++;
+                } while (cursor.advance() && cursor.time() == time); // Repeated times within one source
+                repeated += rows - 1;
+                sourcesInRow++;
+
+                if (cursor.exhausted() && !cursor.advanceBlock(pool, token)) continue;
+                queue.add(cursor);
+            }
+            if (time < lastTime) outOfOrder++; // A source not sorted across its blocks
+            lastTime = time;
+
+            merged.addRow(time, values);
+            Arrays.fill(values, Double.NaN);
+            Arrays.fill(filled, false);
+            overlapping += sourcesInRow - seriesInRow;
+            publisher.tick(merged, bytesRead.get(), totalBytes);
+        }
+        publisher.publish(merged, totalBytes, totalBytes);
+
+        System.out.println("Dropped " + overlapping + " duplicate rows where periods of one series overlap");
+        if (repeated > 0) {
+            System.out.println("Dropped " + repeated + " rows repeating a time within the same source");
+        }
+        if (outOfOrder > 0) {
+            System.err.println("Sources not sorted by time across blocks, " + outOfOrder + " rows out of order");
+        }
+    }
+
+    /** Names of the channels that more than one series has. */
+    private static Set<String> sharedChannels(List<Cursor> cursors) {
+        Map<String, Integer> seriesOfChannel = new HashMap<>();
+        Set<String> shared = new HashSet<>();
+        for (Cursor cursor : cursors) {
+            SolarDataset block = cursor.block;
+            for (int c = 0; c < block.getChannelCount(); c++) {
+                if (!block.hasChannel(c)) continue;
+                Integer series = seriesOfChannel.putIfAbsent(block.getChannelName(c), cursor.source.series);
+                if (series != null && series != cursor.source.series) shared.add(block.getChannelName(c));
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Empty dataset with the union of the sources' channels, matched by
+     * name; a shared channel becomes one generic channel per series.
+     */
+    private static SolarDataset mergedDataset(List<Cursor> cursors, Set<String> shared, List<String> seriesNames) {
+        boolean[] present = new boolean[SolarDataset.CHANNEL_COUNT];
+        for (Cursor cursor : cursors) {
+            for (int c = 0; c < SolarDataset.CHANNEL_COUNT; c++) {
+                present[c] |= cursor.block.hasChannel(c) && !shared.contains(cursor.block.getChannelName(c));
+            }
+        }
+        SolarDataset merged = new SolarDataset(1024, present);
+        for (Cursor cursor : cursors) {
+            SolarDataset block = cursor.block;
+            for (int c = 0; c < block.getChannelCount(); c++) {
+                if (!block.hasChannel(c)) continue;
+                String name = mergedName(block.getChannelName(c), shared, seriesNames.get(cursor.source.series));
+                if (merged.findChannel(name) < 0) {
+                    merged.addChannel(name, block.getChannelUnit(c));
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static String mergedName(String channel, Set<String> shared, String series) {
+        return shared.contains(channel) ? series + ": " + channel : channel;
+    }
+
+    /** For each channel of {@code block}: its channel in {@code merged}, or -1 if the block lacks it. */
+    private static int[] channelMap(SolarDataset block, SolarDataset merged, Set<String> shared, String series) {
+        int[] map = new int[block.getChannelCount()];
+        for (int c = 0; c < map.length; c++) {
+            map[c] = block.hasChannel(c) ? merged.findChannel(mergedName(block.getChannelName(c), shared, series)) : -1;
+        }
+        return map;
+    }
+
+    /** Series of a file: its name without extension and dates, e.g. "inverter2" for inverter2_2024-05-01.csv. */
+    static String seriesName(File file) {
+        String stem = file.getName().replaceFirst("\\.[^.]*$", "");
+        String name = FILE_DATE.matcher(stem).replaceAll("").replaceAll("^[-_. ]+|[-_. ]+$", "");
+        return name.isEmpty() ? stem : name;
+    }
+
+    /**
+     * One source per CSV file and per sheet of each workbook, in the order
+     * given; {@code seriesNames} receives the name of every series.
+     */
+    private static List<Source> sources(List<File> files, Map<File, Workbook> loaded, List<String> seriesNames,
+                                        CancellationToken token) throws IOException {
+        List<Source> sources = new ArrayList<>();
+        for (File file : files) {
+            token.throwIfCancelled();
+            String fileName = file.getName().toLowerCase();
+            int series = seriesNames.indexOf(seriesName(file));
+            if (series < 0) {
+                series = seriesNames.size();
+                seriesNames.add(seriesName(file));
+            }
+            if (fileName.endsWith(".csv")) {
+                sources.add(new CsvSource(sources.size(), series, file));
+            } else if ((fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) && ExcelImporter.streamsSheets(file)) {
+                int sheets = ExcelImporter.sheetCount(file);
+                for (int sheet = 0; sheet < sheets; sheet++) {
+                    sources.add(new SheetSource(sources.size(), series, file, null, sheet, file.length() / sheets));
+                }
+            } else if (fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) {
+                Workbook workbook = loaded.get(file);
+                if (workbook == null) {
+                    workbook = ExcelImporter.openWorkbook(file);
+                    loaded.put(file, workbook);
+                }
+                LoadedWorkbook shared = new LoadedWorkbook(workbook);
+                int sheets = workbook.getNumberOfSheets();
+                for (int sheet = 0; sheet < sheets; sheet++) {
+                    sources.add(new SheetSource(sources.size(), series, file, shared, sheet, file.length() / sheets));
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported file format: " + file.getName());
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * A file or sheet read in time order, one block at a time. At most one
+     * block read is in flight, so {@link #readBlock} is never called
+     * concurrently for the same source.
+     */
+    private abstract static class Source {
+        final int index;
+        final int series;
+        final String name;
+        long blockBytes;
+        AtomicLong bytesRead; // Shared by all sources, for progress
+        ForkJoinTask<SolarDataset> next;
+
+        Source(int index, int series, String name) {
+            this.index = index;
+            this.series = series;
+            this.name = name;
+        }
+
+        /** The next block, or null once the source is exhausted. */
+        abstract SolarDataset readBlock(CancellationToken token) throws IOException;
+
+        void prefetch(ForkJoinPool pool, CancellationToken token) {
+            next = pool.submit(() -> {
+                try {
+                    return readBlock(token);
+                } catch (IOException | RuntimeException e) {
+                    if (e instanceof CancellationException) throw e;
+                    throw new IOException(name + ": " + e.getMessage(), e);
+                }
+            });
+        }
+
+        /** Wait for the prefetched block and start reading the one after it. */
+        SolarDataset take(ForkJoinPool pool, CancellationToken token) throws InterruptedException, ExecutionException {
+            if (next == null) return null;
+            SolarDataset block = next.get();
+            token.throwIfCancelled();
+            next = null;
+            if (block != null) prefetch(pool, token);
+            return block;
+        }
+    }
+
+    private static class CsvSource extends Source {
+        private final File file;
+        private ImportSchema.Mapping mapping;
+        private long position;
+
+        CsvSource(int index, int series, File file) {
+            super(index, series, file.getName());
+            this.file = file;
+        }
+
+        @Override
+        SolarDataset readBlock(CancellationToken token) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                while (position < size) {
+                    long length = Math.min(blockBytes, size - position);
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    int end = (int) length;
+                    if (position + length < size) {
+                        end = MappedCsvReader.lastLineEnd(buffer, end);
+                        if (end == 0) {
+                            if (blockBytes >= MappedCsvReader.MAP_WINDOW) {
+                                throw new IOException("CSV line longer than " + MappedCsvReader.MAP_WINDOW + " bytes at offset " + position);
+                            }
+                            blockBytes *= 2; // A line longer than the block: retry with a larger one
+                            continue;
+                        }
+                    }
+
+                    int start = 0;
+                    if (mapping == null) {
+                        int headerEnd = MappedCsvReader.indexOf(buffer, (byte) '\n', 0, end);
+                        mapping = MappedCsvReader.readHeader(buffer, headerEnd);
+                        start = Math.min(headerEnd + 1, end);
+                    }
+                    SolarDataset block = mapping.newDataset((end - start) / 80 + 16);
+                    new MappedCsvReader(mapping, new BatchPublisher(ImportListener.NONE, token))
+                            .parseRange(buffer, start, end, block);
+                    position += end;
+                    bytesRead.addAndGet(end);
+                    if (!block.isEmpty()) return block;
+                }
+                return null;
+            }
+        }
+    }
+
+    private static class SheetSource extends Source {
+        private final File file;
+        private final LoadedWorkbook workbook; // Null for a streamed .xlsx
+        private final int sheet;
+        private final long bytes;
+        private boolean read;
+
+        SheetSource(int index, int series, File file, LoadedWorkbook workbook, int sheet, long bytes) {
+            super(index, series, file.getName() + " sheet " + (sheet + 1));
+            this.file = file;
+            this.workbook = workbook;
+            this.sheet = sheet;
+            this.bytes = bytes;
+        }
+
+        @Override
+        SolarDataset readBlock(CancellationToken token) {
+            if (read) return null;
+            read = true;
+            SolarDataset block = workbook != null ? workbook.readSheet(sheet, token)
+                    : ExcelImporter.importSheet(file, sheet, ImportListener.NONE, token);
+            bytesRead.addAndGet(bytes);
+            return block.isEmpty() ? null : block;
+        }
+    }
+
+    /** A workbook loaded whole, shared by the sources of its sheets and closed after the last one is read. */
+    private static class LoadedWorkbook {
+        private Workbook workbook;
+        private int unread;
+
+        LoadedWorkbook(Workbook workbook) {
+            this.workbook = workbook;
+            this.unread = workbook.getNumberOfSheets();
+        }
+
+        // POI workbooks are not thread-safe: the sheets of one workbook are decoded one at a time
+        synchronized SolarDataset readSheet(int sheet, CancellationToken token) {
+            if (workbook == null) throw new CancellationException();
+            try {
+                return ExcelImporter.importSheet(workbook, sheet, ImportListener.NONE, token);
+            } finally {
+                if (--unread == 0) close();
+            }
+        }
+
+        synchronized void close() {
+            if (workbook != null) {
+                closeQuietly(workbook);
+                workbook = null;
+            }
+        }
+    }
+
+    /** Merge position in the current block of one source, following time order within the block. */
+    private static class Cursor {
+        final Source source;
+        SolarDataset block;
+        private int[] order; // Rows in time order when the block itself is not sorted, else null
+        private int position;
+        private int end;
+
+        Cursor(Source source) {
+            this.source = source;
+        }
+
+        int row() {
+            return order != null ? order[position] : position;
+        }
+
+        int time() {
+            return block.getTime(row());
+        }
+
+        boolean exhausted() {
+            return position >= end;
+        }
+
+        /** Step to the next row of this block; false if the block is used up. */
+        boolean advance() {
+            return ++position < end;
+        }
+
+        /** Move on to the next non-empty block; false once the source is exhausted. */
+        boolean advanceBlock(ForkJoinPool pool, CancellationToken token) throws InterruptedException, ExecutionException {
+            while (true) {
+                SolarDataset next = source.take(pool, token);
+                if (next == null) {
+                    block = null;
+                    return false;
+                }
+                block = next;
+                position = 0;
+                if (block.isTimeSorted()) {
+                    order = null;
+                    end = block.size();
+                } else {
+                    // Rows with an invalid time have no place on the timeline and are skipped
+                    order = block.rowsInTimeRange(Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+                    end = order.length;
+                    if (end < block.size()) {
+                        System.err.println(source.name + ": skipping " + (block.size() - end) + " rows without a valid time");
+                    }
+                }
+                if (end > 0) return true;
+            }
+        }
+    }
+}
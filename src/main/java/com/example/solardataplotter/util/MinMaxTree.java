@@ -0,0 +1,114 @@
+package com.example.solardataplotter.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimum and maximum of a growing array of values, kept in a segment tree
+ * so that changing or appending a value is O(log n), also when the old
+ * value was the only extreme. A plotted series keeps one per coordinate to
+ * refit the axes after an edit without rescanning its points. A NaN value
+ * counts as no value.
+ */
+public class MinMaxTree {
+    private int count;
+    private int leaves; // Power of two >= capacity
+    private double[] min;
+    private double[] max;
+
+    /** Tree over the first {@code count} entries of {@code values}: O(n). */
+    public MinMaxTree(double[] values, int count) {
+        build(values, count, count);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /** Smallest value, or +Infinity if there is none. */
+    public double getMin() {
+        return min[1];
+    }
+
+    /** Largest value, or -Infinity if there is none. */
+    public double getMax() {
+        return max[1];
+    }
+
+    public void set(int index, double value) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " values");
+        }
+        setLeaf(index, value);
+    }
+
+    public void append(double value) {
+        if (count == leaves) {
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = leafValue(i);
+            }
+            build(values, count, 2 * count);
+        }
+        setLeaf(count++, value);
+    }
+
+    /**
+     * Drop the value at {@code index}; the ones after it move down by one.
+     * O(n - index), the same order as the array shift the caller makes.
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + count + " values");
+        }
+        int from = leaves + index;
+        int last = leaves + count - 1;
+        System.arraycopy(min, from + 1, min, from, last - from);
+        System.arraycopy(max, from + 1, max, from, last - from);
+        min[last] = Double.POSITIVE_INFINITY;
+        max[last] = Double.NEGATIVE_INFINITY;
+        count--;
+        for (from >>= 1, last >>= 1; from >= 1; from >>= 1, last >>= 1) {
+            for (int node = from; node <= last; node++) {
+                pull(node);
+            }
+        }
+    }
+
+    private void build(double[] values, int count, int capacity) {
+        this.count = count;
+        this.leaves = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+        this.min = new double[2 * leaves];
+        this.max = new double[2 * leaves];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < count; i++) {
+            if (Double.isNaN(values[i])) continue;
+            min[leaves + i] = values[i];
+            max[leaves + i] = values[i];
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            pull(node);
+        }
+    }
+
+    /** The value at a leaf, or NaN if it is empty. */
+    private double leafValue(int index) {
+        double value = min[leaves + index];
+        return value <= max[leaves + index] ? value : Double.NaN;
+    }
+
+    private void setLeaf(int index, double value) {
+        int node = leaves + index;
+        min[node] = Double.isNaN(value) ? Double.POSITIVE_INFINITY : value;
+        max[node] = Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            pull(node);
+        }
+    }
+
+    private void pull(int node) {
+        int left = 2 * node;
+        min[node] = Math.min(min[left], min[left + 1]);
+        max[node] = Math.max(max[left], max[left + 1]);
+    }
+}
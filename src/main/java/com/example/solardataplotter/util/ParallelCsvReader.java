@@ -0,0 +1,175 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Multi-core CSV import. The file is cut into byte ranges that end on line
+ * boundaries, each range is memory-mapped and parsed by a ForkJoin worker
+ * into its own columnar buffer, and the buffers are concatenated in file
+ * order so row order is preserved.
+ */
+public class ParallelCsvReader {
+    // Below this a chunk is not worth the scheduling and stitching overhead
+    private static final long MIN_CHUNK_BYTES = 4L << 20;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    public static SolarDataset read(File file) throws IOException {
+        return read(file, ForkJoinPool.commonPool(), ImportListener.NONE, new CancellationToken());
+    }
+
+    public static SolarDataset read(File file, ImportListener listener, CancellationToken token) throws IOException {
+        return read(file, ForkJoinPool.commonPool(), listener, token);
+    }
+
+    public static SolarDataset read(File file, ForkJoinPool pool, ImportListener listener,
+                                    CancellationToken token) throws IOException {
+        ImportMetrics metrics = ImportMetrics.start("CSV (parallel, " + pool.getParallelism() + " workers)");
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size);
+            ImportSchema.Mapping mapping = readHeader(channel, dataStart);
+
+            long[] bounds = chunkBounds(channel, dataStart, size, pool.getParallelism());
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+            for (int i = 0; i < bounds.length - 1; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                tasks.add(pool.submit(() -> parseChunk(channel, start, end, mapping, token)));
+            }
+
+            // Stitch in file order; each chunk is handed on as soon as it and all before it are done
+            SolarDataset dataset = mapping.newDataset((int) Math.min(size / 120 + 16, Integer.MAX_VALUE - 8));
+            int totalLines = 1; // header
+            try {
+                for (int i = 0; i < tasks.size(); i++) {
+                    Chunk chunk = tasks.get(i).get();
+                    token.throwIfCancelled();
+                    int from = dataset.size();
+                    dataset.addAll(chunk.dataset);
+                    totalLines += chunk.lines;
+                    listener.progress(chunk.end, size);
+                    listener.rowsImported(dataset, from, dataset.size());
+                    System.out.printf("  chunk %d: bytes [%d, %d) -> %d rows in %.1f ms%n",
+                            i, chunk.start, chunk.end, chunk.dataset.size(), chunk.nanos / 1e6);
+                }
+            } finally {
+                for (ForkJoinTask<Chunk> task : tasks) {
+                    task.cancel(false); // No-op for finished chunks
+                }
+            }
+            dataset.trimToSize();
+
+            System.out.println("Successfully imported " + dataset.size() + " data points from CSV (total lines: " + totalLines + ")");
+            metrics.report(dataset.size());
+            return dataset;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("CSV import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            }
+            throw new IOException("Error reading CSV chunk: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            metrics.close();
+        }
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long start, long end, ImportSchema.Mapping mapping,
+                                    CancellationToken token) throws IOException {
+        long begin = System.nanoTime();
+        int length = (int) (end - start);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+        SolarDataset dataset = mapping.newDataset(length / 120 + 16);
+        // Workers only poll for cancellation; rows are published in order by the stitching loop
+        MappedCsvReader parser = new MappedCsvReader(mapping, new BatchPublisher(ImportListener.NONE, token));
+        int lines = parser.parseRange(buffer, 0, length, dataset);
+        dataset.trimToSize();
+        return new Chunk(start, end, dataset, lines, System.nanoTime() - begin);
+    }
+
+    /**
+     * Split [dataStart, size) into roughly equal ranges, each moved forward to
+     * the start of the next line and none larger than one mapping window.
+     */
+    private static long[] chunkBounds(FileChannel channel, long dataStart, long size, int workers) throws IOException {
+        long dataBytes = size - dataStart;
+        long target = Math.max(MIN_CHUNK_BYTES, dataBytes / ((long) workers * CHUNKS_PER_WORKER));
+        target = Math.min(target, MappedCsvReader.MAP_WINDOW / 2); // leave room to finish the last line
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(dataStart);
+        long position = dataStart;
+        while (size - position > target) {
+            long next = nextLineStart(channel, position + target, size);
+            if (next - position > MappedCsvReader.MAP_WINDOW) {
+                throw new IOException("CSV line longer than " + MappedCsvReader.MAP_WINDOW + " bytes at offset " + position);
+            }
+            if (next >= size) break;
+            bounds.add(next);
+            position = next;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /** Offset just past the first '\n' at or after {@code position}, or {@code size}. */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(8192);
+        while (position < size) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /** Log the header line and match it with the import schema; every chunk shares the mapping. */
+    private static ImportSchema.Mapping readHeader(FileChannel channel, long headerEnd) throws IOException {
+        int length = (int) Math.min(headerEnd, 64 * 1024);
+        ByteBuffer header = ByteBuffer.allocate(length);
+        channel.read(header, 0);
+        return MappedCsvReader.readHeader(header, MappedCsvReader.indexOf(header, (byte) '\n', 0, header.position()));
+    }
+
+    private static class Chunk {
+        final long start;
+        final long end;
+        final SolarDataset dataset;
+        final int lines;
+        final long nanos;
+
+        Chunk(long start, long end, SolarDataset dataset, int lines, long nanos) {
+            this.start = start;
+            this.end = end;
+            this.dataset = dataset;
+            this.lines = lines;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.GraphConfig;
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Native session format: the graph configuration followed by the dataset as
+ * fixed-width little-endian column blocks, so reopening is a memory map plus
+ * one bulk copy per column instead of re-parsing the original spreadsheet.
+ *
+ * <pre>
+ * offset  size  field
+ * 0       8     magic "SOLARSES"
+ * 8       4     format version
+ * 12      4     row count
+ * 16      4     channel count
+ * 20      4     column encoding (0 = raw, 1 = compressed)
+ * 24      4     metadata length in bytes
+ * 28      4     reserved (0)
+ * 32      ...   metadata: GraphConfig fields, channel names and units, padded to 8 bytes
+ *         ...   time block: row count * int32 minutes, padded to 8 bytes
+ *         ...   one block per channel: row count * float64
+ * </pre>
+ *
+ * Compressed files store the time column and then every channel as a
+ * {@link ColumnCodec} stream instead: int32 row count, int32 block count,
+ * int64 word count, the block index (block count + 1 int64 bit offsets) and
+ * the int64 words of the bit stream.
+ *
+ * Only the channels the dataset has are stored, in its channel order, so a
+ * file imported with fewer columns stays small and generic channels keep
+ * their names and units. Files from before units were stored simply end
+ * after the channel names.
+ */
+public class SessionFile {
+    public static final String EXTENSION = "solar";
+
+    private static final byte[] MAGIC = "SOLARSES".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int ENCODING_RAW = 0;
+    private static final int ENCODING_COMPRESSED = 1;
+    private static final int COLUMN_HEADER_BYTES = 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    /** Dataset and graph configuration read back from a session file. */
+    public static class Session {
+        private final SolarDataset dataset;
+        private final GraphConfig config;
+
+        public Session(SolarDataset dataset, GraphConfig config) {
+            this.dataset = dataset;
+            this.config = config;
+        }
+
+        public SolarDataset getDataset() { return dataset; }
+        public GraphConfig getConfig() { return config; }
+    }
+
+    public static void save(File file, SolarDataset dataset, GraphConfig config) throws IOException {
+        save(file, dataset, config, false);
+    }
+
+    /**
+     * Save {@code dataset}; compressed files are several times smaller but
+     * have to be decoded on open rather than just copied.
+     */
+    public static void save(File file, SolarDataset dataset, GraphConfig config, boolean compressed) throws IOException {
+        long start = System.nanoTime();
+        int rows = dataset.size();
+        List<Integer> stored = new ArrayList<>();
+        for (int c = 0; c < dataset.getChannelCount(); c++) {
+            if (dataset.hasChannel(c)) stored.add(c);
+        }
+        byte[] metadata = encodeMetadata(config, dataset, stored);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.put(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(rows);
+            buffer.putInt(stored.size());
+            buffer.putInt(compressed ? ENCODING_COMPRESSED : ENCODING_RAW);
+            buffer.putInt(metadata.length);
+            buffer.putInt(0);
+            writeBytes(channel, buffer, metadata);
+            pad(channel, buffer);
+
+            if (compressed) {
+                writeColumn(channel, buffer, ColumnCodec.encodeTimes(dataset.getTimeColumn(), rows));
+                for (int c : stored) {
+                    writeColumn(channel, buffer, ColumnCodec.encodeDoubles(dataset.getColumn(c), rows));
+                }
+            } else {
+                int[] times = dataset.getTimeColumn();
+                for (int i = 0; i < rows; i++) {
+                    if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+                    buffer.putInt(times[i]);
+                }
+                pad(channel, buffer);
+
+                for (int c : stored) {
+                    double[] column = dataset.getColumn(c);
+                    for (int i = 0; i < rows; i++) {
+                        if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+                        buffer.putDouble(column[i]);
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+
+        System.out.printf("Saved %ssession %s: %d rows in %.1f ms%n",
+                compressed ? "compressed " : "", file.getName(), rows, (System.nanoTime() - start) / 1e6);
+    }
+
+    public static Session load(File file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(file.getName() + " is not a session file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported session file version " + version);
+            }
+            int rows = header.getInt();
+            int channelCount = header.getInt();
+            int encoding = header.getInt();
+            int metadataLength = header.getInt();
+            if (encoding != ENCODING_RAW && encoding != ENCODING_COMPRESSED) {
+                throw new IOException("Unsupported column encoding " + encoding);
+            }
+
+            ByteBuffer metadataBuffer = map(channel, HEADER_BYTES, metadataLength);
+            GraphConfig config = new GraphConfig();
+            List<String> channelUnits = new ArrayList<>();
+            List<String> channelNames = decodeMetadata(metadataBuffer, config, channelUnits);
+            if (channelNames.size() != channelCount) {
+                throw new IOException("Session file lists " + channelNames.size() + " channel names for " + channelCount + " channels");
+            }
+
+            long offset = align(HEADER_BYTES + metadataLength);
+            int[] times = new int[Math.max(rows, 1)];
+            if (encoding == ENCODING_COMPRESSED) {
+                long[][] blocks = readColumn(channel, offset, rows);
+                ColumnCodec.TimeColumn column = new ColumnCodec.TimeColumn(rows, blocks[0], blocks[1]);
+                column.decode(times);
+                offset += COLUMN_HEADER_BYTES + column.getCompressedBytes();
+            } else {
+                map(channel, offset, (long) rows * Integer.BYTES).asIntBuffer().get(times, 0, rows);
+                offset = align(offset + (long) rows * Integer.BYTES);
+            }
+
+            // Built-in channels are matched by name, so files keep working if the channel order
+            // changes; any other name becomes a generic channel
+            double[][] columns = new double[SolarDataset.CHANNEL_COUNT][];
+            double[][] generic = new double[channelCount][];
+            for (int stored = 0; stored < channelCount; stored++) {
+                int c = SolarDataset.channelIndex(channelNames.get(stored));
+                double[] values = new double[Math.max(rows, 1)];
+                if (encoding == ENCODING_COMPRESSED) {
+                    long[][] blocks = readColumn(channel, offset, rows);
+                    ColumnCodec.DoubleColumn column = new ColumnCodec.DoubleColumn(rows, blocks[0], blocks[1]);
+                    column.decode(values);
+                    offset += COLUMN_HEADER_BYTES + column.getCompressedBytes();
+                } else {
+                    map(channel, offset, (long) rows * Double.BYTES).asDoubleBuffer().get(values, 0, rows);
+                    offset += (long) rows * Double.BYTES;
+                }
+                if (c >= 0) {
+                    columns[c] = values;
+                } else {
+                    generic[stored] = values;
+                }
+            }
+
+            SolarDataset dataset = new SolarDataset(times, columns, rows);
+            for (int stored = 0; stored < channelCount; stored++) {
+                if (generic[stored] != null && dataset.findChannel(channelNames.get(stored)) < 0) {
+                    String unit = stored < channelUnits.size() ? channelUnits.get(stored) : "";
+                    dataset.addChannel(channelNames.get(stored), unit, generic[stored]);
+                }
+            }
+            System.out.printf("Opened session %s: %d rows in %.1f ms%n",
+                    file.getName(), rows, (System.nanoTime() - start) / 1e6);
+            return new Session(dataset, config);
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, ColumnCodec.EncodedColumn column) throws IOException {
+        if (buffer.remaining() < COLUMN_HEADER_BYTES) flush(channel, buffer);
+        buffer.putInt(column.size);
+        buffer.putInt(column.getBlockCount());
+        buffer.putLong(column.words.length);
+        writeLongs(channel, buffer, column.blockStarts);
+        writeLongs(channel, buffer, column.words);
+    }
+
+    private static void writeLongs(FileChannel channel, ByteBuffer buffer, long[] values) throws IOException {
+        for (long value : values) {
+            if (buffer.remaining() < Long.BYTES) flush(channel, buffer);
+            buffer.putLong(value);
+        }
+    }
+
+    /** Block index and words of the compressed column stored at {@code offset}. */
+    private static long[][] readColumn(FileChannel channel, long offset, int rows) throws IOException {
+        ByteBuffer header = map(channel, offset, COLUMN_HEADER_BYTES);
+        int size = header.getInt();
+        int blockCount = header.getInt();
+        long wordCount = header.getLong();
+        if (size != rows || blockCount != ColumnCodec.blockCount(rows) || wordCount > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt compressed column at offset " + offset);
+        }
+        offset += COLUMN_HEADER_BYTES;
+
+        long[] blockStarts = new long[blockCount + 1];
+        map(channel, offset, (long) blockStarts.length * Long.BYTES).asLongBuffer().get(blockStarts);
+        offset += (long) blockStarts.length * Long.BYTES;
+
+        long[] words = new long[(int) wordCount];
+        map(channel, offset, wordCount * Long.BYTES).asLongBuffer().get(words);
+        return new long[][] { blockStarts, words };
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (offset + length > channel.size()) {
+            throw new IOException("Session file is truncated");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static byte[] encodeMetadata(GraphConfig config, SolarDataset dataset, List<Integer> channels) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        List<String> values = new ArrayList<>();
+        values.add(config.getExperimentLocation());
+        values.add(config.getLatitude());
+        values.add(config.getLongitude());
+        values.add(config.getXAxisLabel());
+        values.add(config.getYAxisLabel());
+        values.add(config.getGraphTitle());
+        for (String value : values) {
+            buffer = putString(buffer, value);
+        }
+        buffer = putStrings(buffer, config.getXAxisColumns());
+        buffer = putStrings(buffer, config.getYAxisColumns());
+        List<String> names = new ArrayList<>();
+        List<String> units = new ArrayList<>();
+        for (int c : channels) {
+            names.add(dataset.getChannelName(c));
+            units.add(dataset.getChannelUnit(c));
+        }
+        buffer = putStrings(buffer, names);
+        buffer = putStrings(buffer, units);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /** Fills in {@code config} and {@code units} (if stored) and returns the channel names. */
+    private static List<String> decodeMetadata(ByteBuffer buffer, GraphConfig config, List<String> units) {
+        config.setExperimentLocation(getString(buffer));
+        config.setLatitude(getString(buffer));
+        config.setLongitude(getString(buffer));
+        config.setXAxisLabel(getString(buffer));
+        config.setYAxisLabel(getString(buffer));
+        config.setGraphTitle(getString(buffer));
+        config.setXAxisColumns(getStrings(buffer));
+        config.setYAxisColumns(getStrings(buffer));
+        List<String> names = getStrings(buffer);
+        if (buffer.hasRemaining()) {
+            units.addAll(getStrings(buffer));
+        }
+        return names;
+    }
+
+    private static ByteBuffer putStrings(ByteBuffer buffer, List<String> values) {
+        List<String> list = values != null ? values : List.of();
+        buffer = ensure(buffer, Integer.BYTES);
+        buffer.putInt(list.size());
+        for (String value : list) {
+            buffer = putString(buffer, value);
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer putString(ByteBuffer buffer, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        buffer = ensure(buffer, Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return buffer;
+    }
+
+    private static List<String> getStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getString(buffer));
+        }
+        return values;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) return buffer;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static void writeBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) flush(channel, buffer);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /** Zero-pad the output up to the next 8-byte boundary. */
+    private static void pad(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = channel.position() + buffer.position();
+        int padding = (int) (align(written) - written);
+        if (buffer.remaining() < padding) flush(channel, buffer);
+        for (int i = 0; i < padding; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event-based (SAX) reader for .xlsx files. Rows of one sheet (the first by
+ * default) are decoded one at a time straight into a {@link SolarDataset},
+ * so memory use does not depend on the number of rows the way an
+ * XSSFWorkbook does. The header row is matched with the {@link ImportSchema}
+ * before any data row.
+ */
+public class StreamingXlsxReader {
+    public static SolarDataset read(File file) throws Exception {
+        return read(file, ImportListener.NONE, new CancellationToken());
+    }
+
+    public static SolarDataset read(File file, ImportListener listener, CancellationToken token) throws Exception {
+        return read(file, 0, listener, token);
+    }
+
+    /** Names of the sheets in workbook order, for importing each of them. */
+    public static List<String> sheetNames(File file) throws Exception {
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        try {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            List<String> names = new ArrayList<>();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+            return names;
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /** Read the sheet at {@code sheetIndex} (0 = first). */
+    public static SolarDataset read(File file, int sheetIndex, ImportListener listener,
+                                    CancellationToken token) throws Exception {
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        ImportMetrics metrics = ImportMetrics.start("XLSX (streaming)");
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int i = 0; i < sheetIndex && sheets.hasNext(); i++) {
+                sheets.next().close();
+            }
+            if (!sheets.hasNext()) {
+                throw new IOException(sheetIndex == 0 ? "Workbook contains no sheets" : "Workbook has no sheet " + sheetIndex);
+            }
+
+            RowHandler rows = new RowHandler(new BatchPublisher(listener, token));
+            try (InputStream sheet = sheets.next()) {
+                System.out.println("Excel sheet: " + sheets.getSheetName());
+
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, rows, new RawValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            SolarDataset dataset = rows.dataset;
+            rows.publisher.publish(dataset, dataset.size(), -1);
+            dataset.trimToSize();
+
+            System.out.println("Successfully imported " + dataset.size() + " data points from Excel");
+            metrics.report(dataset.size());
+            return dataset;
+        } finally {
+            metrics.close();
+            pkg.revert(); // Read-only package: release without trying to save
+        }
+    }
+
+    /**
+     * Receives one sheet row at a time. Cells arrive sparsely (empty cells are
+     * skipped), so the row buffer is reset on every row. The dataset is
+     * created from the header row; a sheet without one is read positionally.
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final BatchPublisher publisher;
+        private ImportSchema.Mapping mapping;
+        private SolarDataset dataset = new SolarDataset();
+        private String[] cells = new String[SolarDataset.CHANNEL_COUNT + 1];
+        private double[] values;
+        private int columns; // Highest column seen in this row, plus one
+        private int nextColumn;
+
+        RowHandler(BatchPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, 0, columns, null);
+            columns = 0;
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? columnIndex(cellReference) : nextColumn;
+            nextColumn = column + 1;
+            if (mapping != null && column >= cells.length) {
+                return; // Not a mapped column
+            }
+            if (column >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+            }
+            cells[column] = formattedValue;
+            columns = Math.max(columns, column + 1);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) {
+                // Header row
+                System.out.print("Header columns: ");
+                for (int i = 0; i < columns; i++) {
+                    if (cells[i] != null) {
+                        System.out.print("[" + i + "]=" + cells[i] + " ");
+                    }
+                }
+                System.out.println();
+                useMapping(ImportSchema.getDefault().map(Arrays.asList(cells).subList(0, columns)));
+                return;
+            }
+            if (mapping == null) {
+                useMapping(ImportSchema.positional(Collections.emptyList()));
+            }
+
+            int timeColumn = mapping.getTimeColumn();
+            String timeValue = timeColumn >= 0 ? cells[timeColumn] : null;
+            int time = timeValue != null && !timeValue.trim().isEmpty() ?
+                    SolarDataset.parseTime(timeValue) : 0;
+
+            for (int i = 0; i < mapping.size(); i++) {
+                int column = mapping.getColumn(i);
+                double value = numericValue(column);
+                // Efficiency: percent-formatted cells or 0-1 decimals become 0-100; RH: 0-1 decimals
+                if (mapping.isPercent(i) && (isPercent(column) || (value >= 0 && value <= 1))) {
+                    value = value * 100.0;
+                }
+                values[mapping.getChannel(i)] = value;
+            }
+
+            dataset.addRow(time, values);
+            publisher.tick(dataset, dataset.size(), -1); // Row total is unknown while streaming
+        }
+
+        private void useMapping(ImportSchema.Mapping mapping) {
+            System.out.println("Column mapping: " + mapping);
+            this.mapping = mapping;
+            this.dataset = mapping.newDataset(16);
+            this.values = new double[mapping.getChannelCount()];
+            // Only mapped columns are kept from here on
+            cells = Arrays.copyOf(cells, Math.max(mapping.getFieldCount(), 1));
+            columns = Math.min(columns, cells.length);
+        }
+
+        private double numericValue(int column) {
+            String text = cells[column];
+            if (isPercent(column)) {
+                text = text.substring(0, text.length() - 1);
+            }
+            return ExcelImporter.parseDoubleSafe(text);
+        }
+
+        private boolean isPercent(int column) {
+            String text = cells[column];
+            return text != null && text.endsWith("%");
+        }
+    }
+
+    /**
+     * Keeps numbers raw instead of formatting them for display: time cells
+     * become HH:mm, dated cells yyyy-MM-dd HH:mm, and percent-formatted
+     * cells get a trailing '%' so the efficiency columns can still be
+     * recognised.
+     */
+    private static class RawValueFormatter extends DataFormatter {
+        private static final long EXCEL_EPOCH_OFFSET_DAYS = 25569;
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (formatString != null && DateUtil.isADateFormat(formatIndex, formatString)
+                    && DateUtil.isValidExcelDate(value)) {
+                if (value < 1) {
+                    long seconds = Math.round(value * 86400);
+                    return SolarDataset.formatTime((int) ((seconds / 60) % SolarDataset.MINUTES_PER_DAY));
+                }
+                // Serial days count from 1899-12-30, which is EXCEL_EPOCH_OFFSET_DAYS before 1970-01-01
+                long minutes = Math.round(value * 86400) / 60 - EXCEL_EPOCH_OFFSET_DAYS * SolarDataset.MINUTES_PER_DAY;
+                return SolarDataset.formatTime((int) minutes);
+            }
+            String raw = Double.toString(value);
+            return formatString != null && formatString.indexOf('%') >= 0 ? raw + "%" : raw;
+        }
+    }
+
+    /** Zero-based column of an A1-style reference ("C12" -> 2). */
+    private static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char ch = cellReference.charAt(i);
+            if (ch < 'A' || ch > 'Z') break;
+            column = column * 26 + (ch - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
@@ -0,0 +1,539 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.ColumnAccessor;
+import com.example.solardataplotter.model.SolarDataset;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Exports a chart as SVG or PDF drawn straight from the series data and axis
+ * scales, without a scene graph or Stage, so it also works in batch jobs.
+ * Output is streamed point by point. Points that would land in a cell of
+ * the plot already covered by an earlier symbol of the same series are
+ * dropped, which bounds file size by the plot area rather than the row count.
+ */
+public class VectorExporter {
+    public static final int DEFAULT_WIDTH = 1200;
+    public static final int DEFAULT_HEIGHT = 800;
+
+    /** Same palette as the default-colorN rules in styles.css (the chart cycles through 8). */
+    public static final String[] SERIES_COLORS = {"#FF0000", "#0000FF", "#008000", "#FFA500",
+            "#800080", "#00FFFF", "#FF00FF", "#A52A2A"};
+
+    private static final double POINT_RADIUS = 3.0;
+    private static final double CELL_SIZE = POINT_RADIUS; // Symbols closer than this overlap almost entirely
+    private static final int MAX_TICKS = 200;
+    private static final String TEXT_COLOR = "#2C3E50";
+    private static final String GRID_COLOR = "#E0E0E0";
+    private static final String FRAME_COLOR = "#BDC3C7";
+
+    public static class Series {
+        final String name;
+        final String color;
+        final double[] x;
+        final double[] y;
+        final int count;
+
+        /** Only the first {@code count} entries of x/y are used; color is "#RRGGBB". */
+        public Series(String name, String color, double[] x, double[] y, int count) {
+            this.name = name;
+            this.color = color;
+            this.x = x;
+            this.y = y;
+            this.count = count;
+        }
+    }
+
+    public static class Chart {
+        final String title;
+        final String xLabel;
+        final String yLabel;
+        final AxisScale xScale;
+        final AxisScale yScale;
+        final List<Series> series = new ArrayList<>();
+
+        public Chart(String title, String xLabel, String yLabel, AxisScale xScale, AxisScale yScale) {
+            this.title = title;
+            this.xLabel = xLabel;
+            this.yLabel = yLabel;
+            this.xScale = xScale;
+            this.yScale = yScale;
+        }
+
+        public void addSeries(Series s) {
+            series.add(s);
+        }
+    }
+
+    /**
+     * The chart Generate Graph would draw for these columns, built from the
+     * dataset alone (no controller or FX toolkit needed).
+     */
+    public static Chart fromDataset(SolarDataset dataset, String xAxisGroup, List<String> yColumns, String title) {
+        boolean time = "Time".equals(xAxisGroup);
+        double xMin = Double.POSITIVE_INFINITY;
+        double xMax = Double.NEGATIVE_INFINITY;
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        List<Series> series = new ArrayList<>();
+
+        for (String yColumn : yColumns) {
+            ColumnAccessor yAccessor = ColumnAccessor.forColumn(dataset, yColumn);
+            if (yAccessor == null) {
+                throw new IllegalArgumentException("Unknown Y-axis column: " + yColumn);
+            }
+            ColumnAccessor xAccessor = ColumnAccessor.forXAxis(dataset, xAxisGroup, yColumn);
+            if (xAccessor == null) {
+                throw new IllegalArgumentException("Unknown X-axis column: " + xAxisGroup);
+            }
+
+            double[] x = new double[dataset.size()];
+            double[] y = new double[dataset.size()];
+            int count = 0;
+            for (int row = 0; row < dataset.size(); row++) {
+                double xValue = xAccessor.get(dataset, row);
+                double yValue = yAccessor.get(dataset, row);
+                if (Double.isNaN(xValue) || Double.isNaN(yValue)) continue; // Missing in a merged import
+                x[count] = xValue;
+                y[count] = yValue;
+                count++;
+                xMin = Math.min(xMin, xValue);
+                xMax = Math.max(xMax, xValue);
+                yMin = Math.min(yMin, yValue);
+                yMax = Math.max(yMax, yValue);
+            }
+            String unit = dataset.getChannelUnit(yAccessor.getChannelIndex());
+            String name = unit.isEmpty() ? yColumn : yColumn + " (" + unit + ")";
+            series.add(new Series(name, SERIES_COLORS[series.size() % SERIES_COLORS.length], x, y, count));
+        }
+        if (series.isEmpty() || dataset.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to plot");
+        }
+
+        String xUnit = time ? "HH:mm" : unitOf(dataset, xAxisGroup);
+        String xLabel = xAxisGroup + (xUnit != null ? " (" + xUnit + ")" : "");
+        String yLabel = yColumns.size() == 1 ? series.get(0).name : "Parameters";
+        AxisScale xScale = time ? AxisScale.forTime(xMin, xMax) : AxisScale.forValues(xMin, xMax);
+
+        Chart chart = new Chart(title, xLabel, yLabel, xScale, AxisScale.forValues(yMin, yMax));
+        chart.series.addAll(series);
+        return chart;
+    }
+
+    private static String unitOf(SolarDataset dataset, String xAxisGroup) {
+        int channel = SolarDataset.groupedXChannel(xAxisGroup, xAxisGroup);
+        if (channel < 0) channel = dataset.findChannel(xAxisGroup);
+        return channel >= 0 && !dataset.getChannelUnit(channel).isEmpty() ? dataset.getChannelUnit(channel) : null;
+    }
+
+    /** Write SVG or PDF, chosen by the file extension. */
+    public static void export(Chart chart, File file, int width, int height) throws IOException {
+        long start = System.nanoTime();
+        boolean pdf = file.getName().toLowerCase().endsWith(".pdf");
+        int drawn;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            drawn = pdf ? writePdf(chart, out, width, height) : writeSvg(chart, out, width, height);
+        }
+
+        long total = 0;
+        for (Series s : chart.series) {
+            total += s.count;
+        }
+        System.out.printf("Exported %s: %d of %d points drawn, %d KB in %.1f ms%n", file.getName(),
+                drawn, total, file.length() / 1024, (System.nanoTime() - start) / 1e6);
+    }
+
+    /** Returns the number of point symbols written. */
+    public static int writeSvg(Chart chart, OutputStream out, int width, int height) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        SvgSink sink = new SvgSink(writer, width, height);
+        int drawn = draw(chart, sink, width, height);
+        sink.finish();
+        writer.flush();
+        return drawn;
+    }
+
+    /** Returns the number of point symbols written. */
+    public static int writePdf(Chart chart, OutputStream out, int width, int height) throws IOException {
+        PdfSink sink = new PdfSink(out, width, height);
+        int drawn = draw(chart, sink, width, height);
+        sink.finish();
+        return drawn;
+    }
+
+    /** Lay out title, axes, grid, points and legend in top-left-origin coordinates. */
+    private static int draw(Chart chart, Sink sink, int width, int height) throws IOException {
+        String[] titleLines = chart.title != null && !chart.title.isEmpty() ? chart.title.split("\n") : new String[0];
+        double top = 30 + 22 * titleLines.length;
+        double left = 90;
+        double right = width - 30;
+        double bottom = height - 90;
+        double plotWidth = right - left;
+        double plotHeight = bottom - top;
+
+        for (int i = 0; i < titleLines.length; i++) {
+            sink.text(width / 2.0, 32 + 22 * i, titleLines[i], i == 0 ? 18 : 13, 0.5, false, i == 0, TEXT_COLOR);
+        }
+
+        AxisScale xs = chart.xScale;
+        AxisScale ys = chart.yScale;
+        double xFactor = plotWidth / (xs.getUpper() - xs.getLower());
+        double yFactor = plotHeight / (ys.getUpper() - ys.getLower());
+
+        // Grid and tick labels
+        for (double tick : ticks(xs)) {
+            double px = left + (tick - xs.getLower()) * xFactor;
+            sink.line(px, top, px, bottom, GRID_COLOR, 1);
+            sink.text(px, bottom + 18, xs.format(tick), 12, 0.5, false, false, TEXT_COLOR);
+        }
+        for (double tick : ticks(ys)) {
+            double py = bottom - (tick - ys.getLower()) * yFactor;
+            sink.line(left, py, right, py, GRID_COLOR, 1);
+            sink.text(left - 8, py + 4, ys.format(tick), 12, 1.0, false, false, TEXT_COLOR);
+        }
+        sink.rect(left, top, plotWidth, plotHeight, FRAME_COLOR, 1);
+        sink.text(left + plotWidth / 2, bottom + 42, chart.xLabel, 14, 0.5, false, true, TEXT_COLOR);
+        sink.text(24, top + plotHeight / 2, chart.yLabel, 14, 0.5, true, true, TEXT_COLOR);
+
+        // Points, one cell grid per series so overlapping series all stay visible
+        int columns = (int) Math.ceil(plotWidth / CELL_SIZE) + 1;
+        int rows = (int) Math.ceil(plotHeight / CELL_SIZE) + 1;
+        BitSet covered = new BitSet(columns * rows);
+        int drawn = 0;
+        for (Series s : chart.series) {
+            covered.clear();
+            sink.beginPoints(s.color);
+            for (int i = 0; i < s.count; i++) {
+                double xValue = s.x[i];
+                double yValue = s.y[i];
+                if (!(xValue >= xs.getLower() && xValue <= xs.getUpper() && yValue >= ys.getLower() && yValue <= ys.getUpper())) {
+                    continue;
+                }
+                double px = left + (xValue - xs.getLower()) * xFactor;
+                double py = bottom - (yValue - ys.getLower()) * yFactor;
+                int cell = (int) ((py - top) / CELL_SIZE) * columns + (int) ((px - left) / CELL_SIZE);
+                if (covered.get(cell)) continue;
+                covered.set(cell);
+                sink.point(px, py, POINT_RADIUS);
+                drawn++;
+            }
+            sink.endPoints();
+        }
+
+        // Legend along the bottom edge
+        double legendX = left;
+        double legendY = height - 22;
+        for (Series s : chart.series) {
+            sink.beginPoints(s.color);
+            sink.point(legendX + 5, legendY - 4, 5);
+            sink.endPoints();
+            sink.text(legendX + 15, legendY, s.name, 12, 0.0, false, false, TEXT_COLOR);
+            legendX += 40 + approximateTextWidth(s.name, 12);
+        }
+        return drawn;
+    }
+
+    private static List<Double> ticks(AxisScale scale) {
+        List<Double> ticks = new ArrayList<>();
+        double unit = scale.getTickUnit();
+        if (!(unit > 0) || (scale.getUpper() - scale.getLower()) / unit > MAX_TICKS) {
+            unit = AxisScale.niceTickUnit((scale.getUpper() - scale.getLower()) / 10);
+        }
+        // Stepped from the lower bound like NumberAxis, so exports match the on-screen ticks
+        double epsilon = unit * 1e-9;
+        for (int i = 0; scale.getLower() + i * unit <= scale.getUpper() + epsilon; i++) {
+            double tick = scale.getLower() + i * unit;
+            ticks.add(Math.abs(tick) < epsilon ? 0.0 : tick);
+        }
+        return ticks;
+    }
+
+    /** Average Helvetica glyph width; good enough to centre and space labels. */
+    private static double approximateTextWidth(String text, double size) {
+        return text.length() * size * 0.55;
+    }
+
+    /** Drawing operations, in a top-left-origin coordinate space. */
+    private interface Sink {
+        void line(double x1, double y1, double x2, double y2, String color, double width) throws IOException;
+
+        void rect(double x, double y, double width, double height, String color, double lineWidth) throws IOException;
+
+        /** {@code anchor} is 0 for left, 0.5 for centred and 1 for right-aligned text. */
+        void text(double x, double y, String text, double size, double anchor, boolean vertical, boolean bold,
+                  String color) throws IOException;
+
+        void beginPoints(String color) throws IOException;
+
+        void point(double x, double y, double radius) throws IOException;
+
+        void endPoints() throws IOException;
+    }
+
+    private static class SvgSink implements Sink {
+        private final Writer out;
+
+        SvgSink(Writer out, int width, int height) throws IOException {
+            this.out = out;
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                    + "\" viewBox=\"0 0 " + width + " " + height + "\" font-family=\"Helvetica, Arial, sans-serif\">\n");
+            out.write("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        }
+
+        @Override
+        public void line(double x1, double y1, double x2, double y2, String color, double width) throws IOException {
+            out.write("<line x1=\"" + number(x1) + "\" y1=\"" + number(y1) + "\" x2=\"" + number(x2) + "\" y2=\""
+                    + number(y2) + "\" stroke=\"" + color + "\" stroke-width=\"" + number(width) + "\"/>\n");
+        }
+
+        @Override
+        public void rect(double x, double y, double width, double height, String color, double lineWidth) throws IOException {
+            out.write("<rect x=\"" + number(x) + "\" y=\"" + number(y) + "\" width=\"" + number(width) + "\" height=\""
+                    + number(height) + "\" fill=\"none\" stroke=\"" + color + "\" stroke-width=\"" + number(lineWidth) + "\"/>\n");
+        }
+
+        @Override
+        public void text(double x, double y, String text, double size, double anchor, boolean vertical, boolean bold,
+                         String color) throws IOException {
+            String textAnchor = anchor == 0 ? "start" : anchor == 1 ? "end" : "middle";
+            out.write("<text x=\"" + number(x) + "\" y=\"" + number(y) + "\" font-size=\"" + number(size)
+                    + "\" fill=\"" + color + "\" text-anchor=\"" + textAnchor + "\"");
+            if (bold) out.write(" font-weight=\"bold\"");
+            if (vertical) out.write(" transform=\"rotate(-90 " + number(x) + " " + number(y) + ")\"");
+            out.write(">" + escape(text) + "</text>\n");
+        }
+
+        @Override
+        public void beginPoints(String color) throws IOException {
+            out.write("<g fill=\"" + color + "\">\n");
+        }
+
+        @Override
+        public void point(double x, double y, double radius) throws IOException {
+            out.write("<circle cx=\"");
+            out.write(number(x));
+            out.write("\" cy=\"");
+            out.write(number(y));
+            out.write("\" r=\"");
+            out.write(number(radius));
+            out.write("\"/>\n");
+        }
+
+        @Override
+        public void endPoints() throws IOException {
+            out.write("</g>\n");
+        }
+
+        void finish() throws IOException {
+            out.write("</svg>\n");
+        }
+
+        private static String escape(String text) {
+            return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+        }
+    }
+
+    /**
+     * Single-page PDF with the standard Helvetica fonts. The page content is
+     * deflated as it is written; its length goes into a separate object after
+     * the stream, so nothing has to be buffered.
+     */
+    private static class PdfSink implements Sink {
+        private final CountingOutputStream file;
+        private final long[] objectOffsets = new long[8];
+        private final int height;
+        private final Writer content;
+        private final long contentStart;
+        private double pointRadius;
+
+        PdfSink(OutputStream out, int width, int height) throws IOException {
+            this.file = new CountingOutputStream(out);
+            this.height = height;
+
+            write("%PDF-1.4\n%âãÏÓ\n");
+            beginObject(1);
+            write("<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+            beginObject(2);
+            write("<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+            beginObject(3);
+            write("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + width + " " + height + "] /Contents 4 0 R"
+                    + " /Resources << /Font << /F1 6 0 R /F2 7 0 R >> >> >>\nendobj\n");
+            beginObject(4);
+            write("<< /Length 5 0 R /Filter /FlateDecode >>\nstream\n");
+            file.flush();
+
+            contentStart = file.count;
+            DeflaterOutputStream deflated = new DeflaterOutputStream(new NonClosingOutputStream(file), false);
+            content = new BufferedWriter(new OutputStreamWriter(deflated, StandardCharsets.ISO_8859_1), 1 << 16);
+        }
+
+        @Override
+        public void line(double x1, double y1, double x2, double y2, String color, double width) throws IOException {
+            content.write(number(width) + " w " + rgb(color) + " RG " + number(x1) + " " + number(height - y1) + " m "
+                    + number(x2) + " " + number(height - y2) + " l S\n");
+        }
+
+        @Override
+        public void rect(double x, double y, double width, double height, String color, double lineWidth) throws IOException {
+            content.write(number(lineWidth) + " w " + rgb(color) + " RG " + number(x) + " "
+                    + number(this.height - y - height) + " " + number(width) + " " + number(height) + " re S\n");
+        }
+
+        @Override
+        public void text(double x, double y, String text, double size, double anchor, boolean vertical, boolean bold,
+                         String color) throws IOException {
+            double offset = approximateTextWidth(text, size) * anchor;
+            String font = bold ? "/F2 " : "/F1 ";
+            content.write("BT " + font + number(size) + " Tf " + rgb(color) + " rg ");
+            if (vertical) {
+                content.write("0 1 -1 0 " + number(x) + " " + number(height - y - offset) + " Tm ");
+            } else {
+                content.write("1 0 0 1 " + number(x - offset) + " " + number(height - y) + " Tm ");
+            }
+            content.write("(" + escape(text) + ") Tj ET\n");
+        }
+
+        @Override
+        public void beginPoints(String color) throws IOException {
+            // A zero-length line with round caps is a filled dot, far shorter than four Bezier curves
+            content.write("q 1 J " + rgb(color) + " RG\n");
+            pointRadius = -1;
+        }
+
+        @Override
+        public void point(double x, double y, double radius) throws IOException {
+            if (radius != pointRadius) {
+                content.write(number(2 * radius) + " w\n");
+                pointRadius = radius;
+            }
+            String px = number(x);
+            String py = number(height - y);
+            content.write(px + " " + py + " m " + px + " " + py + " l\n");
+        }
+
+        @Override
+        public void endPoints() throws IOException {
+            content.write("S Q\n");
+        }
+
+        void finish() throws IOException {
+            content.close(); // Finishes the deflate stream; the file stream stays open
+            long contentLength = file.count - contentStart;
+            write("\nendstream\nendobj\n");
+            beginObject(5);
+            write(contentLength + "\nendobj\n");
+            beginObject(6);
+            write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+            beginObject(7);
+            write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+            long xref = file.count;
+            StringBuilder table = new StringBuilder("xref\n0 8\n0000000000 65535 f \n");
+            for (int i = 1; i < 8; i++) {
+                table.append(String.format("%010d 00000 n \n", objectOffsets[i]));
+            }
+            table.append("trailer\n<< /Size 8 /Root 1 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+            write(table.toString());
+            file.flush();
+        }
+
+        private void beginObject(int number) throws IOException {
+            objectOffsets[number] = file.count;
+            write(number + " 0 obj\n");
+        }
+
+        private void write(String text) throws IOException {
+            file.write(text.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        private static String rgb(String color) {
+            int value = Integer.parseInt(color.substring(1), 16);
+            return number(((value >> 16) & 0xFF) / 255.0, 3) + " " + number(((value >> 8) & 0xFF) / 255.0, 3)
+                    + " " + number((value & 0xFF) / 255.0, 3);
+        }
+
+        /** PDF string literal; characters outside WinAnsi (Latin-1 here) become '?'. */
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (char c : text.toCharArray()) {
+                if (c == '(' || c == ')' || c == '\\') escaped.append('\\');
+                escaped.append(c <= 0xFF ? c : '?');
+            }
+            return escaped.toString();
+        }
+    }
+
+    /** Fixed one-decimal formatting without String.format, which dominates for large point counts. */
+    private static String number(double value) {
+        return number(value, 1);
+    }
+
+    private static String number(double value, int decimals) {
+        long scale = decimals == 1 ? 10 : 1000;
+        long scaled = Math.round(value * scale);
+        StringBuilder text = new StringBuilder(12);
+        if (scaled < 0) {
+            text.append('-');
+            scaled = -scaled;
+        }
+        text.append(scaled / scale);
+        long fraction = scaled % scale;
+        if (fraction != 0) {
+            String digits = Long.toString(fraction + scale).substring(1); // Zero-padded
+            int end = digits.length();
+            while (digits.charAt(end - 1) == '0') end--;
+            text.append('.').append(digits, 0, end);
+        }
+        return text.toString();
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,1078 @@
+package com.example.solardataplotter;
+
+import com.example.solardataplotter.model.ColumnAccessor;
+import com.example.solardataplotter.model.GraphConfig;
+import com.example.solardataplotter.model.SolarDataset;
+import com.example.solardataplotter.util.ColumnCodec;
+import com.example.solardataplotter.util.CsvFollower;
+import com.example.solardataplotter.util.ExcelImporter;
+import com.example.solardataplotter.util.GraphExporter;
+import com.example.solardataplotter.util.ImageEncoder;
+import com.example.solardataplotter.util.ImportBenchmarks;
+import com.example.solardataplotter.util.ImportListener;
+import com.example.solardataplotter.util.LodPyramid;
+import com.example.solardataplotter.util.MergedImporter;
+import com.example.solardataplotter.util.PngEncoder;
+import com.example.solardataplotter.util.SessionFile;
+import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.layout.StackPane;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Development benchmarks, kept out of the shipped application. Run after
+ * {@code mvn test-compile} with the test and runtime class path, e.g.
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;dependencies&gt; com.example.solardataplotter.Benchmarks --benchmark-codec 365
+ * </pre>
+ */
+public class Benchmarks {
+    /** Exit code of --benchmark-poster and --benchmark-graph when JavaFX cannot start or lay out a chart here. */
+    static final int NO_GRAPHICS = 4;
+
+    public static void main(String[] args) {
+        // Compare reopening a session file against importing the original spreadsheet/CSV
+        if (args.length > 1 && args[0].equals("--benchmark-session")) {
+            benchmarkSession(new File(args[1]));
+            return;
+        }
+
+        // Retained heap of the imported rows as per-row property objects against SolarDataset's columns
+        if (args.length > 0 && args[0].equals("--benchmark-memory")) {
+            benchmarkMemory(args.length > 1 ? Integer.parseInt(args[1]) : 180);
+            return;
+        }
+
+        // The line-by-line CSV reader against MappedCsvReader on one generated logger file
+        if (args.length > 0 && args[0].equals("--benchmark-csv")) {
+            benchmarkCsv(args.length > 1 ? Integer.parseInt(args[1]) : 180);
+            return;
+        }
+
+        // Workbook decoding with formula cells: ExcelRowDecoder against a new evaluator per cell
+        if (args.length > 0 && args[0].equals("--benchmark-formulas")) {
+            benchmarkFormulas(args.length > 1 ? Integer.parseInt(args[1]) : 100_000);
+            return;
+        }
+
+        // Compression ratio and decode speed of the column codec on synthetic logger data
+        if (args.length > 0 && args[0].equals("--benchmark-codec")) {
+            benchmarkCodec(args.length > 1 ? Integer.parseInt(args[1]) : 365);
+            return;
+        }
+
+        // PNG export latency of the ImageIO writer against PngEncoder at several levels
+        if (args.length > 0 && args[0].equals("--benchmark-export")) {
+            benchmarkExport();
+            return;
+        }
+
+        // Zoom window queries of the level-of-detail pyramid against scanning the series
+        if (args.length > 0 && args[0].equals("--benchmark-zoom")) {
+            benchmarkZoom(args.length > 1 ? Integer.parseInt(args[1]) : 365);
+            return;
+        }
+
+        // Series construction with per-point column name lookups against resolved accessors
+        if (args.length > 0 && args[0].equals("--benchmark-series")) {
+            benchmarkSeries(args.length > 1 ? Integer.parseInt(args[1]) : 100_000);
+            return;
+        }
+
+        // K-way merge of many overlapping day files into one timeline
+        if (args.length > 0 && args[0].equals("--benchmark-merge")) {
+            benchmarkMerge(args.length > 1 ? Integer.parseInt(args[1]) : 200);
+            return;
+        }
+
+        // Tail-follow a growing CSV: catch-up time, then latency and CPU per appended line
+        if (args.length > 0 && args[0].equals("--benchmark-follow")) {
+            boolean ok = benchmarkFollow(args.length > 1 ? Integer.parseInt(args[1]) : 30);
+            System.exit(ok ? 0 : 1);
+        }
+
+        // Tiled poster export at a size whose full snapshot would not fit in a small heap
+        if (args.length > 0 && args[0].equals("--benchmark-poster")) {
+            System.exit(benchmarkPoster(args.length > 2 ? Integer.parseInt(args[1]) : 16000,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 10000, args.length > 3 ? new File(args[3]) : null));
+        }
+
+        // FX-thread cost of a 4-series chart styled per series in CSS against per-point listeners
+        if (args.length > 0 && args[0].equals("--benchmark-graph")) {
+            System.exit(benchmarkGraph(args.length > 1 ? Integer.parseInt(args[1]) : 2500));
+        }
+
+        System.err.println("Usage: Benchmarks --benchmark-session <file> | --benchmark-memory [days] | --benchmark-csv [days]"
+                + " | --benchmark-formulas [rows]"
+                + " | --benchmark-codec [days] | --benchmark-export"
+                + " | --benchmark-zoom [days] | --benchmark-series [rows] | --benchmark-merge [files]"
+                + " | --benchmark-follow [days] | --benchmark-poster [width height [file]]"
+                + " | --benchmark-graph [points per series]");
+        System.exit(2);
+    }
+
+    private static void benchmarkSession(File source) {
+        try {
+            File session = File.createTempFile("benchmark", "." + SessionFile.EXTENSION);
+            session.deleteOnExit();
+
+            long importNanos = Long.MAX_VALUE;
+            long openNanos = Long.MAX_VALUE;
+            SolarDataset dataset = null;
+            // Best of three runs each, so the first run's JIT warm-up and cold page cache don't dominate
+            for (int run = 0; run < 3; run++) {
+                long start = System.nanoTime();
+                dataset = ExcelImporter.importData(source);
+                importNanos = Math.min(importNanos, System.nanoTime() - start);
+            }
+            if (dataset == null || dataset.isEmpty()) {
+                System.err.println("No data imported from " + source);
+                return;
+            }
+
+            SessionFile.save(session, dataset, new GraphConfig());
+            for (int run = 0; run < 3; run++) {
+                long start = System.nanoTime();
+                SessionFile.load(session);
+                openNanos = Math.min(openNanos, System.nanoTime() - start);
+            }
+
+            System.out.printf("%s: %d rows, %.1f MB source, %.1f MB session%n", source.getName(), dataset.size(),
+                    source.length() / 1e6, session.length() / 1e6);
+            System.out.printf("Import: %.1f ms, open session: %.1f ms (%.0fx faster)%n",
+                    importNanos / 1e6, openNanos / 1e6, (double) importNanos / openNanos);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void benchmarkMemory(int days) {
+        try {
+            File file = File.createTempFile("benchmark-memory", ".csv");
+            file.deleteOnExit();
+            SolarDataset synthetic = syntheticDataset(days, new Random(42));
+            writeCsv(file, synthetic, 0, synthetic.size());
+            synthetic = null;
+
+            long before = usedHeapAfterGc();
+            SolarDataset dataset = ExcelImporter.importData(file);
+            long columns = usedHeapAfterGc() - before;
+
+            // The same rows the way the table held them before SolarDataset: fifteen properties per row
+            before = usedHeapAfterGc();
+            List<LegacyDataPoint> legacy = new ArrayList<>();
+            double[] values = new double[SolarDataset.CHANNEL_COUNT];
+            for (int row = 0; row < dataset.size(); row++) {
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = dataset.getValue(c, row);
+                }
+                legacy.add(new LegacyDataPoint(SolarDataset.formatTime(dataset.getTime(row)), values));
+            }
+            long objects = usedHeapAfterGc() - before;
+
+            int rows = dataset.size();
+            System.out.printf("%d rows from a %.1f MB CSV, retained heap after GC:%n", rows, file.length() / 1e6);
+            System.out.printf("  %-22s %7.1f MB %6.0f bytes/row%n", "Per-row properties", objects / 1e6, (double) objects / rows);
+            System.out.printf("  %-22s %7.1f MB %6.0f bytes/row (estimate %.1f MB)%n", "SolarDataset", columns / 1e6,
+                    (double) columns / rows, dataset.estimateRetainedBytes() / 1e6);
+            System.out.printf("  %.1fx less heap%n", (double) objects / columns);
+            Reference.reachabilityFence(legacy);
+            Reference.reachabilityFence(dataset);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void benchmarkCsv(int days) {
+        try {
+            File file = File.createTempFile("benchmark-csv", ".csv");
+            file.deleteOnExit();
+            SolarDataset dataset = syntheticDataset(days, new Random(42));
+            writeCsv(file, dataset, 0, dataset.size());
+            ImportBenchmarks.csv(file);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void benchmarkFormulas(int rows) {
+        try {
+            SolarDataset dataset = syntheticDataset((rows + 1439) / 1440, new Random(42));
+            ImportBenchmarks.formulas(dataset.slice(0, rows));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /** Rows [from, to) of a synthetic dataset as a logger CSV with a header line. */
+    private static void writeCsv(File file, SolarDataset dataset, int from, int to) throws IOException {
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+            out.println("Time," + String.join(",", SolarDataset.CHANNEL_NAMES));
+            for (int row = from; row < to; row++) {
+                out.println(csvLine(dataset, row));
+            }
+        }
+    }
+
+    private static void benchmarkCodec(int days) {
+        SolarDataset dataset = syntheticDataset(days, new Random(42));
+        int rows = dataset.size();
+        System.out.printf("Synthetic logger data: %d days, %d rows%n", days, rows);
+
+        long rawBytes = (long) rows * Integer.BYTES;
+        long compressedBytes = 0;
+        ColumnCodec.TimeColumn times = ColumnCodec.encodeTimes(dataset.getTimeColumn(), rows);
+        compressedBytes += times.getCompressedBytes();
+        System.out.printf("  %-16s %6.1fx%n", "Time", (double) rows * Integer.BYTES / times.getCompressedBytes());
+
+        ColumnCodec.DoubleColumn[] channels = new ColumnCodec.DoubleColumn[SolarDataset.CHANNEL_COUNT];
+        for (int c = 0; c < channels.length; c++) {
+            channels[c] = ColumnCodec.encodeDoubles(dataset.getColumn(c), rows);
+            rawBytes += (long) rows * Double.BYTES;
+            compressedBytes += channels[c].getCompressedBytes();
+            System.out.printf("  %-16s %6.1fx%n", SolarDataset.CHANNEL_NAMES[c],
+                    (double) rows * Double.BYTES / channels[c].getCompressedBytes());
+        }
+        System.out.printf("Total: %.1f MB raw, %.1f MB compressed, ratio %.1fx (%.1f bits per value)%n",
+                rawBytes / 1e6, compressedBytes / 1e6, (double) rawBytes / compressedBytes,
+                compressedBytes * 8.0 / ((long) rows * (SolarDataset.CHANNEL_COUNT + 1)));
+
+        // Best of five full decodes, after the first ones have warmed up the JIT
+        double[] decoded = new double[rows];
+        int[] decodedTimes = new int[rows];
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            times.decode(decodedTimes);
+            for (ColumnCodec.DoubleColumn channel : channels) {
+                channel.decode(decoded);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        long values = (long) rows * (SolarDataset.CHANNEL_COUNT + 1);
+        System.out.printf("Decode: %.1f ms for %d values, %.0f M values/s%n", best / 1e6, values, values / (best / 1e9) / 1e6);
+
+        Random random = new Random(7);
+        int lookups = 100_000;
+        double checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            checksum += channels[SolarDataset.SOLAR_RADIATION].get(random.nextInt(rows));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Random access: %.1f us per row (checksum %.0f)%n", elapsed / 1e3 / lookups, checksum);
+    }
+
+    /**
+     * Minute rows over {@code days} days: a clear-sky irradiance bell scaled by
+     * slowly drifting cloud cover, and channels derived from it, rounded to the
+     * resolution a typical logger reports.
+     */
+    private static SolarDataset syntheticDataset(int days, Random random) {
+        SolarDataset dataset = new SolarDataset(days * 1440);
+        double[] values = new double[SolarDataset.CHANNEL_COUNT];
+        double cloud = 1.0;
+        double wind = 2.0;
+
+        for (int day = 0; day < days; day++) {
+            double ambientBase = 18 + 10 * Math.sin(2 * Math.PI * (day - 100) / 365.0);
+            for (int minute = 0; minute < 1440; minute++) {
+                cloud = Math.max(0.2, Math.min(1.0, cloud + random.nextGaussian() * 0.02));
+                wind = Math.max(0.0, wind + random.nextGaussian() * 0.1);
+
+                double sun = Math.sin(Math.PI * (minute - 360) / 720.0);
+                double radiation = sun > 0 ? 1000 * sun * cloud : 0.0;
+                double ambient = ambientBase + 6 * Math.sin(Math.PI * (minute - 540) / 720.0);
+                double panelTemp = ambient + radiation * 0.025;
+
+                values[SolarDataset.SOLAR_RADIATION] = round(radiation, 10);
+                values[SolarDataset.V_MONO] = radiation > 0 ? round(18.5 - 0.08 * (panelTemp - 25), 100) : 0.0;
+                values[SolarDataset.V_POLY] = radiation > 0 ? round(18.0 - 0.08 * (panelTemp - 25), 100) : 0.0;
+                values[SolarDataset.I_MONO] = round(radiation * 0.0055, 100);
+                values[SolarDataset.I_POLY] = round(radiation * 0.0052, 100);
+                values[SolarDataset.P_MONO] = round(values[SolarDataset.V_MONO] * values[SolarDataset.I_MONO], 100);
+                values[SolarDataset.P_POLY] = round(values[SolarDataset.V_POLY] * values[SolarDataset.I_POLY], 100);
+                values[SolarDataset.EFF_MONO] = radiation > 0 ? round(15.5 - 0.05 * (panelTemp - 25), 100) : 0.0;
+                values[SolarDataset.EFF_POLY] = radiation > 0 ? round(14.0 - 0.05 * (panelTemp - 25), 100) : 0.0;
+                values[SolarDataset.RH] = round(60 - (ambient - ambientBase) * 3, 10);
+                values[SolarDataset.PANEL_TEMP_MONO] = round(panelTemp, 10);
+                values[SolarDataset.PANEL_TEMP_POLY] = round(panelTemp + 0.8, 10);
+                values[SolarDataset.AMBIENT_TEMP] = round(ambient, 10);
+                values[SolarDataset.WIND_SPEED] = round(wind, 10);
+
+                dataset.addRow(day * 1440 + minute, values);
+            }
+        }
+        return dataset;
+    }
+
+    private static double round(double value, double scale) {
+        return Math.round(value * scale) / scale;
+    }
+
+    private static void benchmarkZoom(int days) {
+        SolarDataset dataset = syntheticDataset(days, new Random(42));
+        int rows = dataset.size();
+        double[] x = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            x[i] = dataset.getTime(i);
+        }
+        double[] y = dataset.getColumn(SolarDataset.SOLAR_RADIATION);
+        int target = 2400; // Two points per pixel of a 1200 px wide chart
+        System.out.printf("Synthetic logger data: %d days, %d rows, %d points per window%n", days, rows, target);
+
+        long start = System.nanoTime();
+        LodPyramid pyramid = new LodPyramid(x, y, rows);
+        System.out.printf("Pyramid build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        String[] names = {"Everything", "One month", "One day", "One hour"};
+        double[] spans = {x[rows - 1] + 1, 30 * 1440, 1440, 60};
+        Random random = new Random(7);
+        for (int s = 0; s < spans.length; s++) {
+            double span = Math.min(spans[s], x[rows - 1] + 1);
+            int queries = 200;
+            int points = 0;
+            long scanned = 0;
+            long pyramidNanos = 0;
+            long scanNanos = 0;
+            for (int q = 0; q < queries; q++) {
+                double lower = random.nextDouble() * (x[rows - 1] + 1 - span);
+                start = System.nanoTime();
+                points = pyramid.query(lower, lower + span, target).length;
+                pyramidNanos += System.nanoTime() - start;
+
+                // What a zoom cost before: find the window by scanning every row
+                start = System.nanoTime();
+                int visible = 0;
+                for (int i = 0; i < rows; i++) {
+                    if (x[i] >= lower && x[i] <= lower + span) visible++;
+                }
+                scanNanos += System.nanoTime() - start;
+                scanned += visible;
+            }
+            System.out.printf("  %-12s %5d of %7d rows  pyramid %8.1f us  scan %8.1f us%n", names[s], points,
+                    scanned / queries, pyramidNanos / 1e3 / queries, scanNanos / 1e3 / queries);
+        }
+    }
+
+    private static void benchmarkMerge(int files) {
+        try {
+            // One CSV per day, each also repeating the last hour of the previous day, written newest first
+            File directory = Files.createTempDirectory("benchmark-merge").toFile();
+            SolarDataset dataset = syntheticDataset(files, new Random(42));
+            List<File> sources = new ArrayList<>();
+            for (int day = files - 1; day >= 0; day--) {
+                File file = new File(directory, "logger_" + LocalDate.of(2024, 1, 1).plusDays(day) + ".csv");
+                file.deleteOnExit();
+                try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+                    out.println("Time," + String.join(",", SolarDataset.CHANNEL_NAMES));
+                    int from = Math.max(0, day * 1440 - 60);
+                    for (int row = from; row < (day + 1) * 1440; row++) {
+                        out.println(csvLine(dataset, row));
+                    }
+                }
+                sources.add(file);
+            }
+            directory.deleteOnExit();
+
+            long start = System.nanoTime();
+            SolarDataset merged = MergedImporter.read(sources);
+            long nanos = System.nanoTime() - start;
+            boolean ok = merged.size() == dataset.size() && merged.isTimeSorted();
+            System.out.printf("%d files -> %d rows (expected %d, sorted %b) in %.1f ms%n",
+                    files, merged.size(), dataset.size(), merged.isTimeSorted(), nanos / 1e6);
+            if (!ok) System.err.println("Merged timeline does not match the synthetic data");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** One CSV line of a synthetic row; times get a date so days stay apart. */
+    private static String csvLine(SolarDataset dataset, int row) {
+        StringBuilder line = new StringBuilder(SolarDataset.formatTime(dataset.getTime(row) + 1440));
+        for (int c = 0; c < SolarDataset.CHANNEL_COUNT; c++) {
+            line.append(',').append(dataset.getValue(c, row));
+        }
+        return line.toString();
+    }
+
+    private static boolean benchmarkFollow(int days) {
+        int tailRows = 40;
+        int prefill = days * 1440;
+        SolarDataset dataset = syntheticDataset(days + 1, new Random(42));
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicLongArray written = new AtomicLongArray(tailRows);
+        AtomicLongArray latencies = new AtomicLongArray(tailRows);
+        AtomicInteger received = new AtomicInteger();
+        AtomicLong catchUpCpu = new AtomicLong();
+        AtomicLong lastCpu = new AtomicLong();
+        FollowRefresh refresh = new FollowRefresh(prefill);
+        boolean fx = true;
+        try {
+            Platform.startup(() -> { });
+        } catch (RuntimeException e) {
+            System.err.println("JavaFX cannot start, no FX-thread timing: " + e);
+            fx = false;
+        }
+        boolean fxStarted = fx;
+
+        try {
+            File file = File.createTempFile("benchmark-follow", ".csv");
+            file.deleteOnExit();
+            try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+                out.println("Time," + String.join(",", SolarDataset.CHANNEL_NAMES));
+                for (int row = 0; row < prefill; row++) {
+                    out.println(csvLine(dataset, row));
+                }
+            }
+
+            // Called on the follower thread, so its CPU time is the follower's
+            CsvFollower follower = new CsvFollower(file, new ImportListener() {
+                @Override
+                public void rowsImported(SolarDataset batch, int from, int to) {
+                    long now = System.nanoTime();
+                    int total = received.get() + to - from;
+                    for (int row = Math.max(total - (to - from), prefill); row < total; row++) {
+                        latencies.set(row - prefill, now - written.get(row - prefill));
+                    }
+                    long cpu = threads.getCurrentThreadCpuTime();
+                    if (total == prefill) catchUpCpu.set(cpu);
+                    lastCpu.set(cpu);
+                    received.set(total); // Last, so the main thread sees the CPU time with the count
+                    if (fxStarted) Platform.runLater(() -> refresh.append(batch));
+                }
+            });
+
+            long start = System.nanoTime();
+            follower.start();
+            while (received.get() < prefill && System.nanoTime() - start < 60_000_000_000L) {
+                Thread.sleep(5);
+            }
+            System.out.printf("Caught up with %d rows (%.1f MB) in %.1f ms, %.1f ms CPU%n", received.get(),
+                    file.length() / (1024.0 * 1024.0), (System.nanoTime() - start) / 1e6, catchUpCpu.get() / 1e6);
+
+            // Append like a logger: open, write one line, close
+            for (int i = 0; i < tailRows; i++) {
+                written.set(i, System.nanoTime());
+                try (FileWriter out = new FileWriter(file, true)) {
+                    out.write(csvLine(dataset, prefill + i) + System.lineSeparator());
+                }
+                Thread.sleep(100);
+            }
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (received.get() < prefill + tailRows && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            follower.stop();
+
+            long sum = 0;
+            long max = 0;
+            for (int i = 0; i < tailRows; i++) {
+                sum += latencies.get(i);
+                max = Math.max(max, latencies.get(i));
+            }
+            int tail = received.get() - prefill;
+            long tailCpu = lastCpu.get() - catchUpCpu.get();
+            System.out.printf("Tail: %d of %d lines, latency mean %.1f ms, max %.1f ms; %.2f ms CPU (%.0f us per line)%n",
+                    tail, tailRows, sum / 1e6 / tailRows, max / 1e6, tailCpu / 1e6, tailCpu / 1e3 / Math.max(tail, 1));
+            if (fx) {
+                CompletableFuture<Void> drained = new CompletableFuture<>();
+                Platform.runLater(() -> drained.complete(null));
+                drained.get(10, TimeUnit.SECONDS);
+                refresh.report();
+            }
+            boolean ok = tail == tailRows && max < 1_000_000_000L;
+            if (!ok) System.err.println("Appended lines were missed or took over a second to arrive");
+            return ok;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (fx) Platform.exit();
+        }
+    }
+
+    /**
+     * The FX-thread data work of following a file, without drawing: every
+     * batch is appended to four plotted series, and the last day is sampled
+     * as the chart does, once from pyramids rebuilt from scratch (as when each
+     * append discarded them) and once from pyramids extended in place.
+     */
+    private static class FollowRefresh {
+        private static final int[] CHANNELS = {SolarDataset.SOLAR_RADIATION, SolarDataset.P_MONO,
+                SolarDataset.P_POLY, SolarDataset.AMBIENT_TEMP};
+        private static final int TARGET = 2400;
+
+        private final int prefill;
+        private final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private final LodPyramid[] pyramids = new LodPyramid[CHANNELS.length];
+        private double[] x = new double[1024];
+        private final double[][] y = new double[CHANNELS.length][1024];
+        private int count;
+        private int batches;
+        private long[] nanos = new long[2]; // Rebuilt, extended
+        private long[] bytes = new long[2];
+        private long checksum;
+
+        FollowRefresh(int prefill) {
+            this.prefill = prefill;
+        }
+
+        void append(SolarDataset batch) {
+            boolean tail = count >= prefill;
+            if (count + batch.size() > x.length) {
+                int capacity = Math.max(2 * x.length, count + batch.size());
+                x = Arrays.copyOf(x, capacity);
+                for (int s = 0; s < CHANNELS.length; s++) {
+                    y[s] = Arrays.copyOf(y[s], capacity);
+                }
+            }
+            for (int row = 0; row < batch.size(); row++, count++) {
+                x[count] = batch.getTime(row);
+                for (int s = 0; s < CHANNELS.length; s++) {
+                    y[s][count] = batch.getValue(CHANNELS[s], row);
+                }
+            }
+            double upper = x[count - 1];
+
+            for (int mode = 0; mode < 2; mode++) {
+                long startNanos = System.nanoTime();
+                long startBytes = threads.getCurrentThreadAllocatedBytes();
+                for (int s = 0; s < CHANNELS.length; s++) {
+                    if (mode == 0) {
+                        checksum += new LodPyramid(x, y[s], count).query(upper - 1440, upper, TARGET).length;
+                    } else {
+                        if (pyramids[s] == null) {
+                            pyramids[s] = new LodPyramid(x, y[s], count);
+                        } else {
+                            pyramids[s].extend(x, y[s], count);
+                        }
+                        checksum += pyramids[s].query(upper - 1440, upper, TARGET).length;
+                    }
+                }
+                if (tail) {
+                    nanos[mode] += System.nanoTime() - startNanos;
+                    bytes[mode] += threads.getCurrentThreadAllocatedBytes() - startBytes;
+                }
+            }
+            if (tail) batches++;
+        }
+
+        void report() {
+            System.out.printf("FX thread per tail batch, %d series of %d points, last day sampled (%d batches, checksum %d):%n",
+                    CHANNELS.length, count, batches, checksum);
+            for (int mode = 0; mode < 2; mode++) {
+                System.out.printf("  %-22s %8.1f us %8.1f KB allocated%n",
+                        mode == 0 ? "Pyramids rebuilt" : "Pyramids extended",
+                        nanos[mode] / 1e3 / Math.max(batches, 1), bytes[mode] / 1024.0 / Math.max(batches, 1));
+            }
+        }
+    }
+
+    private static void benchmarkSeries(int rows) {
+        SolarDataset dataset = syntheticDataset((rows + 1439) / 1440, new Random(42));
+        while (dataset.size() > rows) {
+            dataset.removeRow(dataset.size() - 1);
+        }
+        String xAxisGroup = "Voltage";
+        String[] yColumns = {"Solar Radiation", "P_mono", "P_poly", "Eff_mono", "Eff_poly"};
+        System.out.printf("Series construction: %d rows x %d columns against %s%n", rows, yColumns.length, xAxisGroup);
+
+        double[] x = new double[rows];
+        double[] y = new double[rows];
+        for (int mode = 0; mode < 2; mode++) {
+            long best = Long.MAX_VALUE;
+            double checksum = 0;
+            for (int run = 0; run < 10; run++) {
+                long start = System.nanoTime();
+                for (String yColumn : yColumns) {
+                    if (mode == 0) {
+                        // The plotting loop before ColumnAccessor: resolve both names and box for every point
+                        for (int row = 0; row < rows; row++) {
+                            Number xValue = legacyGroupedXValue(dataset, row, xAxisGroup, yColumn);
+                            Number yValue = legacyNumericColumnValue(dataset, row, yColumn);
+                            x[row] = xValue.doubleValue();
+                            y[row] = yValue.doubleValue();
+                        }
+                    } else {
+                        ColumnAccessor xAccessor = ColumnAccessor.forXAxis(dataset, xAxisGroup, yColumn);
+                        ColumnAccessor yAccessor = ColumnAccessor.forColumn(dataset, yColumn);
+                        for (int row = 0; row < rows; row++) {
+                            x[row] = xAccessor.get(dataset, row);
+                            y[row] = yAccessor.get(dataset, row);
+                        }
+                    }
+                    checksum += x[rows - 1] + y[rows / 2];
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("  %-22s %7.2f ms (checksum %.0f)%n",
+                    mode == 0 ? "Name lookup per point" : "Resolved accessors", best / 1e6, checksum);
+        }
+    }
+
+    // Copies of the per-point lookups MainController and SolarDataset used before ColumnAccessor,
+    // kept as the baseline of --benchmark-series
+
+    private static Number legacyNumericColumnValue(SolarDataset dataset, int row, String columnName) {
+        switch (columnName) {
+            case "Solar Radiation": return dataset.getValue(SolarDataset.SOLAR_RADIATION, row);
+            case "V_mono": return dataset.getValue(SolarDataset.V_MONO, row);
+            case "V_poly": return dataset.getValue(SolarDataset.V_POLY, row);
+            case "I_mono": return dataset.getValue(SolarDataset.I_MONO, row);
+            case "I_poly": return dataset.getValue(SolarDataset.I_POLY, row);
+            case "P_mono": return dataset.getValue(SolarDataset.P_MONO, row);
+            case "P_poly": return dataset.getValue(SolarDataset.P_POLY, row);
+            case "Eff_mono": return dataset.getValue(SolarDataset.EFF_MONO, row);
+            case "Eff_poly": return dataset.getValue(SolarDataset.EFF_POLY, row);
+            case "RH": return dataset.getValue(SolarDataset.RH, row);
+            case "Panel Temp Mono": return dataset.getValue(SolarDataset.PANEL_TEMP_MONO, row);
+            case "Panel Temp Poly": return dataset.getValue(SolarDataset.PANEL_TEMP_POLY, row);
+            case "Ambient Temp": return dataset.getValue(SolarDataset.AMBIENT_TEMP, row);
+            case "Wind Speed": return dataset.getValue(SolarDataset.WIND_SPEED, row);
+            default: return null;
+        }
+    }
+
+    private static Number legacyGroupedXValue(SolarDataset dataset, int index, String xAxisGroup, String yAxisColumn) {
+        if ("Time".equals(xAxisGroup)) {
+            int time = dataset.getTime(index);
+            return time != SolarDataset.INVALID_TIME ? (double) time : (double) (index * 60);
+        }
+        int channel = legacyGroupedXChannel(xAxisGroup, yAxisColumn);
+        return channel >= 0 ? dataset.getValue(channel, index) : (double) index;
+    }
+
+    private static int legacyGroupedXChannel(String xAxisGroup, String yColumn) {
+        boolean isPoly = yColumn.toLowerCase().contains("poly") && !yColumn.toLowerCase().contains("mono");
+        switch (xAxisGroup) {
+            case "Voltage": return isPoly ? SolarDataset.V_POLY : SolarDataset.V_MONO;
+            case "Current": return isPoly ? SolarDataset.I_POLY : SolarDataset.I_MONO;
+            case "Power": return isPoly ? SolarDataset.P_POLY : SolarDataset.P_MONO;
+            case "Efficiency": return isPoly ? SolarDataset.EFF_POLY : SolarDataset.EFF_MONO;
+            case "Panel Temperature": return isPoly ? SolarDataset.PANEL_TEMP_POLY : SolarDataset.PANEL_TEMP_MONO;
+            default: return legacyChannelIndex(xAxisGroup);
+        }
+    }
+
+    private static int legacyChannelIndex(String name) {
+        for (int c = 0; c < SolarDataset.CHANNEL_COUNT; c++) {
+            if (SolarDataset.CHANNEL_NAMES[c].equals(name)) return c;
+        }
+        return -1;
+    }
+
+    private static void benchmarkExport() {
+        int[][] sizes = {{1200, 800}, {3840, 2160}};
+        for (int[] size : sizes) {
+            int width = size[0];
+            int height = size[1];
+            int[] argb = syntheticChart(width, height, new Random(42));
+            System.out.printf("%dx%d chart image:%n", width, height);
+
+            benchmarkEncoder("ImageIO", GraphExporter.IMAGE_IO, argb, width, height);
+            for (int level : new int[] {1, 3, 6, 9}) {
+                benchmarkEncoder("PngEncoder level " + level, new PngEncoder(level), argb, width, height);
+            }
+        }
+    }
+
+    private static void benchmarkEncoder(String name, ImageEncoder encoder, int[] argb, int width, int height) {
+        try {
+            long best = Long.MAX_VALUE;
+            int bytes = 0;
+            for (int run = 0; run < 5; run++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                long start = System.nanoTime();
+                encoder.encode(argb, width, height, out);
+                best = Math.min(best, System.nanoTime() - start);
+                bytes = out.size();
+            }
+            System.out.printf("  %-20s %7.1f ms %8d KB%n", name, best / 1e6, bytes / 1024);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** White plot with grid lines and a few thousand coloured point symbols, like an exported chart. */
+    private static int[] syntheticChart(int width, int height, Random random) {
+        int[] argb = new int[width * height];
+        Arrays.fill(argb, 0xFFFFFFFF);
+        for (int y = 0; y < height; y += height / 10) {
+            Arrays.fill(argb, y * width, (y + 1) * width, 0xFFDDDDDD);
+        }
+        for (int x = 0; x < width; x += width / 12) {
+            for (int y = 0; y < height; y++) {
+                argb[y * width + x] = 0xFFDDDDDD;
+            }
+        }
+
+        int[] colors = {0xFFFF0000, 0xFF0000FF, 0xFF008000};
+        int radius = Math.max(2, width / 400);
+        for (int series = 0; series < colors.length; series++) {
+            for (int i = 0; i < 2000; i++) {
+                double t = (double) i / 2000;
+                int cx = (int) (t * (width - 2 * radius)) + radius;
+                double value = Math.sin(Math.PI * t) * (0.8 - 0.2 * series) + random.nextGaussian() * 0.02;
+                int cy = (int) ((1 - value) * (height - 2 * radius) * 0.9) + radius;
+                for (int dy = -radius; dy <= radius; dy++) {
+                    for (int dx = -radius; dx <= radius; dx++) {
+                        int px = cx + dx;
+                        int py = cy + dy;
+                        if (dx * dx + dy * dy <= radius * radius && px >= 0 && px < width && py >= 0 && py < height) {
+                            argb[py * width + px] = colors[series];
+                        }
+                    }
+                }
+            }
+        }
+        return argb;
+    }
+
+    /**
+     * Export a chart at {@code width} x {@code height} through the tiled path
+     * and report the peak heap. Run with a heap smaller than the full image,
+     * e.g. {@code -Xmx256m} for 16000x10000 (640 MB as one int[]), to show
+     * that memory stays bounded. Needs a graphics platform (see BatchRenderer).
+     * The PNG goes to {@code output}, or to a temporary file if that is null.
+     *
+     * @return the exit code: 0 if the PNG has the requested size, 1 if the
+     *         export failed, {@link #NO_GRAPHICS} if no chart could be built
+     */
+    private static int benchmarkPoster(int width, int height, File output) {
+        try {
+            Platform.startup(() -> { });
+        } catch (RuntimeException e) {
+            System.err.println("JavaFX cannot start: " + e);
+            return NO_GRAPHICS;
+        }
+        try {
+            SolarDataset dataset = syntheticDataset(1, new Random(42));
+            CompletableFuture<LineChart<Number, Number>> built = new CompletableFuture<>();
+            Platform.runLater(() -> {
+                try {
+                    built.complete(posterChart(dataset, width, height));
+                } catch (Throwable e) {
+                    built.completeExceptionally(e); // Typically missing native font libraries
+                }
+            });
+            LineChart<Number, Number> chart;
+            try {
+                chart = built.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Cannot lay out a chart: " + (e instanceof ExecutionException ? e.getCause() : e));
+                return NO_GRAPHICS;
+            }
+
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+            File file = output;
+            if (file == null) {
+                file = File.createTempFile("poster", ".png");
+                file.deleteOnExit();
+            }
+            GraphExporter.exportChartTiled(chart, file, width, height).get();
+
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            int writtenWidth;
+            int writtenHeight;
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+                in.skipBytes(16); // Signature, IHDR length and type
+                writtenWidth = in.readInt();
+                writtenHeight = in.readInt();
+            }
+            System.out.printf("Wrote %dx%d PNG, %.1f MB; peak heap %.0f MB of %.0f MB max (a full snapshot is %.0f MB)%n",
+                    writtenWidth, writtenHeight, file.length() / 1e6, peak / 1e6,
+                    Runtime.getRuntime().maxMemory() / 1e6, (double) width * height * 4 / 1e6);
+            return writtenWidth == width && writtenHeight == height ? 0 : 1;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 1;
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /** Three series of a synthetic day in a laid out scene, built on the FX thread. */
+    private static LineChart<Number, Number> posterChart(SolarDataset dataset, int width, int height) {
+        LineChart<Number, Number> chart = new LineChart<>(new NumberAxis(), new NumberAxis());
+        chart.setTitle("Poster export " + width + "x" + height);
+        chart.setAnimated(false);
+        for (int channel : new int[] {SolarDataset.SOLAR_RADIATION, SolarDataset.P_MONO, SolarDataset.P_POLY}) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(SolarDataset.CHANNEL_NAMES[channel]);
+            for (int row = 0; row < dataset.size(); row += 5) {
+                series.getData().add(new XYChart.Data<>(dataset.getTime(row), dataset.getValue(channel, row)));
+            }
+            chart.getData().add(series);
+        }
+        StackPane root = new StackPane(chart);
+        new Scene(root, 1600, 1000);
+        root.applyCss();
+        root.layout();
+        return chart;
+    }
+
+    /**
+     * FX-thread time and allocation of building and laying out a chart with
+     * {@code pointsPerSeries} symbols in each of four series, styled through
+     * the per-series CSS classes against the per-point listeners, runLater
+     * inline styles and layout listener generateGraph() used before. Each run
+     * ends after the queued runLater tasks have drained and the scene has had
+     * the CSS pass they trigger. Needs a graphics platform (see BatchRenderer).
+     *
+     * @return 0, or {@link #NO_GRAPHICS} if no chart could be laid out
+     */
+    private static int benchmarkGraph(int pointsPerSeries) {
+        try {
+            Platform.startup(() -> { });
+        } catch (RuntimeException e) {
+            System.err.println("JavaFX cannot start: " + e);
+            return NO_GRAPHICS;
+        }
+        try {
+            SolarDataset dataset = syntheticDataset((pointsPerSeries + 1439) / 1440, new Random(42));
+            String stylesheet = Benchmarks.class.getResource("/com/example/solardataplotter/styles.css").toExternalForm();
+            System.out.printf("Chart build: 4 series x %d points, FX thread through layout and runLater drain%n",
+                    pointsPerSeries);
+            long[][] best = {{Long.MAX_VALUE, Long.MAX_VALUE}, {Long.MAX_VALUE, Long.MAX_VALUE}};
+            for (int run = 0; run < 8; run++) {
+                for (int mode = 0; mode < 2; mode++) {
+                    long[] cost;
+                    try {
+                        cost = graphRun(dataset, pointsPerSeries, stylesheet, mode == 0).get(60, TimeUnit.SECONDS);
+                    } catch (ExecutionException | TimeoutException e) {
+                        System.err.println("Cannot lay out a chart: " + (e instanceof ExecutionException ? e.getCause() : e));
+                        return NO_GRAPHICS;
+                    }
+                    if (run >= 2) { // The first two rounds warm up
+                        best[mode][0] = Math.min(best[mode][0], cost[0]);
+                        best[mode][1] = Math.min(best[mode][1], cost[1]);
+                    }
+                }
+            }
+            for (int mode = 0; mode < 2; mode++) {
+                System.out.printf("  %-32s %8.1f ms %8.1f MB allocated%n",
+                        mode == 0 ? "Per-point listeners and styles" : "Per-series CSS classes",
+                        best[mode][0] / 1e6, best[mode][1] / (1024.0 * 1024.0));
+            }
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /** One chart build on the FX thread; completes with its nanoseconds and allocated bytes. */
+    private static CompletableFuture<long[]> graphRun(SolarDataset dataset, int pointsPerSeries, String stylesheet,
+                                                      boolean legacy) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CompletableFuture<long[]> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                long startNanos = System.nanoTime();
+                long startBytes = threads.getCurrentThreadAllocatedBytes();
+                NumberAxis xAxis = new NumberAxis();
+                NumberAxis yAxis = new NumberAxis();
+                LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+                chart.setAnimated(false);
+                StackPane root = new StackPane(chart);
+                Scene scene = new Scene(root, 1600, 1000);
+                scene.getStylesheets().add(stylesheet);
+                if (legacy) {
+                    legacyLayoutListener(chart, xAxis, yAxis);
+                }
+
+                int[] channels = {SolarDataset.SOLAR_RADIATION, SolarDataset.P_MONO, SolarDataset.P_POLY, SolarDataset.RH};
+                List<XYChart.Series<Number, Number>> allSeries = new ArrayList<>();
+                for (int s = 0; s < channels.length; s++) {
+                    XYChart.Series<Number, Number> series = new XYChart.Series<>();
+                    series.setName(SolarDataset.CHANNEL_NAMES[channels[s]]);
+                    List<XYChart.Data<Number, Number>> points = new ArrayList<>(pointsPerSeries);
+                    for (int row = 0; row < pointsPerSeries; row++) {
+                        XYChart.Data<Number, Number> point =
+                                new XYChart.Data<>(dataset.getTime(row), dataset.getValue(channels[s], row));
+                        point.setExtraValue(row);
+                        if (legacy) {
+                            legacyStylePoint(point, LEGACY_SERIES_COLORS[s]);
+                        }
+                        points.add(point);
+                    }
+                    series.getData().setAll(points);
+                    if (legacy) {
+                        series.nodeProperty().addListener((obs, oldNode, newNode) -> {
+                            if (newNode != null) {
+                                newNode.setStyle("-fx-stroke: transparent; -fx-stroke-width: 0;");
+                            }
+                        });
+                    }
+                    allSeries.add(series);
+                }
+                chart.getData().addAll(allSeries);
+                if (legacy) {
+                    legacyChartStyling(chart);
+                }
+                root.applyCss();
+                root.layout();
+
+                // Queued after every task the listeners posted so far, so it runs once they are done
+                Platform.runLater(() -> {
+                    try {
+                        root.applyCss();
+                        root.layout();
+                        done.complete(new long[] {System.nanoTime() - startNanos,
+                                threads.getCurrentThreadAllocatedBytes() - startBytes});
+                    } catch (Throwable e) {
+                        done.completeExceptionally(e);
+                    }
+                });
+            } catch (Throwable e) {
+                done.completeExceptionally(e); // Typically missing native font libraries
+            }
+        });
+        return done;
+    }
+
+    // Copies of the per-point styling generateGraph() did before the per-series CSS classes,
+    // kept as the baseline of --benchmark-graph
+
+    private static final String[] LEGACY_SERIES_COLORS = {"#FF0000", "#0000FF", "#008000", "#FFA500"};
+
+    private static void legacyStylePoint(XYChart.Data<Number, Number> dataPoint, String color) {
+        dataPoint.nodeProperty().addListener((obs, oldNode, newNode) -> {
+            if (newNode != null) {
+                Platform.runLater(() -> {
+                    newNode.setTranslateX(0);
+                    newNode.setTranslateY(0);
+                    newNode.setStyle(
+                            "-fx-background-color: " + color + ", white; " +
+                                    "-fx-background-radius: 4; " +
+                                    "-fx-background-insets: 0, 2; " +
+                                    "-fx-padding: 4px;"
+                    );
+                    newNode.setScaleX(1.5);
+                    newNode.setScaleY(1.5);
+                });
+            }
+        });
+    }
+
+    private static void legacyLayoutListener(LineChart<Number, Number> chart, NumberAxis xAxis, NumberAxis yAxis) {
+        chart.layoutBoundsProperty().addListener((obs, oldBounds, newBounds) -> {
+            if (newBounds.getWidth() > 0 && newBounds.getHeight() > 0) {
+                Platform.runLater(() -> {
+                    for (XYChart.Series<Number, Number> series : chart.getData()) {
+                        for (XYChart.Data<Number, Number> data : series.getData()) {
+                            Node node = data.getNode();
+                            if (node != null) {
+                                node.setTranslateX(0);
+                                node.setTranslateY(0);
+                                node.setLayoutX(xAxis.getDisplayPosition(data.getXValue()));
+                                node.setLayoutY(yAxis.getDisplayPosition(data.getYValue()));
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private static void legacyChartStyling(LineChart<Number, Number> chart) {
+        chart.lookupAll(".chart-series-line").forEach(node ->
+                node.setStyle("-fx-stroke: transparent; -fx-stroke-width: 0;")
+        );
+        chart.lookupAll(".chart-line-symbol").forEach(node -> {
+            node.setStyle("-fx-background-radius: 5; -fx-padding: 5px;");
+            node.setScaleX(1.5);
+            node.setScaleY(1.5);
+        });
+    }
+
+    /** A row as SolarDataPoint stored it before the columnar SolarDataset: one property object per field. */
+    private static class LegacyDataPoint {
+        private final StringProperty time;
+        private final DoubleProperty solarRadiation;
+        private final DoubleProperty vMono;
+        private final DoubleProperty vPoly;
+        private final DoubleProperty iMono;
+        private final DoubleProperty iPoly;
+        private final DoubleProperty pMono;
+        private final DoubleProperty pPoly;
+        private final DoubleProperty effMono;
+        private final DoubleProperty effPoly;
+        private final DoubleProperty rh;
+        private final DoubleProperty panelTempMono;
+        private final DoubleProperty panelTempPoly;
+        private final DoubleProperty ambientTemp;
+        private final DoubleProperty windSpeed;
+
+        LegacyDataPoint(String time, double[] values) {
+            this.time = new SimpleStringProperty(time);
+            this.solarRadiation = new SimpleDoubleProperty(values[SolarDataset.SOLAR_RADIATION]);
+            this.vMono = new SimpleDoubleProperty(values[SolarDataset.V_MONO]);
+            this.vPoly = new SimpleDoubleProperty(values[SolarDataset.V_POLY]);
+            this.iMono = new SimpleDoubleProperty(values[SolarDataset.I_MONO]);
+            this.iPoly = new SimpleDoubleProperty(values[SolarDataset.I_POLY]);
+            this.pMono = new SimpleDoubleProperty(values[SolarDataset.P_MONO]);
+            this.pPoly = new SimpleDoubleProperty(values[SolarDataset.P_POLY]);
+            this.effMono = new SimpleDoubleProperty(values[SolarDataset.EFF_MONO]);
+            this.effPoly = new SimpleDoubleProperty(values[SolarDataset.EFF_POLY]);
+            this.rh = new SimpleDoubleProperty(values[SolarDataset.RH]);
+            this.panelTempMono = new SimpleDoubleProperty(values[SolarDataset.PANEL_TEMP_MONO]);
+            this.panelTempPoly = new SimpleDoubleProperty(values[SolarDataset.PANEL_TEMP_POLY]);
+            this.ambientTemp = new SimpleDoubleProperty(values[SolarDataset.AMBIENT_TEMP]);
+            this.windSpeed = new SimpleDoubleProperty(values[SolarDataset.WIND_SPEED]);
+        }
+    }
+}
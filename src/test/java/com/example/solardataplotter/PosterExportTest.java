@@ -0,0 +1,63 @@
+package com.example.solardataplotter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Tiled export of a 16000x10000 poster in a JVM whose heap is smaller than
+ * one full snapshot (640 MB as an int[]). The export runs in a child JVM so
+ * the heap limit is fixed regardless of how the tests are launched, on the
+ * Monocle headless platform so no display is needed. Running out of memory
+ * ends the child with a non-zero exit code and fails the test; the test is
+ * skipped where JavaFX cannot lay out a chart at all (e.g. no native font
+ * libraries).
+ */
+class PosterExportTest {
+    private static final int WIDTH = 16000;
+    private static final int HEIGHT = 10000;
+    private static final String MAX_HEAP = "-Xmx256m";
+
+    @TempDir
+    File directory;
+
+    @Test
+    void tiledPosterFitsInSmallHeap() throws Exception {
+        File png = new File(directory, "poster.png");
+        File log = new File(directory, "poster.log");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(List.of(java, MAX_HEAP, "-XX:+ExitOnOutOfMemoryError",
+                "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw",
+                "-cp", System.getProperty("java.class.path"),
+                Benchmarks.class.getName(), "--benchmark-poster", String.valueOf(WIDTH), String.valueOf(HEIGHT),
+                png.getPath()))
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+
+        boolean finished = process.waitFor(5, TimeUnit.MINUTES);
+        if (!finished) process.destroyForcibly();
+        String output = Files.readString(log.toPath(), StandardCharsets.UTF_8);
+        System.out.print(output);
+        assertTrue(finished, "Poster export did not finish within 5 minutes");
+        assumeFalse(process.exitValue() == Benchmarks.NO_GRAPHICS, "JavaFX cannot lay out charts on this machine");
+        assertEquals(0, process.exitValue(), "Poster export failed with " + MAX_HEAP + ":\n" + output);
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(png))) {
+            in.skipBytes(16); // Signature, IHDR length and type
+            assertEquals(WIDTH, in.readInt(), "PNG width");
+            assertEquals(HEIGHT, in.readInt(), "PNG height");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.solardataplotter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Random appends, edits, removals and addAll calls on a {@link SolarDataset},
+ * with the statistics it maintains compared against a scan of the rows after
+ * every step, and range queries over random row and time windows compared
+ * against a scan of the window. Values are small integers, so extremes are
+ * often tied or taken away, sums are exact, and about one in ten is missing
+ * (NaN).
+ */
+class ChannelStatisticsTest {
+    private static final int CHANNEL = SolarDataset.SOLAR_RADIATION;
+
+    @Test
+    void followsEditsLikeBruteForce() {
+        Random random = new Random(11);
+        SolarDataset dataset = new SolarDataset(4);
+        for (int i = 0; i < 50; i++) {
+            dataset.addRow(i, row(random));
+        }
+        ChannelStatistics statistics = dataset.getStatistics(CHANNEL);
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(10);
+            if (op < 4 || dataset.size() == 0) {
+                dataset.addRow(dataset.size(), row(random));
+            } else if (op < 7) {
+                dataset.setValue(CHANNEL, random.nextInt(dataset.size()), value(random));
+            } else if (op < 9) {
+                dataset.removeRow(random.nextInt(dataset.size()));
+            } else {
+                SolarDataset other = new SolarDataset(8);
+                for (int i = random.nextInt(20); i > 0; i--) {
+                    other.addRow(dataset.size(), row(random));
+                }
+                dataset.addAll(other);
+            }
+            assertSame(dataset, statistics, "step " + step);
+        }
+    }
+
+    @Test
+    void rangeQueriesMatchBruteForce() {
+        Random random = new Random(12);
+        SolarDataset dataset = new SolarDataset(4);
+        int time = 0;
+        for (int i = 0; i < 300; i++) {
+            time += random.nextInt(3); // Repeated and skipped minutes
+            dataset.addRow(time, row(random));
+        }
+        ChannelStatistics statistics = dataset.getStatistics(CHANNEL);
+
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                time += random.nextInt(3);
+                dataset.addRow(time, row(random));
+            } else if (op == 1) {
+                dataset.setValue(CHANNEL, random.nextInt(dataset.size()), value(random));
+            } else if (op == 2 && dataset.size() > 1) {
+                dataset.removeRow(random.nextInt(dataset.size()));
+            }
+
+            int from = random.nextInt(dataset.size() + 1);
+            int to = from + random.nextInt(dataset.size() - from + 1);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            int values = 0;
+            for (int row = from; row < to; row++) {
+                double value = dataset.getValue(CHANNEL, row);
+                if (Double.isNaN(value)) continue;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                values++;
+            }
+            String message = "step " + step + ", rows [" + from + ", " + to + ")";
+            assertEquals(min, statistics.getMin(from, to), message);
+            assertEquals(max, statistics.getMax(from, to), message);
+            assertEquals(sum, statistics.getSum(from, to), message);
+            assertEquals(values > 0 ? sum / values : Double.NaN, statistics.getMean(from, to), message);
+
+            int lower = dataset.getTime(0) + random.nextInt(time - dataset.getTime(0) + 3) - 1;
+            int upper = lower + random.nextInt(20);
+            int first = 0;
+            while (first < dataset.size() && dataset.getTime(first) < lower) first++;
+            int last = first;
+            while (last < dataset.size() && dataset.getTime(last) <= upper) last++;
+            assertArrayEquals(new int[]{first, last}, dataset.rowRange(lower, upper),
+                    "step " + step + ", minutes [" + lower + ", " + upper + "]");
+        }
+    }
+
+    private static void assertSame(SolarDataset dataset, ChannelStatistics statistics, String message) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        double sumOfSquares = 0;
+        int values = 0;
+        for (int row = 0; row < dataset.size(); row++) {
+            double value = dataset.getValue(CHANNEL, row);
+            if (Double.isNaN(value)) continue;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            sumOfSquares += value * value;
+            values++;
+        }
+        assertEquals(dataset.size(), statistics.getCount(), message);
+        assertEquals(values, statistics.getValueCount(), message);
+        assertEquals(min, statistics.getMin(), message);
+        assertEquals(max, statistics.getMax(), message);
+        assertEquals(sum, statistics.getSum(), message);
+        assertEquals(sumOfSquares, statistics.getSumOfSquares(), message);
+        assertEquals(values > 0 ? sum / values : Double.NaN, statistics.getMean(), message);
+    }
+
+    static double[] row(Random random) {
+        double[] values = new double[SolarDataset.CHANNEL_COUNT];
+        values[CHANNEL] = value(random);
+        return values;
+    }
+
+    static double value(Random random) {
+        return random.nextInt(10) == 0 ? Double.NaN : random.nextInt(41) - 20;
+    }
+}
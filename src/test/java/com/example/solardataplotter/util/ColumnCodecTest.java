@@ -0,0 +1,109 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round trips through {@link ColumnCodec}: block boundaries, invalid times,
+ * every delta-of-delta bucket edge, and special doubles. Each column is
+ * checked through both {@code decode()} and {@code get(row)}.
+ */
+class ColumnCodecTest {
+    private static final int[] SIZES = {1, 2, ColumnCodec.BLOCK_SIZE - 1, ColumnCodec.BLOCK_SIZE,
+            ColumnCodec.BLOCK_SIZE + 1, 3 * ColumnCodec.BLOCK_SIZE + 17};
+
+    @Test
+    void timesAtBlockBoundaries() {
+        for (int size : SIZES) {
+            int[] times = new int[size];
+            for (int i = 0; i < size; i++) {
+                times[i] = 480 + i;
+            }
+            assertTimes(times, "size " + size);
+        }
+    }
+
+    @Test
+    void deltaOfDeltaBucketEdges() {
+        // Each edge and the value just past it, which needs the next larger bucket
+        int[] edges = {0, 1, -1, -63, 64, -64, 65, -255, 256, -256, 257, -2047, 2048, -2048, 2049,
+                Integer.MAX_VALUE / 4, Integer.MIN_VALUE / 4};
+        int[] times = new int[2 * edges.length + 2];
+        int delta = 1;
+        times[1] = 1;
+        for (int i = 0; i < edges.length; i++) {
+            // Apply the edge, then undo it, so every delta-of-delta in the column is an edge value
+            delta += edges[i];
+            times[2 * i + 2] = times[2 * i + 1] + delta;
+            delta -= edges[i];
+            times[2 * i + 3] = times[2 * i + 2] + delta;
+        }
+        assertTimes(times, "bucket edges");
+    }
+
+    @Test
+    void invalidTimes() {
+        int[] times = new int[ColumnCodec.BLOCK_SIZE + 10];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = i % 7 == 3 ? SolarDataset.INVALID_TIME : i * 1440 + 5;
+        }
+        times[0] = SolarDataset.INVALID_TIME;
+        times[ColumnCodec.BLOCK_SIZE] = SolarDataset.INVALID_TIME; // First row of the second block
+        assertTimes(times, "invalid times");
+    }
+
+    @Test
+    void doublesAtBlockBoundaries() {
+        Random random = new Random(14);
+        for (int size : SIZES) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Math.round(random.nextGaussian() * 1000) / 10.0;
+            }
+            assertDoubles(values, "size " + size);
+        }
+    }
+
+    @Test
+    void specialDoubles() {
+        double[] specials = {0.0, -0.0, Double.NaN, Double.longBitsToDouble(0x7ff8000000000123L),
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_VALUE,
+                Double.MAX_VALUE, -Double.MAX_VALUE, 1.0, 1.0 + Math.ulp(1.0), 1e-300, -1e300};
+        Random random = new Random(15);
+        double[] values = new double[ColumnCodec.BLOCK_SIZE + 200];
+        for (int i = 0; i < values.length; i++) {
+            // Runs of repeats and zeros as at night, with specials in between
+            values[i] = random.nextInt(4) == 0 ? specials[random.nextInt(specials.length)] :
+                    random.nextBoolean() ? values[Math.max(i - 1, 0)] : 0.0;
+        }
+        assertDoubles(values, "special doubles");
+        assertDoubles(specials, "specials only");
+    }
+
+    private static void assertTimes(int[] times, String message) {
+        ColumnCodec.TimeColumn column = ColumnCodec.encodeTimes(times, times.length);
+        assertEquals(times.length, column.size(), message);
+        int[] decoded = new int[times.length];
+        column.decode(decoded);
+        for (int row = 0; row < times.length; row++) {
+            assertEquals(times[row], decoded[row], message + ", decode row " + row);
+            assertEquals(times[row], column.get(row), message + ", get row " + row);
+        }
+    }
+
+    private static void assertDoubles(double[] values, String message) {
+        ColumnCodec.DoubleColumn column = ColumnCodec.encodeDoubles(values, values.length);
+        assertEquals(values.length, column.size(), message);
+        double[] decoded = new double[values.length];
+        column.decode(decoded);
+        for (int row = 0; row < values.length; row++) {
+            long bits = Double.doubleToRawLongBits(values[row]);
+            assertEquals(bits, Double.doubleToRawLongBits(decoded[row]), message + ", decode row " + row);
+            assertEquals(bits, Double.doubleToRawLongBits(column.get(row)), message + ", get row " + row);
+        }
+    }
+}
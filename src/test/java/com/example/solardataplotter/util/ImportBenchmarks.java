@@ -0,0 +1,250 @@
+package com.example.solardataplotter.util;
+
+import com.example.solardataplotter.model.SolarDataset;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+
+/**
+ * Import benchmarks that need the package-private reader paths of
+ * {@link ExcelImporter}; run through {@code Benchmarks}.
+ */
+public class ImportBenchmarks {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int LEGACY_SAMPLE_ROWS = 20;
+
+    private interface Importer {
+        SolarDataset read(File file) throws Exception;
+    }
+
+    /** The line reader that solar.csv.legacy selects against MappedCsvReader, on the same file. */
+    public static void csv(File file) throws Exception {
+        System.out.printf("%s: %.1f MB%n", file.getName(), file.length() / 1e6);
+        Importer legacy = f -> ExcelImporter.importCsvData(f, ImportListener.NONE, new CancellationToken());
+        Importer mapped = f -> MappedCsvReader.read(f, ImportListener.NONE, new CancellationToken());
+        String[] lines = {
+                measure("Line reader (split)", legacy, file, 2, 5),
+                measure("MappedCsvReader", mapped, file, 2, 5)
+        };
+        for (String line : lines) {
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Decoding a workbook whose power, efficiency and poly panel temperature
+     * columns are formulas, through {@link ExcelRowDecoder} and through a copy
+     * of the per-cell decoding it replaced. Both read the same loaded
+     * XSSFWorkbook, so only the decoding is timed.
+     */
+    public static void formulas(SolarDataset dataset) throws Exception {
+        File file = File.createTempFile("benchmark-formulas", ".xlsx");
+        file.deleteOnExit();
+        writeFormulaWorkbook(dataset, file);
+        System.out.printf("%s: %d rows, 5 formula cells per row, %.1f MB%n", file.getName(), dataset.size(),
+                file.length() / 1e6);
+
+        long start = System.nanoTime();
+        try (Workbook workbook = ExcelImporter.openWorkbook(file)) {
+            System.out.printf("  %-22s %8.1f ms%n", "Load XSSFWorkbook", (System.nanoTime() - start) / 1e6);
+            Importer decoder = f -> ExcelImporter.importSheet(workbook, 0, ImportListener.NONE, new CancellationToken());
+            String line = measure("ExcelRowDecoder", decoder, file, 1, 3);
+
+            // Every new evaluator indexes all cells of the sheet again, so the old decoding costs
+            // O(sheet size) per formula cell: time the first rows only and extrapolate
+            int sample = Math.min(LEGACY_SAMPLE_ROWS, dataset.size());
+            start = System.nanoTime();
+            SolarDataset legacy = legacyImport(workbook, sample);
+            long nanos = System.nanoTime() - start;
+            System.out.printf("  %-22s %8d rows %8.1f ms, ~%.0f s for all %d rows%n", "Evaluator per cell", sample,
+                    nanos / 1e6, nanos / 1e9 * dataset.size() / sample, dataset.size());
+            System.out.println(line);
+
+            SolarDataset decoded = decoder.read(file);
+            for (int row = 0; row < sample; row++) {
+                if (legacy.getValue(SolarDataset.EFF_MONO, row) != decoded.getValue(SolarDataset.EFF_MONO, row)) {
+                    System.err.println("Eff_mono differs in row " + row);
+                }
+            }
+        }
+    }
+
+    private static void writeFormulaWorkbook(SolarDataset dataset, File file) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Sheet sheet = workbook.createSheet("Data");
+            CellStyle timeStyle = workbook.createCellStyle();
+            timeStyle.setDataFormat(workbook.createDataFormat().getFormat("hh:mm"));
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Time");
+            for (int c = 0; c < SolarDataset.CHANNEL_COUNT; c++) {
+                header.createCell(c + 1).setCellValue(SolarDataset.CHANNEL_NAMES[c]);
+            }
+            for (int row = 0; row < dataset.size(); row++) {
+                Row out = sheet.createRow(row + 1);
+                Cell time = out.createCell(0);
+                time.setCellValue((dataset.getTime(row) % 1440) / 1440.0);
+                time.setCellStyle(timeStyle);
+                for (int c = 0; c < SolarDataset.CHANNEL_COUNT; c++) {
+                    out.createCell(c + 1).setCellValue(dataset.getValue(c, row));
+                }
+                // Power from voltage and current, efficiency from power (a 0.65 m2 panel), poly temperature from mono
+                int r = row + 2;
+                out.getCell(SolarDataset.P_MONO + 1).setCellFormula("C" + r + "*E" + r);
+                out.getCell(SolarDataset.P_POLY + 1).setCellFormula("D" + r + "*F" + r);
+                out.getCell(SolarDataset.EFF_MONO + 1).setCellFormula("IF(B" + r + ">0,G" + r + "/(B" + r + "*0.0065),0)");
+                out.getCell(SolarDataset.EFF_POLY + 1).setCellFormula("IF(B" + r + ">0,H" + r + "/(B" + r + "*0.0065),0)");
+                out.getCell(SolarDataset.PANEL_TEMP_POLY + 1).setCellFormula("L" + r + "+0.8");
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+    }
+
+    // The workbook row decoding before ExcelRowDecoder, kept as the baseline of formulas():
+    // a new FormulaEvaluator per formula cell, a DataFormatter per efficiency cell and a
+    // SimpleDateFormat per time cell
+
+    private static SolarDataset legacyImport(Workbook workbook, int rows) {
+        Sheet sheet = workbook.getSheetAt(0);
+        SolarDataset dataset = new SolarDataset(rows);
+        double[] values = new double[SolarDataset.CHANNEL_COUNT];
+        for (int i = 1; i <= Math.min(rows, sheet.getLastRowNum()); i++) {
+            Row row = sheet.getRow(i);
+            if (row != null) {
+                legacyReadRow(row, values, dataset);
+            }
+        }
+        dataset.trimToSize();
+        return dataset;
+    }
+
+    private static void legacyReadRow(Row row, double[] values, SolarDataset dataset) {
+        int colIndex = 0;
+        String timeValue = legacyCellValue(row.getCell(colIndex));
+        int time = timeValue != null && !timeValue.trim().isEmpty() ? SolarDataset.parseTime(timeValue) : 0;
+        colIndex++;
+
+        for (int channel = SolarDataset.SOLAR_RADIATION; channel <= SolarDataset.P_POLY; channel++) {
+            Double value = legacyNumericCellValue(row.getCell(colIndex));
+            values[channel] = value != null ? value : 0.0;
+            colIndex++;
+        }
+
+        Cell effMonoCell = row.getCell(colIndex);
+        Double effMono = legacyAdjustEfficiencyValue(legacyNumericCellValue(effMonoCell), effMonoCell);
+        values[SolarDataset.EFF_MONO] = effMono != null ? effMono : 0.0;
+        colIndex++;
+
+        Cell effPolyCell = row.getCell(colIndex);
+        Double effPoly = legacyAdjustEfficiencyValue(legacyNumericCellValue(effPolyCell), effPolyCell);
+        values[SolarDataset.EFF_POLY] = effPoly != null ? effPoly : 0.0;
+        colIndex++;
+
+        Double rh = legacyNumericCellValue(row.getCell(colIndex));
+        if (rh != null && rh >= 0 && rh <= 1) {
+            rh = rh * 100.0;
+        }
+        values[SolarDataset.RH] = rh != null ? rh : 0.0;
+        colIndex++;
+
+        for (int channel = SolarDataset.PANEL_TEMP_MONO; channel <= SolarDataset.WIND_SPEED; channel++) {
+            Double value = legacyNumericCellValue(row.getCell(colIndex));
+            values[channel] = value != null ? value : 0.0;
+            colIndex++;
+        }
+        dataset.addRow(time, values);
+    }
+
+    private static String legacyCellValue(Cell cell) {
+        if (cell == null) return null;
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue().trim();
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return new SimpleDateFormat("HH:mm").format(cell.getDateCellValue());
+                }
+                double value = cell.getNumericCellValue();
+                return value == Math.floor(value) ? String.valueOf((int) value) : String.valueOf(value);
+            case FORMULA:
+                FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
+                CellValue cellValue = evaluator.evaluate(cell);
+                return cellValue.getCellType() == CellType.NUMERIC ? String.valueOf(cellValue.getNumberValue())
+                        : cellValue.getStringValue();
+            default:
+                return null;
+        }
+    }
+
+    private static Double legacyNumericCellValue(Cell cell) {
+        if (cell == null) return null;
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return cell.getNumericCellValue();
+            case STRING:
+                return ExcelImporter.parseDoubleSafe(cell.getStringCellValue());
+            case FORMULA:
+                FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
+                CellValue cellValue = evaluator.evaluate(cell);
+                if (cellValue.getCellType() == CellType.NUMERIC) {
+                    return cellValue.getNumberValue();
+                } else if (cellValue.getCellType() == CellType.STRING) {
+                    return ExcelImporter.parseDoubleSafe(cellValue.getStringValue());
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static Double legacyAdjustEfficiencyValue(Double value, Cell cell) {
+        if (value == null) return 0.0;
+        if (cell != null && cell.getCellType() == CellType.NUMERIC
+                && new DataFormatter().formatCellValue(cell).contains("%")) {
+            return value * 100.0;
+        }
+        return value >= 0 && value <= 1 ? value * 100.0 : value;
+    }
+
+    /** Best of {@code runs} imports after {@code warmUps} untimed ones, with the bytes the best run allocated on all threads. */
+    private static String measure(String name, Importer importer, File file, int warmUps, int runs) throws Exception {
+        for (int run = 0; run < warmUps; run++) {
+            importer.read(file);
+        }
+        long best = Long.MAX_VALUE;
+        long allocated = 0;
+        int rows = 0;
+        for (int run = 0; run < runs; run++) {
+            long bytes = THREADS.getTotalThreadAllocatedBytes();
+            long start = System.nanoTime();
+            rows = importer.read(file).size();
+            long nanos = System.nanoTime() - start;
+            if (nanos < best) {
+                best = nanos;
+                allocated = THREADS.getTotalThreadAllocatedBytes() - bytes;
+            }
+        }
+        return String.format("  %-22s %8d rows %8.1f ms %10.0f rows/s %8.1f MB allocated (%.0f bytes/row)",
+                name, rows, best / 1e6, rows / (best / 1e9), allocated / 1e6, (double) allocated / rows);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.solardataplotter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random appends, edits and removals on a series with a {@link LodPyramid},
+ * updated in place, then window queries checked against a scan of the window: the
+ * points come back ascending and inside it, include its minimum and maximum
+ * y, and are all of its points when there are no more than the target.
+ */
+class LodPyramidTest {
+
+    @Test
+    void queriesAfterChangesMatchBruteForce() {
+        Random random = new Random(31);
+        int count = 3000;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i == 0 ? 0 : x[i - 1] + random.nextInt(3); // Repeated x values as well
+            y[i] = random.nextInt(200);
+        }
+        LodPyramid pyramid = new LodPyramid(x, y, count);
+
+        for (int step = 0; step < 3000; step++) {
+            int op = random.nextInt(3);
+            if (op == 0) {
+                int added = 1 + random.nextInt(random.nextBoolean() ? 3 : 200);
+                if (count + added > x.length) {
+                    x = Arrays.copyOf(x, 2 * (count + added));
+                    y = Arrays.copyOf(y, x.length);
+                }
+                for (int i = count; i < count + added; i++) {
+                    x[i] = x[i - 1] + random.nextInt(3);
+                    y[i] = random.nextInt(200);
+                }
+                count += added;
+                pyramid.extend(x, y, count);
+            } else if (op == 1 && count > 1) {
+                int index = random.nextInt(count);
+                System.arraycopy(x, index + 1, x, index, count - index - 1);
+                System.arraycopy(y, index + 1, y, index, count - index - 1);
+                count--;
+                pyramid.remove(index);
+            } else {
+                int index = random.nextInt(count);
+                y[index] = random.nextInt(200);
+                pyramid.update(index);
+            }
+
+            double lower = random.nextInt((int) x[count - 1] + 10) - 5;
+            double upper = lower + random.nextInt(random.nextBoolean() ? 50 : 3000);
+            int target = 2 + random.nextInt(100);
+            assertWindow(x, y, count, pyramid.query(lower, upper, target), lower, upper, target,
+                    "step " + step + ", [" + lower + ", " + upper + "], target " + target);
+        }
+    }
+
+    @Test
+    void growsFromEmpty() {
+        Random random = new Random(32);
+        double[] x = new double[1];
+        double[] y = new double[1];
+        LodPyramid pyramid = new LodPyramid(x, y, 0);
+        for (int count = 1; count <= 600; count++) {
+            if (count > x.length) {
+                x = Arrays.copyOf(x, count + count / 2);
+                y = Arrays.copyOf(y, x.length);
+            }
+            x[count - 1] = count;
+            y[count - 1] = random.nextInt(50);
+            pyramid.extend(x, y, count);
+            assertEquals(count, pyramid.size());
+            assertWindow(x, y, count, pyramid.query(0, count, 8), 0, count, 8, count + " points");
+        }
+    }
+
+    private static void assertWindow(double[] x, double[] y, int count, int[] selected,
+                                     double lower, double upper, int target, String message) {
+        int from = 0;
+        while (from < count && x[from] < lower) from++;
+        int to = from;
+        while (to < count && x[to] <= upper) to++;
+        if (to - from <= target) {
+            int[] all = new int[to - from];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = from + i;
+            }
+            assertArrayEquals(all, selected, message);
+            return;
+        }
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, y[i]);
+            max = Math.max(max, y[i]);
+        }
+        double selectedMin = Double.POSITIVE_INFINITY;
+        double selectedMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < selected.length; i++) {
+            assertTrue(selected[i] >= from && selected[i] < to, message);
+            assertTrue(i == 0 || selected[i] > selected[i - 1], message);
+            selectedMin = Math.min(selectedMin, y[selected[i]]);
+            selectedMax = Math.max(selectedMax, y[selected[i]]);
+        }
+        assertEquals(min, selectedMin, message);
+        assertEquals(max, selectedMax, message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.solardataplotter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Random appends, edits and removals on a {@link MinMaxTree}, with its extremes
+ * compared against a scan of the values after every step. Values are small
+ * integers, so extremes are often tied or taken away, and about one in ten
+ * is missing (NaN).
+ */
+class MinMaxTreeTest {
+
+    @Test
+    void followsEditsLikeBruteForce() {
+        Random random = new Random(21);
+        double[] values = new double[20];
+        int count = 5;
+        for (int i = 0; i < count; i++) {
+            values[i] = value(random);
+        }
+        MinMaxTree tree = new MinMaxTree(values, count);
+        assertSame(values, count, tree, "built");
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 || count == 0) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, 2 * count);
+                }
+                values[count] = value(random);
+                tree.append(values[count++]);
+            } else if (op == 1) {
+                int index = random.nextInt(count);
+                System.arraycopy(values, index + 1, values, index, count - index - 1);
+                count--;
+                tree.remove(index);
+            } else {
+                int index = random.nextInt(count);
+                values[index] = value(random);
+                tree.set(index, values[index]);
+            }
+            assertSame(values, count, tree, "step " + step);
+        }
+    }
+
+    @Test
+    void emptyTreeHasNoExtremes() {
+        MinMaxTree tree = new MinMaxTree(new double[0], 0);
+        assertEquals(Double.POSITIVE_INFINITY, tree.getMin());
+        assertEquals(Double.NEGATIVE_INFINITY, tree.getMax());
+        tree.append(Double.NaN);
+        assertEquals(Double.POSITIVE_INFINITY, tree.getMin());
+        tree.append(3);
+        assertEquals(3, tree.getMin());
+        assertEquals(3, tree.getMax());
+    }
+
+    private static void assertSame(double[] values, int count, MinMaxTree tree, String message) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (Double.isNaN(values[i])) continue;
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        assertEquals(count, tree.getCount(), message);
+        assertEquals(min, tree.getMin(), message);
+        assertEquals(max, tree.getMax(), message);
+    }
+
+    private static double value(Random random) {
+        return random.nextInt(10) == 0 ? Double.NaN : random.nextInt(41) - 20;
+    }
+}